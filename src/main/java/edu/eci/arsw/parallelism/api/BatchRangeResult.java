@@ -0,0 +1,7 @@
+package edu.eci.arsw.parallelism.api;
+
+/**
+ * Digits of one range of a batch; index is its position in the request.
+ */
+public record BatchRangeResult(int index, long start, int count, String digits) {
+}
@@ -0,0 +1,12 @@
+package edu.eci.arsw.parallelism.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchRequest(@NotEmpty @Size(max = BatchRequest.MAX_RANGES) List<@Valid RangeRequest> ranges) {
+
+    public static final int MAX_RANGES = 1000;
+}
@@ -0,0 +1,6 @@
+package edu.eci.arsw.parallelism.api;
+
+import java.util.List;
+
+public record BatchResponse(List<BatchRangeResult> results) {
+}
@@ -0,0 +1,86 @@
+package edu.eci.arsw.parallelism.api;
+
+import edu.eci.arsw.parallelism.concurrency.PoolStats;
+import edu.eci.arsw.parallelism.concurrency.PoolStrategy;
+import edu.eci.arsw.parallelism.core.BlockCache;
+import edu.eci.arsw.parallelism.core.BlockCoalescer;
+import edu.eci.arsw.parallelism.core.CacheStats;
+import edu.eci.arsw.parallelism.core.CoalescingStats;
+import edu.eci.arsw.parallelism.core.ComputeScheduler;
+import edu.eci.arsw.parallelism.core.DigitStore;
+import edu.eci.arsw.parallelism.core.SchedulerStats;
+import edu.eci.arsw.parallelism.core.StoreStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pi/metrics")
+@Tag(
+        name = "Metrics",
+        description = "Runtime state of the shared execution resources"
+)
+public class MetricsController {
+
+    private final PoolStrategy poolStrategy;
+    private final ComputeScheduler scheduler;
+    private final BlockCoalescer coalescer;
+    private final BlockCache cache;
+    private final DigitStore store;
+
+    public MetricsController(PoolStrategy poolStrategy, ComputeScheduler scheduler, BlockCoalescer coalescer,
+                             BlockCache cache, DigitStore store) {
+        this.poolStrategy = poolStrategy;
+        this.scheduler = scheduler;
+        this.coalescer = coalescer;
+        this.cache = cache;
+        this.store = store;
+    }
+
+    @Operation(
+            summary = "Shared executor state",
+            description = "Pool size, active workers, queued segments and completed segments of the pool strategy."
+    )
+    @GetMapping("/pool")
+    public PoolStats pool() {
+        return poolStrategy.stats();
+    }
+
+    @Operation(
+            summary = "Compute budget state",
+            description = "Thread budget, free threads, queued requests and their estimated work, and rejections."
+    )
+    @GetMapping("/scheduler")
+    public SchedulerStats scheduler() {
+        return scheduler.stats();
+    }
+
+    @Operation(
+            summary = "Request coalescing counters",
+            description = "Blocks computed, blocks shared with a concurrent request, and blocks in flight."
+    )
+    @GetMapping("/coalescing")
+    public CoalescingStats coalescing() {
+        return coalescer.stats();
+    }
+
+    @Operation(
+            summary = "Block cache counters",
+            description = "Hits, misses, hit ratio, evictions, bytes resident and budget of the digit block cache."
+    )
+    @GetMapping("/cache")
+    public CacheStats cache() {
+        return cache.stats();
+    }
+
+    @Operation(
+            summary = "Precomputed store state",
+            description = "Mapped file, stored range, ranges served from it and chunks that failed their checksum."
+    )
+    @GetMapping("/store")
+    public StoreStats store() {
+        return store.stats();
+    }
+}
@@ -1,9 +1,32 @@
 package edu.eci.arsw.parallelism.api;
 
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.ComputeCancelledException;
+import edu.eci.arsw.parallelism.core.DigitRange;
+import edu.eci.arsw.parallelism.core.DigitStreamer;
+import edu.eci.arsw.parallelism.core.PackedDigits;
+import edu.eci.arsw.parallelism.core.PiDigits;
 import edu.eci.arsw.parallelism.core.PiDigitsService;
+import edu.eci.arsw.parallelism.core.QueryPlan;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,23 +47,49 @@ import edu.eci.arsw.parallelism.monitoring.PiExecutionResult;
 )
 public class PiDigitsController {
 
+    /**
+     * Extra time the servlet container gives a request past its deadline,
+     * so the computation can stop on its own and answer first.
+     */
+    static final long TIMEOUT_GRACE_MILLIS = 1_000;
+
+    static final String NDJSON = "application/x-ndjson";
+
     private final PiDigitsService service;
+    private final DigitStreamer streamer;
+    private final long defaultTimeoutMillis;
 
-    public PiDigitsController(PiDigitsService service) {
+    public PiDigitsController(PiDigitsService service,
+                              DigitStreamer streamer,
+                              @Value("${pi.request.timeout-millis:0}") long defaultTimeoutMillis) {
         this.service = service;
+        this.streamer = streamer;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
     }
 
     @Operation(
             summary = "Get digits of π",
             description = """
             Returns a sequence of π digits calculated deterministically,
-            using a selectable execution strategy.
+            using a selectable execution strategy. With explain=true the
+            execution plan and its predicted time are returned instead.
+            The computation stops when the deadline passes or the client
+            disconnects; with partial=true the digits completed before the
+            deadline are returned.
             """
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "π digits successfully calculated",
+                    description = "π digits successfully calculated, or the plan when explain=true",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(oneOf = {PiResponse.class, QueryPlan.class})
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "206",
+                    description = "Deadline exceeded with partial=true: the digits completed before it",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = PiResponse.class)
@@ -50,36 +99,540 @@ public class PiDigitsController {
                     responseCode = "400",
                     description = "Invalid parameters",
                     content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Compute budget and queue are full; see the Retry-After header",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Deadline exceeded",
+                    content = @Content
             )
     })
     @GetMapping("/digits")
-    public PiResponse digits(
+    public WebAsyncTask<ResponseEntity<?>> digits(
 
             @Parameter(description = "Starting position (0-based)", example = "0")
-            @RequestParam @Min(0) int start,
+            @RequestParam @Min(0) @Max(PiDigits.MAX_START) long start,
 
             @Parameter(description = "Number of digits to calculate", example = "10")
             @RequestParam @Min(1) int count,
 
             @Parameter(description = "Number of threads to use", example = "4")
-            @RequestParam(required = false) @Min(0) Integer threads,
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
 
             @Parameter(
-                    description = "Execution strategy: sequential or threads",
+                    description = "Execution strategy: sequential, threads, pool, forkjoin, virtual, block, vector, prefix or auto",
                     example = "threads"
             )
-            @RequestParam(required = false) String strategy
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(
+                    description = "Digit-extraction algorithm: bbp, bellard or bbp128",
+                    example = "bbp"
+            )
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Return the execution plan without computing", example = "false")
+            @RequestParam(defaultValue = "false") boolean explain,
+
+            @Parameter(description = "Deadline in milliseconds; 0 for none (default: pi.request.timeout-millis)",
+                    example = "5000")
+            @RequestParam(required = false) @Min(0) Long timeoutMillis,
+
+            @Parameter(description = "On deadline, return the digits completed so far", example = "false")
+            @RequestParam(defaultValue = "false") boolean partial
+    ) {
+        return asyncTask(timeoutMillis, token -> {
+            if (explain) {
+                return ResponseEntity.ok(service.explain(start, count, threads, strategy, algorithm));
+            }
+            try {
+                String digits = service.calculate(start, count, threads, strategy, algorithm, token);
+                return ResponseEntity.ok(new PiResponse(start, count, digits));
+            } catch (ComputeCancelledException e) {
+                if (!partial || e.getPartialDigits().isEmpty()) {
+                    throw e;
+                }
+                String digits = e.getPartialDigits();
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .body(new PiResponse(start, digits.length(), digits));
+            }
+        });
+    }
+
+
+    @Operation(
+            summary = "Get digits of π nibble-packed",
+            description = """
+            Selected with Accept: application/octet-stream. Returns a short
+            header (magic "PIDG", version, start, count, algorithm) followed
+            by the digits two per byte, high nibble first: half the size of
+            the hex text and without JSON encoding.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Header and packed digits",
+                    content = @Content(mediaType = PackedDigits.MEDIA_TYPE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid parameters",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Compute budget and queue are full; see the Retry-After header",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Deadline exceeded",
+                    content = @Content
+            )
+    })
+    @GetMapping(value = "/digits", produces = PackedDigits.MEDIA_TYPE)
+    public WebAsyncTask<ResponseEntity<byte[]>> digitsPacked(
+
+            @Parameter(description = "Starting position (0-based)", example = "0")
+            @RequestParam @Min(0) @Max(PiDigits.MAX_START) long start,
+
+            @Parameter(description = "Number of digits to calculate", example = "10")
+            @RequestParam @Min(1) int count,
+
+            @Parameter(description = "Number of threads to use", example = "4")
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
+
+            @Parameter(description = "Execution strategy", example = "threads")
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(description = "Digit-extraction algorithm: bbp, bellard or bbp128", example = "bbp")
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Deadline in milliseconds; 0 for none (default: pi.request.timeout-millis)",
+                    example = "5000")
+            @RequestParam(required = false) @Min(0) Long timeoutMillis
+    ) {
+        return asyncTask(timeoutMillis, token -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(service.calculatePacked(start, count, threads, strategy, algorithm, token)));
+    }
+
+    @Operation(
+            summary = "Stream digits of π as plain text",
+            description = """
+            Writes the digits as chunked text/plain while they are computed,
+            in order, with the first bytes sent as soon as the first chunk is
+            done. Memory stays bounded whatever the count. If the computation
+            fails or the deadline passes, the connection is closed before the
+            last chunk, so the response is visibly incomplete.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Digits, streamed",
+                    content = @Content(mediaType = "text/plain")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid parameters",
+                    content = @Content
+            )
+    })
+    @GetMapping("/digits/stream")
+    public ResponseEntity<ResponseBodyEmitter> stream(
+
+            @Parameter(description = "Starting position (0-based)", example = "0")
+            @RequestParam @Min(0) @Max(PiDigits.MAX_START) long start,
+
+            @Parameter(description = "Number of digits to calculate", example = "1000000")
+            @RequestParam @Min(1) int count,
+
+            @Parameter(description = "Number of threads per chunk", example = "4")
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
+
+            @Parameter(description = "Execution strategy for every chunk", example = "threads")
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(description = "Digit-extraction algorithm: bbp, bellard or bbp128", example = "bbp")
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Deadline in milliseconds; 0 for none (default: pi.request.timeout-millis)",
+                    example = "0")
+            @RequestParam(required = false) @Min(0) Long timeoutMillis
+    ) {
+        streamer.validate(start, count, threads, strategy, algorithm);
+        long timeout = timeout(timeoutMillis);
+        CancellationToken token = CancellationToken.withTimeout(timeout);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(containerTimeout(timeout));
+
+        AtomicBoolean sent = new AtomicBoolean();
+        produce(emitter, token, () -> {
+            streamer.stream(start, count, threads, strategy, algorithm, token, (chunkStart, digits) -> {
+                sent.set(true);
+                emitter.send(digits, MediaType.TEXT_PLAIN);
+            });
+            emitter.complete();
+        }, e -> emitter.completeWithError(sent.get()
+                // Not mapped to a response, so the container drops the connection.
+                ? new StreamTruncatedException(e.getMessage())
+                : e));
+
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(emitter);
+    }
+
+    @Operation(
+            summary = "Stream digits of π nibble-packed",
+            description = """
+            Selected with Accept: application/octet-stream. Sends the header
+            of the packed format (algorithm of the first chunk) and then the
+            packed digits chunk by chunk, in order.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Header and packed digits, streamed",
+                    content = @Content(mediaType = PackedDigits.MEDIA_TYPE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid parameters",
+                    content = @Content
+            )
+    })
+    @GetMapping(value = "/digits/stream", produces = PackedDigits.MEDIA_TYPE)
+    public ResponseEntity<ResponseBodyEmitter> streamPacked(
+
+            @Parameter(description = "Starting position (0-based)", example = "0")
+            @RequestParam @Min(0) @Max(PiDigits.MAX_START) long start,
+
+            @Parameter(description = "Number of digits to calculate", example = "1000000")
+            @RequestParam @Min(1) int count,
+
+            @Parameter(description = "Number of threads per chunk", example = "4")
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
+
+            @Parameter(description = "Execution strategy for every chunk", example = "threads")
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(description = "Digit-extraction algorithm: bbp, bellard or bbp128", example = "bbp")
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Deadline in milliseconds; 0 for none (default: pi.request.timeout-millis)",
+                    example = "0")
+            @RequestParam(required = false) @Min(0) Long timeoutMillis
+    ) {
+        QueryPlan plan = streamer.validate(start, count, threads, strategy, algorithm);
+        long timeout = timeout(timeoutMillis);
+        CancellationToken token = CancellationToken.withTimeout(timeout);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(containerTimeout(timeout));
+
+        produce(emitter, token, () -> {
+            emitter.send(PackedDigits.header(start, count, plan.algorithm()), MediaType.APPLICATION_OCTET_STREAM);
+            // Chunks hold a whole number of blocks, so each packs on its own.
+            streamer.stream(start, count, threads, strategy, algorithm, token, (chunkStart, digits) -> {
+                byte[] packed = new byte[PackedDigits.payloadBytes(digits.length())];
+                PackedDigits.pack(digits, packed, 0);
+                emitter.send(packed, MediaType.APPLICATION_OCTET_STREAM);
+            });
+            emitter.complete();
+        }, e -> emitter.completeWithError(new StreamTruncatedException(e.getMessage())));
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(emitter);
+    }
+
+    @Operation(
+            summary = "Stream digits of π as server-sent events",
+            description = """
+            Sends one "digits" event per chunk, in order, with the position
+            of its first digit as the event id, then a "done" event with the
+            number of digits sent. A failure or a passed deadline ends the
+            stream with an "error" event instead.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream",
+                    content = @Content(mediaType = "text/event-stream")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid parameters",
+                    content = @Content
+            )
+    })
+    @GetMapping(value = "/digits/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+
+            @Parameter(description = "Starting position (0-based)", example = "0")
+            @RequestParam @Min(0) @Max(PiDigits.MAX_START) long start,
+
+            @Parameter(description = "Number of digits to calculate", example = "1000000")
+            @RequestParam @Min(1) int count,
+
+            @Parameter(description = "Number of threads per chunk", example = "4")
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
+
+            @Parameter(description = "Execution strategy for every chunk", example = "threads")
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(description = "Digit-extraction algorithm: bbp, bellard or bbp128", example = "bbp")
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Deadline in milliseconds; 0 for none (default: pi.request.timeout-millis)",
+                    example = "0")
+            @RequestParam(required = false) @Min(0) Long timeoutMillis
     ) {
-        String digits = service.calculate(
-                start,
-                count,
-                threads,
-                strategy
-        );
+        streamer.validate(start, count, threads, strategy, algorithm);
+        long timeout = timeout(timeoutMillis);
+        CancellationToken token = CancellationToken.withTimeout(timeout);
+        SseEmitter emitter = new SseEmitter(containerTimeout(timeout));
+
+        produce(emitter, token, () -> {
+            streamer.stream(start, count, threads, strategy, algorithm, token,
+                    (chunkStart, digits) -> emitter.send(SseEmitter.event()
+                            .name("digits").id(Long.toString(chunkStart)).data(digits)));
+            emitter.send(SseEmitter.event().name("done").data(count));
+            emitter.complete();
+        }, e -> {
+            try {
+                emitter.send(SseEmitter.event().name("error").data(String.valueOf(e.getMessage())));
+                emitter.complete();
+            } catch (IOException | IllegalStateException closed) {
+                emitter.completeWithError(e);
+            }
+        });
 
-        return new PiResponse(start, count, digits);
+        return emitter;
     }
 
+    @Operation(
+            summary = "Get digits of π for many ranges",
+            description = """
+            Computes a list of ranges as one job and returns their digits in
+            request order. Overlapping and neighbouring ranges are merged into
+            block-aligned runs and computed once; the job is admitted once
+            for its whole predicted time and its runs share the granted
+            threads. With Accept: application/x-ndjson every range is written
+            as a JSON line as soon as it is done, in completion order.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Digits of every range, in request order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid ranges or parameters",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Compute budget and queue are full; see the Retry-After header",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Deadline exceeded",
+                    content = @Content
+            )
+    })
+    @PostMapping("/digits/batch")
+    public WebAsyncTask<BatchResponse> batch(
+
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Ranges to compute, at most 1000")
+            @Valid @RequestBody BatchRequest request,
+
+            @Parameter(description = "Number of threads to use", example = "4")
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
+
+            @Parameter(description = "Execution strategy", example = "threads")
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(description = "Digit-extraction algorithm: bbp, bellard or bbp128", example = "bbp")
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Deadline in milliseconds; 0 for none (default: pi.request.timeout-millis)",
+                    example = "5000")
+            @RequestParam(required = false) @Min(0) Long timeoutMillis
+    ) {
+        List<DigitRange> ranges = ranges(request);
+        service.validate(threads, strategy, algorithm);
+        return asyncTask(timeoutMillis, token -> {
+            List<String> digits = service.calculateBatch(ranges, threads, strategy, algorithm, token);
+            List<BatchRangeResult> results = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                results.add(result(i, ranges.get(i), digits.get(i)));
+            }
+            return new BatchResponse(results);
+        });
+    }
+
+    @Operation(
+            summary = "Stream digits of π for many ranges",
+            description = """
+            Selected with Accept: application/x-ndjson. Runs the batch like
+            the JSON form and writes one {index, start, count, digits} line
+            per range as soon as it is done, in completion order. A failure
+            or a passed deadline closes the connection early.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One JSON line per range, streamed",
+                    content = @Content(mediaType = NDJSON)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid ranges or parameters",
+                    content = @Content
+            )
+    })
+    @PostMapping(value = "/digits/batch", produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> batchStream(
+
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Ranges to compute, at most 1000")
+            @Valid @RequestBody BatchRequest request,
+
+            @Parameter(description = "Number of threads to use", example = "4")
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
+
+            @Parameter(description = "Execution strategy", example = "threads")
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(description = "Digit-extraction algorithm: bbp, bellard or bbp128", example = "bbp")
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Deadline in milliseconds; 0 for none (default: pi.request.timeout-millis)",
+                    example = "0")
+            @RequestParam(required = false) @Min(0) Long timeoutMillis
+    ) {
+        List<DigitRange> ranges = ranges(request);
+        service.validate(threads, strategy, algorithm);
+        long timeout = timeout(timeoutMillis);
+        CancellationToken token = CancellationToken.withTimeout(timeout);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(containerTimeout(timeout));
+
+        produce(emitter, token, () -> {
+            service.calculateBatch(ranges, threads, strategy, algorithm, token, (index, digits) -> {
+                try {
+                    emitter.send(result(index, ranges.get(index), digits), MediaType.APPLICATION_JSON);
+                    emitter.send("\n", MediaType.TEXT_PLAIN);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            emitter.complete();
+        }, e -> emitter.completeWithError(e instanceof UncheckedIOException closed
+                ? closed.getCause()
+                : new StreamTruncatedException(e.getMessage())));
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(emitter);
+    }
+
+    private static List<DigitRange> ranges(BatchRequest request) {
+        return request.ranges().stream()
+                .map(range -> new DigitRange(range.start(), range.count()))
+                .toList();
+    }
+
+    private static BatchRangeResult result(int index, DigitRange range, String digits) {
+        return new BatchRangeResult(index, range.start(), range.count(), digits);
+    }
+
+    /**
+     * Work of an asynchronous request, given the token of its deadline.
+     */
+    @FunctionalInterface
+    private interface Work<T> {
+        T call(CancellationToken token) throws Exception;
+    }
+
+    /**
+     * Runs the work of a request off the container thread with its deadline
+     * (timeoutMillis, or pi.request.timeout-millis when null). The token is
+     * cancelled when the container times the request out, and also after a
+     * client abort or a container error, since completion runs for those.
+     */
+    private <T> WebAsyncTask<T> asyncTask(Long timeoutMillis, Work<T> work) {
+        long timeout = timeout(timeoutMillis);
+        CancellationToken token = CancellationToken.withTimeout(timeout);
+
+        WebAsyncTask<T> task = new WebAsyncTask<>(containerTimeout(timeout), () -> work.call(token));
+        task.onTimeout(() -> {
+            token.cancel("request timed out");
+            throw new ComputeCancelledException("request timed out");
+        });
+        task.onCompletion(() -> token.cancel("request completed"));
+        return task;
+    }
+
+    private long timeout(Long timeoutMillis) {
+        return timeoutMillis != null ? timeoutMillis : defaultTimeoutMillis;
+    }
+
+    /**
+     * Timeout for the servlet container, past the deadline so the
+     * computation can stop on its own and answer first; -1 for none.
+     */
+    private static long containerTimeout(long timeout) {
+        return timeout > 0 ? timeout + TIMEOUT_GRACE_MILLIS : -1L;
+    }
+
+    /**
+     * Ends a stream that already sent output; the status can no longer
+     * change, so the only signal left is closing the connection early.
+     */
+    static final class StreamTruncatedException extends RuntimeException {
+        StreamTruncatedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Body of a streamed response, run on its own thread.
+     */
+    @FunctionalInterface
+    private interface Producer {
+        void run() throws IOException;
+    }
+
+    /**
+     * Starts the producer of a streamed response on a virtual thread and ties
+     * the token to the emitter: a timeout, a client abort or the completion
+     * of the response stops the chunks still being computed.
+     */
+    private static void produce(ResponseBodyEmitter emitter, CancellationToken token, Producer producer,
+                                Consumer<Exception> onFailure) {
+        emitter.onTimeout(() -> token.cancel("request timed out"));
+        emitter.onError(e -> token.cancel("client disconnected"));
+        emitter.onCompletion(() -> token.cancel("request completed"));
+
+        Thread.ofVirtual().name("pi-stream").start(() -> {
+            try {
+                producer.run();
+            } catch (IOException e) {
+                // The client is gone; nothing more can be sent.
+                token.cancel("client disconnected");
+                emitter.completeWithError(e);
+            } catch (RuntimeException e) {
+                onFailure.accept(e);
+            }
+        });
+    }
 
     @Operation(
             summary = "Measure execution time for π digit calculation",
@@ -101,29 +654,40 @@ public class PiDigitsController {
                     responseCode = "400",
                     description = "Invalid parameters",
                     content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Compute budget and queue are full; see the Retry-After header",
+                    content = @Content
             )
     })
     @GetMapping("/digits/measure")
     public PiExecutionResult measure(
 
             @Parameter(description = "Starting position (0-based)", example = "0")
-            @RequestParam @Min(0) int start,
+            @RequestParam @Min(0) @Max(PiDigits.MAX_START) long start,
 
             @Parameter(description = "Number of digits to calculate", example = "10")
             @RequestParam @Min(1) int count,
 
             @Parameter(description = "Number of threads to use", example = "4")
-            @RequestParam(required = false) @Min(0) Integer threads,
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
 
 
             @Parameter(
-                    description = "Execution strategy: sequential or threads",
+                    description = "Execution strategy: sequential, threads, pool, forkjoin, virtual, block, vector, prefix or auto",
                     example = "threads"
             )
-            @RequestParam(required = false) String strategy
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(
+                    description = "Digit-extraction algorithm: bbp, bellard or bbp128",
+                    example = "bbp"
+            )
+            @RequestParam(required = false) String algorithm
 
     ) {
-        return service.calculateWithTiming(start, count, threads, strategy);
+        return service.calculateWithTiming(start, count, threads, strategy, algorithm);
     }
 
 
@@ -0,0 +1,185 @@
+package edu.eci.arsw.parallelism.api;
+
+import edu.eci.arsw.parallelism.core.JobManager;
+import edu.eci.arsw.parallelism.core.JobStatus;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.core.PiDigitsService;
+import edu.eci.arsw.parallelism.core.PiJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/pi/jobs")
+@Validated
+@Tag(
+        name = "Pi Jobs",
+        description = "Background computation of long ranges of π digits"
+)
+public class PiJobController {
+
+    private final JobManager jobs;
+
+    public PiJobController(JobManager jobs) {
+        this.jobs = jobs;
+    }
+
+    @Operation(
+            summary = "Start a background computation",
+            description = """
+            Queues a range and answers at once with the job, without holding
+            the connection while it is computed. Poll the job for progress
+            and fetch its result when it is DONE.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Job queued; the Location header points to it",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = JobStatus.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid parameters",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Job queue is full; see the Retry-After header",
+                    content = @Content
+            )
+    })
+    @PostMapping
+    public ResponseEntity<JobStatus> submit(
+
+            @Parameter(description = "Starting position (0-based)", example = "0")
+            @RequestParam @Min(0) @Max(PiDigits.MAX_START) long start,
+
+            @Parameter(description = "Number of digits to calculate", example = "10000000")
+            @RequestParam @Min(1) int count,
+
+            @Parameter(description = "Number of threads per chunk", example = "4")
+            @RequestParam(required = false) @Min(0) @Max(PiDigitsService.MAX_THREADS) Integer threads,
+
+            @Parameter(description = "Execution strategy for every chunk", example = "threads")
+            @RequestParam(required = false) String strategy,
+
+            @Parameter(description = "Digit-extraction algorithm: bbp, bellard or bbp128", example = "bbp")
+            @RequestParam(required = false) String algorithm,
+
+            @Parameter(description = "Deadline in milliseconds from submission; 0 for none", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) long timeoutMillis
+    ) {
+        PiJob job = jobs.submit(start, count, threads, strategy, algorithm, timeoutMillis);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/pi/jobs/" + job.id()))
+                .body(jobs.status(job));
+    }
+
+    @Operation(
+            summary = "Job status",
+            description = "State, digits and blocks done, and the time left predicted by the cost model."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Job status",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = JobStatus.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown or expired job",
+                    content = @Content
+            )
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatus> status(@PathVariable String id) {
+        return ResponseEntity.of(jobs.find(id).map(jobs::status));
+    }
+
+    @Operation(
+            summary = "Job result",
+            description = """
+            The digits of a DONE job as hex text. Supports Range requests,
+            so a long result can be fetched in parts or resumed.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Digits",
+                    content = @Content(mediaType = "text/plain")
+            ),
+            @ApiResponse(
+                    responseCode = "206",
+                    description = "Requested part of the digits",
+                    content = @Content(mediaType = "text/plain")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown or expired job",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Job is not DONE",
+                    content = @Content
+            )
+    })
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> result(@PathVariable String id) {
+        Optional<PiJob> job = jobs.find(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Resource> result = job.get().result();
+        if (result.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("Job is " + job.get().state());
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(result.get());
+    }
+
+    @Operation(
+            summary = "Cancel a job",
+            description = "Stops a queued or running job and drops it with its result."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Job cancelled or dropped",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown or expired job",
+                    content = @Content
+            )
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable String id) {
+        return jobs.cancel(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -1,5 +1,5 @@
 
 package edu.eci.arsw.parallelism.api;
 
-public record PiResponse(int start, int count, String digits) {
+public record PiResponse(long start, int count, String digits) {
 }
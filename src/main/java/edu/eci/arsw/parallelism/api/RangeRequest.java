@@ -0,0 +1,8 @@
+package edu.eci.arsw.parallelism.api;
+
+import edu.eci.arsw.parallelism.core.PiDigits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record RangeRequest(@Min(0) @Max(PiDigits.MAX_START) long start, @Min(1) int count) {
+}
@@ -0,0 +1,32 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BinarySplittingPi;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the whole prefix up to start + count by binary splitting (see
+ * {@link BinarySplittingPi}) and returns the requested slice. The result is
+ * exact, so the digit algorithm is not used, and the computation runs on
+ * the calling thread.
+ */
+@Component
+public class BinarySplittingStrategy implements ParallelStrategy {
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm) {
+        return PiDigits.toHex(BinarySplittingPi.getDigits(start, count));
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        return PiDigits.toHex(BinarySplittingPi.getDigits(start, count, token));
+    }
+
+    @Override
+    public String name() {
+        return "prefix";
+    }
+}
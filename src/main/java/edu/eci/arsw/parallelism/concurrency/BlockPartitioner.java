@@ -0,0 +1,96 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.CostModel;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.monitoring.SegmentTimings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * Splits a range into contiguous segments for parallel strategies.
+ *
+ * Segment boundaries fall on block boundaries (multiples of the block size
+ * from the range start), so no block is evaluated twice for a partial
+ * segment, and segments are balanced by estimated cost rather than by digit
+ * count: a block at position n costs about (n + 1) log2(n + 2), so later
+ * segments get fewer digits.
+ */
+public final class BlockPartitioner {
+
+    /**
+     * One contiguous part of the range and its estimated cost.
+     */
+    public record Segment(long start, int count, double cost) {}
+
+    private BlockPartitioner() {
+    }
+
+    /**
+     * Partitions into at most parts segments of 8-digit blocks, balanced by
+     * series-evaluation cost.
+     */
+    public static List<Segment> partition(long start, int count, int parts) {
+        return partition(start, count, parts, PiDigits.DIGITS_PER_SUM, CostModel::evaluationUnits);
+    }
+
+    /**
+     * Partitions into at most parts segments of whole blocks (the last block
+     * may be partial), cutting where the cumulative cost of blockCost(n) over
+     * the block positions n is closest to an equal share. Every segment has
+     * at least one block.
+     */
+    public static List<Segment> partition(long start, int count, int parts, int blockSize,
+                                          LongToDoubleFunction blockCost) {
+        if (count < 0 || parts < 1 || blockSize < 1) {
+            throw new IllegalArgumentException("count must be >= 0 and parts and blockSize >= 1");
+        }
+        List<Segment> segments = new ArrayList<>();
+        int blocks = (int) (((long) count + blockSize - 1) / blockSize);
+        if (blocks == 0) {
+            return segments;
+        }
+        int actualParts = Math.min(parts, blocks);
+
+        double total = 0;
+        for (int b = 0; b < blocks; b++) {
+            total += blockCost.applyAsDouble(start + (long) blockSize * b);
+        }
+
+        double cumulative = 0;
+        int first = 0;
+        for (int i = 0; i < actualParts; i++) {
+            double target = total * (i + 1) / actualParts;
+            int lastAllowed = blocks - (actualParts - i - 1);
+            int end = first;
+            double cost = 0;
+            do {
+                double c = blockCost.applyAsDouble(start + (long) blockSize * end);
+                cost += c;
+                cumulative += c;
+                end++;
+            } while (end < lastAllowed
+                    && cumulative + blockCost.applyAsDouble(start + (long) blockSize * end) / 2 < target);
+            if (i == actualParts - 1) {
+                while (end < blocks) {
+                    cost += blockCost.applyAsDouble(start + (long) blockSize * end++);
+                }
+            }
+
+            long segmentStart = start + (long) blockSize * first;
+            int segmentEnd = (int) Math.min(count, (long) blockSize * end);
+            segments.add(new Segment(segmentStart, segmentEnd - blockSize * first, cost));
+            first = end;
+        }
+
+        return segments;
+    }
+
+    /**
+     * Ratio of the largest segment cost to the mean; 1.0 is a perfect split.
+     */
+    public static double skew(List<Segment> segments) {
+        return SegmentTimings.skew(segments.stream().mapToDouble(Segment::cost).toArray());
+    }
+}
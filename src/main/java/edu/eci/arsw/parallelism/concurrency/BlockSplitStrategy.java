@@ -0,0 +1,132 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits work within a block instead of across digits: every thread sums a
+ * slice of the terms k of each block's series, and the partial sums are
+ * added together before the digits are extracted. This is the only way to
+ * use more than one core for a range of a few blocks at a high position.
+ *
+ * Partial sums are added in a different order than in a single evaluation,
+ * so the last digit of a block may differ from the sequential result in
+ * rare cases; such results are not {@link #exact exact}. Formulas other than
+ * BBP are computed by the algorithm itself.
+ *
+ * Slices run as tasks on the executor of {@link PoolStrategy}, and every
+ * slice polls the cancellation token between blocks. The calling thread
+ * takes part: it runs every slice no pool worker has started yet, so it
+ * only waits for slices that are running, even when it is a pool worker
+ * itself.
+ */
+@Component
+public class BlockSplitStrategy implements ParallelStrategy {
+
+    private final PoolStrategy pool;
+
+    public BlockSplitStrategy(PoolStrategy pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm) {
+        return calculate(start, count, threads, algorithm, CancellationToken.none());
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        byte[] hex = new byte[count];
+        writeHex(start, count, threads, algorithm, hex, 0, token);
+        return PiDigits.asciiToString(hex);
+    }
+
+    @Override
+    public void writeHex(long start, int count, int threads, DigitAlgorithm algorithm, byte[] out, int offset,
+                         CancellationToken token) {
+        if (!(algorithm instanceof BbpAlgorithm)) {
+            algorithm.writeHex(start, count, out, offset, token);
+            return;
+        }
+
+        int blocks = (count + PiDigits.DIGITS_PER_SUM - 1) / PiDigits.DIGITS_PER_SUM;
+        int actualThreads = Math.max(1, threads);
+        double[][][] partialSums = new double[actualThreads][blocks][];
+        Throwable[] failures = new Throwable[actualThreads];
+        CountDownLatch done = new CountDownLatch(actualThreads);
+        AtomicInteger nextSlice = new AtomicInteger();
+
+        // Pool tasks and the caller claim slices from one counter; a task
+        // that starts after the caller took the rest finds nothing to do.
+        Runnable slices = () -> {
+            int index;
+            while ((index = nextSlice.getAndIncrement()) < actualThreads) {
+                try {
+                    for (int b = 0; b < blocks; b++) {
+                        token.throwIfCancelled();
+                        long n = start + (long) PiDigits.DIGITS_PER_SUM * b;
+                        partialSums[index][b] = PiDigits.partialSums(n,
+                                sliceStart(n, index, actualThreads), sliceStart(n, index + 1, actualThreads));
+                    }
+                } catch (Throwable e) {
+                    // Errors too, or their slice would be summed as zeros.
+                    failures[index] = e;
+                    token.cancel("segment failed");
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        for (int i = 1; i < actualThreads; i++) {
+            pool.execute(slices);
+        }
+        slices.run();
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            // Running slices see the token at their next block.
+            token.cancel("interrupted");
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread interrupted", e);
+        }
+        ThreadJoinStrategy.rethrowFirst(failures);
+
+        for (int b = 0; b < blocks; b++) {
+            double[] sums = new double[4];
+            for (double[][] slice : partialSums) {
+                for (int s = 0; s < sums.length; s++) {
+                    sums[s] += slice[b][s];
+                }
+            }
+            int digit = b * PiDigits.DIGITS_PER_SUM;
+            long n = start + digit;
+            byte[] block = PiDigits.blockDigits(n, sums, Math.min(PiDigits.DIGITS_PER_SUM, count - digit));
+            PiDigits.toHexAscii(block, out, offset + digit);
+        }
+    }
+
+    /**
+     * First term of slice i when the n terms of a block are split into parts
+     * whose sizes differ by at most one.
+     */
+    static long sliceStart(long n, int i, int parts) {
+        return n / parts * i + Math.min(i, n % parts);
+    }
+
+    @Override
+    public boolean exact(DigitAlgorithm algorithm) {
+        return !(algorithm instanceof BbpAlgorithm);
+    }
+
+    @Override
+    public String name() {
+        return "block";
+    }
+}
@@ -0,0 +1,136 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.monitoring.SegmentTimings;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Work-stealing strategy: the range is split in halves recursively down to
+ * leaves of whole blocks, and idle workers of a shared {@link ForkJoinPool}
+ * steal pending halves, so one slow leaf does not hold up the others. The
+ * thread count of a request sets the granularity (about
+ * {@link #LEAVES_PER_THREAD} leaves per thread); the pool size is
+ * {@code pi.forkjoin.parallelism}, default one worker per processor.
+ *
+ * Steals (leaves run by another worker than the one that forked them) and
+ * the busy time of every worker are recorded for {@code PerformanceMonitor}.
+ */
+@Component
+public class ForkJoinStrategy implements ParallelStrategy {
+
+    static final int LEAVES_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    public ForkJoinStrategy(@Value("${pi.forkjoin.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm) {
+        return calculate(start, count, threads, algorithm, CancellationToken.none());
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        byte[] hex = new byte[count];
+        writeHex(start, count, threads, algorithm, hex, 0, token);
+        return PiDigits.asciiToString(hex);
+    }
+
+    @Override
+    public void writeHex(long start, int count, int threads, DigitAlgorithm algorithm, byte[] out, int offset,
+                         CancellationToken token) {
+        int blocks = (count + PiDigits.DIGITS_PER_SUM - 1) / PiDigits.DIGITS_PER_SUM;
+        if (blocks == 0) {
+            return;
+        }
+        int leafBlocks = Math.max(1, blocks / (Math.max(1, threads) * LEAVES_PER_THREAD));
+        int leaves = (blocks + leafBlocks - 1) / leafBlocks;
+
+        Range range = new Range(start, count, leafBlocks * PiDigits.DIGITS_PER_SUM, algorithm, token,
+                out, offset, new long[leaves], new AtomicLong(), new ConcurrentHashMap<>());
+        pool.invoke(new Leaves(range, 0, leaves, null));
+
+        SegmentTimings.record(range.leafNanos());
+        SegmentTimings.recordWorkers(range.steals().get(), range.busyNanos());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "forkjoin";
+    }
+
+    /**
+     * State shared by all tasks of one request; leaves write their digits
+     * at disjoint offsets of hex, from hexOffset on.
+     */
+    private record Range(long start, int count, int leafSize, DigitAlgorithm algorithm, CancellationToken token,
+                         byte[] hex, int hexOffset, long[] leafNanos, AtomicLong steals, Map<String, Long> busyNanos) {}
+
+    /**
+     * Computes leaves [from, to) of a range, forking the upper half.
+     */
+    private static final class Leaves extends RecursiveAction {
+
+        private final Range range;
+        private final int from;
+        private final int to;
+        private final Thread forkedBy;
+
+        Leaves(Range range, int from, int to, Thread forkedBy) {
+            this.range = range;
+            this.from = from;
+            this.to = to;
+            this.forkedBy = forkedBy;
+        }
+
+        @Override
+        protected void compute() {
+            if (forkedBy != null && forkedBy != Thread.currentThread()) {
+                range.steals().incrementAndGet();
+            }
+            if (to - from == 1) {
+                computeLeaf();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            Leaves upper = new Leaves(range, mid, to, Thread.currentThread());
+            upper.fork();
+            new Leaves(range, from, mid, null).compute();
+            upper.join();
+        }
+
+        private void computeLeaf() {
+            long t0 = System.nanoTime();
+            int offset = from * range.leafSize();
+            int size = Math.min(range.leafSize(), range.count() - offset);
+            try {
+                range.algorithm().writeHex(range.start() + offset, size, range.hex(), range.hexOffset() + offset,
+                        range.token());
+            } catch (RuntimeException e) {
+                // Leaves already running would otherwise finish their work.
+                range.token().cancel("segment failed");
+                throw e;
+            }
+            long elapsed = System.nanoTime() - t0;
+            range.leafNanos()[from] = elapsed;
+            range.busyNanos().merge(Thread.currentThread().getName(), elapsed, Long::sum);
+        }
+    }
+}
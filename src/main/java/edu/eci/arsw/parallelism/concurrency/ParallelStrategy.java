@@ -1,6 +1,48 @@
 package edu.eci.arsw.parallelism.concurrency;
 
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+
 public interface ParallelStrategy {
-    String calculate(int start, int count, int threads);
+    String calculate(long start, int count, int threads, DigitAlgorithm algorithm);
     String name();
-}
\ No newline at end of file
+
+    /**
+     * Same as {@link #calculate(long, int, int, DigitAlgorithm)}, stopping
+     * every segment with a {@code ComputeCancelledException} once the token
+     * is cancelled. The default only checks before starting.
+     */
+    default String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        token.throwIfCancelled();
+        return calculate(start, count, threads, algorithm);
+    }
+
+    /**
+     * Same as {@link #calculate(long, int, int, DigitAlgorithm, CancellationToken)},
+     * writing the hex ASCII into out at offset. Strategies that assemble
+     * their digits in a buffer write them there directly; the default copies
+     * the string.
+     */
+    default void writeHex(long start, int count, int threads, DigitAlgorithm algorithm, byte[] out, int offset,
+                          CancellationToken token) {
+        String digits = calculate(start, count, threads, algorithm, token);
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = (byte) digits.charAt(i);
+        }
+    }
+
+    /**
+     * Whether the digits are always those of a sequential evaluation with
+     * the algorithm. Results that may differ in the last digit of a block
+     * are kept out of the block cache and are not shared with concurrent
+     * requests.
+     */
+    default boolean exact(DigitAlgorithm algorithm) {
+        return true;
+    }
+
+    default String calculate(long start, int count, int threads) {
+        return calculate(start, count, threads, new BbpAlgorithm());
+    }
+}
@@ -0,0 +1,16 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+/**
+ * Snapshot of the shared executor behind {@link PoolStrategy}.
+ *
+ * @param poolSize       number of worker threads
+ * @param activeWorkers  workers currently running a segment
+ * @param queueDepth     segments waiting for a free worker
+ * @param completedTasks segments completed since startup
+ */
+public record PoolStats(
+        int poolSize,
+        int activeWorkers,
+        int queueDepth,
+        long completedTasks
+) {}
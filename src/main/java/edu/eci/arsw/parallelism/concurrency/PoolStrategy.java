@@ -0,0 +1,132 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.monitoring.SegmentTimings;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the segments of every request as tasks on one application-wide,
+ * fixed-size executor instead of starting new threads per request. The
+ * thread count of a request is the number of segments it is split into;
+ * how many run at once is bounded by the pool size ({@code pi.pool.size},
+ * default: one worker per processor), and the rest wait in the queue.
+ */
+@Component
+public class PoolStrategy implements ParallelStrategy {
+
+    private final ThreadPoolExecutor executor;
+
+    public PoolStrategy(@Value("${pi.pool.size:0}") int poolSize) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), workerFactory());
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm) {
+        return calculate(start, count, threads, algorithm, CancellationToken.none());
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        byte[] hex = new byte[count];
+        writeHex(start, count, threads, algorithm, hex, 0, token);
+        return PiDigits.asciiToString(hex);
+    }
+
+    @Override
+    public void writeHex(long start, int count, int threads, DigitAlgorithm algorithm, byte[] out, int offset,
+                         CancellationToken token) {
+
+        List<BlockPartitioner.Segment> segments = BlockPartitioner.partition(start, count, threads);
+
+        // Segments write their digits at disjoint offsets of out.
+        long[] segmentNanos = new long[segments.size()];
+        Throwable[] failures = new Throwable[segments.size()];
+        CountDownLatch done = new CountDownLatch(segments.size());
+
+        for (int i = 0; i < segments.size(); i++) {
+            BlockPartitioner.Segment segment = segments.get(i);
+            int index = i;
+
+            executor.execute(() -> {
+                long t0 = System.nanoTime();
+                try {
+                    algorithm.writeHex(segment.start(), segment.count(), out,
+                            offset + (int) (segment.start() - start), token);
+                } catch (Throwable e) {
+                    // Errors too, or their segment would come back as zeros.
+                    failures[index] = e;
+                    // Running segments ignore interrupts; the token stops them.
+                    token.cancel("segment failed");
+                } finally {
+                    segmentNanos[index] = System.nanoTime() - t0;
+                    done.countDown();
+                }
+            });
+        }
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            // Queued segments see the token as soon as they start.
+            token.cancel("interrupted");
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread interrupted", e);
+        }
+
+        SegmentTimings.record(segmentNanos);
+        ThreadJoinStrategy.rethrowFirst(failures);
+    }
+
+    /**
+     * Runs a task on the shared executor, for strategies in this package
+     * that split their work in other ways.
+     */
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Current size, load and backlog of the shared executor.
+     */
+    public PoolStats stats() {
+        return new PoolStats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getCompletedTaskCount()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "pool";
+    }
+
+    private static ThreadFactory workerFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pi-pool-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
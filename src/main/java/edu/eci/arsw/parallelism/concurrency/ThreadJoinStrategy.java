@@ -1,59 +1,105 @@
 package edu.eci.arsw.parallelism.concurrency;
 
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.ComputeCancelledException;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
 import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.monitoring.SegmentTimings;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 @Component
 public class ThreadJoinStrategy implements ParallelStrategy {
 
     @Override
-    public String calculate(int start, int count, int threads) {
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm) {
+        return calculate(start, count, threads, algorithm, CancellationToken.none());
+    }
 
-        int actualThreads = Math.min(threads, count);
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        byte[] hex = new byte[count];
+        writeHex(start, count, threads, algorithm, hex, 0, token);
+        return PiDigits.asciiToString(hex);
+    }
 
-        String[] partialResults = new String[actualThreads];
-        List<Thread> threadList = new ArrayList<>();
+    @Override
+    public void writeHex(long start, int count, int threads, DigitAlgorithm algorithm, byte[] out, int offset,
+                         CancellationToken token) {
 
-        int baseSize = count / actualThreads;
-        int remainder = count % actualThreads;
+        // Block-aligned segments balanced by cost (see BlockPartitioner).
+        List<BlockPartitioner.Segment> segments = BlockPartitioner.partition(start, count, threads);
 
-        int currentStart = start;
+        // Every segment writes its digits at its own offset of out.
+        long[] segmentNanos = new long[segments.size()];
+        Throwable[] failures = new Throwable[segments.size()];
+        CountDownLatch done = new CountDownLatch(segments.size());
 
-        for (int i = 0; i < actualThreads; i++) {
-            int segmentSize = baseSize + (i < remainder ? 1 : 0);
-            int segmentStart = currentStart;
+        for (int i = 0; i < segments.size(); i++) {
+            BlockPartitioner.Segment segment = segments.get(i);
             int index = i;
 
             Thread thread = new Thread(() -> {
-                // MISMA lógica que el secuencial
-                partialResults[index] =
-                        PiDigits.getDigitsHex(segmentStart, segmentSize);
+                long t0 = System.nanoTime();
+                try {
+                    // MISMA lógica que el secuencial
+                    algorithm.writeHex(segment.start(), segment.count(), out,
+                            offset + (int) (segment.start() - start), token);
+                } catch (Throwable e) {
+                    // Errors too, or their segment would come back as zeros.
+                    failures[index] = e;
+                    // Stop the sibling segments too.
+                    token.cancel("segment failed");
+                } finally {
+                    segmentNanos[index] = System.nanoTime() - t0;
+                    done.countDown();
+                }
             });
 
-            threadList.add(thread);
             thread.start();
+        }
 
-            currentStart += segmentSize;
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            token.cancel("interrupted");
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread interrupted", e);
         }
 
-        for (Thread thread : threadList) {
-            try {
-                thread.join();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Thread interrupted", e);
+        SegmentTimings.record(segmentNanos);
+        rethrowFirst(failures);
+    }
+
+    /**
+     * Rethrows the first segment failure that is not a cancellation caused
+     * by it, or the cancellation itself. Errors are rethrown as they are and
+     * checked throwables are wrapped.
+     */
+    static void rethrowFirst(Throwable[] failures) {
+        Throwable cancelled = null;
+        for (Throwable failure : failures) {
+            if (failure instanceof ComputeCancelledException) {
+                cancelled = cancelled == null ? failure : cancelled;
+            } else if (failure != null) {
+                throw unchecked(failure);
             }
         }
-
-        StringBuilder result = new StringBuilder();
-        for (String part : partialResults) {
-            result.append(part);
+        if (cancelled != null) {
+            throw unchecked(cancelled);
         }
+    }
 
-        return result.toString();
+    private static RuntimeException unchecked(Throwable failure) {
+        if (failure instanceof RuntimeException e) {
+            return e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        return new IllegalStateException("Segment failed", failure);
     }
 
     @Override
@@ -0,0 +1,60 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.core.VectorizedPiDigits;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-core SIMD strategy: every block is evaluated by the vectorized BBP
+ * kernel on the calling thread, so the thread count is ignored. Falls back
+ * to the scalar kernel when {@code jdk.incubator.vector} is not available,
+ * and to the algorithm itself for formulas other than BBP.
+ */
+@Component
+public class VectorStrategy implements ParallelStrategy {
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm) {
+        if (!(algorithm instanceof BbpAlgorithm)) {
+            return algorithm.getDigitsHex(start, count);
+        }
+        return VectorizedPiDigits.getDigitsHex(start, count);
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        byte[] hex = new byte[count];
+        writeHex(start, count, threads, algorithm, hex, 0, token);
+        return PiDigits.asciiToString(hex);
+    }
+
+    /**
+     * Checks the token before every block.
+     */
+    @Override
+    public void writeHex(long start, int count, int threads, DigitAlgorithm algorithm, byte[] out, int offset,
+                         CancellationToken token) {
+        if (!(algorithm instanceof BbpAlgorithm)) {
+            algorithm.writeHex(start, count, out, offset, token);
+            return;
+        }
+        VectorizedPiDigits.writeHex(start, count, out, offset, token);
+    }
+
+    /**
+     * The SIMD kernel adds its lane sums in another order, so its BBP
+     * digits may differ from the scalar kernel in the last ulp.
+     */
+    @Override
+    public boolean exact(DigitAlgorithm algorithm) {
+        return !(algorithm instanceof BbpAlgorithm) || !VectorizedPiDigits.isAvailable();
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+}
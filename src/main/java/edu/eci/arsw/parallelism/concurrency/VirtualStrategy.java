@@ -0,0 +1,106 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.monitoring.SegmentTimings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+
+/**
+ * Forks every segment as a virtual thread inside a structured task scope.
+ * Segments are pure computation, so a semaphore with one permit per core
+ * ({@code pi.virtual.permits}, default one per processor, shared by all
+ * requests) bounds how many compute at once instead of letting them pile
+ * onto the carrier threads.
+ *
+ * The first failing segment shuts the scope down: siblings still waiting
+ * for a permit are interrupted at once, and the failure is rethrown. An
+ * interrupt of the calling thread cancels the scope the same way.
+ */
+@Component
+public class VirtualStrategy implements ParallelStrategy {
+
+    private final Semaphore cpuPermits;
+
+    public VirtualStrategy(@Value("${pi.virtual.permits:0}") int permits) {
+        this.cpuPermits = new Semaphore(permits > 0 ? permits : Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm) {
+        return calculate(start, count, threads, algorithm, CancellationToken.none());
+    }
+
+    @Override
+    public String calculate(long start, int count, int threads, DigitAlgorithm algorithm, CancellationToken token) {
+        byte[] hex = new byte[count];
+        writeHex(start, count, threads, algorithm, hex, 0, token);
+        return PiDigits.asciiToString(hex);
+    }
+
+    @Override
+    public void writeHex(long start, int count, int threads, DigitAlgorithm algorithm, byte[] out, int offset,
+                         CancellationToken token) {
+
+        List<BlockPartitioner.Segment> segments = BlockPartitioner.partition(start, count, threads);
+        // Segments write their digits at disjoint offsets of out.
+        long[] segmentNanos = new long[segments.size()];
+
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            for (int i = 0; i < segments.size(); i++) {
+                BlockPartitioner.Segment segment = segments.get(i);
+                int index = i;
+
+                scope.fork(() -> {
+                    cpuPermits.acquire();
+                    try {
+                        long t0 = System.nanoTime();
+                        algorithm.writeHex(segment.start(), segment.count(), out,
+                                offset + (int) (segment.start() - start), token);
+                        segmentNanos[index] = System.nanoTime() - t0;
+                        return null;
+                    } finally {
+                        cpuPermits.release();
+                    }
+                });
+            }
+
+            try {
+                scope.join();
+            } catch (InterruptedException e) {
+                // Cancel before the scope closes: close() waits for every
+                // segment, and segments already computing only poll the token.
+                token.cancel("interrupted");
+                scope.shutdown();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Thread interrupted", e);
+            }
+            scope.throwIfFailed(e -> {
+                // Segments already computing do not react to the scope's interrupt.
+                token.cancel("segment failed");
+                return e instanceof RuntimeException failure
+                        ? failure
+                        : new RuntimeException("Segment failed", e);
+            });
+        }
+
+        SegmentTimings.record(segmentNanos);
+    }
+
+    /**
+     * Permits currently free for computing segments.
+     */
+    public int availablePermits() {
+        return cpuPermits.availablePermits();
+    }
+
+    @Override
+    public String name() {
+        return "virtual";
+    }
+}
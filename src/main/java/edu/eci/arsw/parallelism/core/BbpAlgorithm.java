@@ -0,0 +1,32 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The 4-term Bailey–Borwein–Plouffe formula, see {@link PiDigits}. Ranges
+ * longer than one block go through {@link IncrementalBbp}, which gives the
+ * same digits while reusing modular powers between blocks.
+ */
+@Component
+public class BbpAlgorithm implements DigitAlgorithm {
+
+    @Override
+    public byte[] getDigits(long start, int count) {
+        return IncrementalBbp.getDigits(start, count);
+    }
+
+    @Override
+    public byte[] getDigits(long start, int count, CancellationToken token) {
+        return IncrementalBbp.getDigits(start, count, token);
+    }
+
+    @Override
+    public void writeHex(long start, int count, byte[] out, int offset, CancellationToken token) {
+        IncrementalBbp.writeHex(start, count, token, out, offset);
+    }
+
+    @Override
+    public String name() {
+        return "bbp";
+    }
+}
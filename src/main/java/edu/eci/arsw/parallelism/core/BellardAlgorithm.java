@@ -0,0 +1,138 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Bellard's 7-term formula:
+ *
+ * <pre>
+ * Pi = 1/2^6 * sum_k (-1)^k / 2^(10k) * ( -2^5/(4k+1) - 1/(4k+3) + 2^8/(10k+1)
+ *      - 2^6/(10k+3) - 2^2/(10k+5) - 2^2/(10k+7) + 1/(10k+9) )
+ * </pre>
+ *
+ * Each term k advances 10 bits instead of BBP's 4, so a block needs about
+ * 0.4n terms of 7 modular exponentiations instead of n terms of 4.
+ */
+@Component
+public class BellardAlgorithm implements DigitAlgorithm {
+
+    private static final int[] STEP = {4, 4, 10, 10, 10, 10, 10};
+    private static final int[] OFFSET = {1, 3, 1, 3, 5, 7, 9};
+    private static final int[] SHIFT = {5, 0, 8, 6, 2, 2, 0};
+    private static final int[] SIGN = {-1, -1, 1, -1, -1, -1, 1};
+
+    /** Terms below 2^-60 no longer affect a double fraction. */
+    private static final int MIN_EXPONENT = -60;
+
+    @Override
+    public byte[] getDigits(long start, int count) {
+        return PiDigits.getDigits(start, count, BellardAlgorithm::series);
+    }
+
+    @Override
+    public byte[] getDigits(long start, int count, CancellationToken token) {
+        return PiDigits.getDigits(start, count, BellardAlgorithm::series, token);
+    }
+
+    @Override
+    public void writeHex(long start, int count, byte[] out, int offset, CancellationToken token) {
+        PiDigits.writeHex(start, count, BellardAlgorithm::series, out, offset, token);
+    }
+
+    @Override
+    public String name() {
+        return "bellard";
+    }
+
+    /**
+     * Returns a value whose fractional part is the fractional part of
+     * 16^n * Pi.
+     */
+    static double series(long n) {
+        // 16^n * Pi / 2^6 = 2^(4n - 6) * Pi
+        long base = 4 * n - 6;
+        double sum = 0.0;
+        double sign = 1.0;
+        long k = 0;
+
+        // Fused head: all seven exponents are base - 10k plus a constant shift,
+        // so one scan of base - 10k drives all seven small-modulus chains.
+        long fusedEnd = base < 0 ? 0 : Math.min(base / 10 + 1, (ModularArithmetic.SMALL_MODULUS - 9) / 10 + 1);
+        for (; k < fusedEnd; k++) {
+            long e = base - 10 * k;
+            long m0 = 4 * k + 1;
+            long m1 = 4 * k + 3;
+            long m2 = 10 * k + 1;
+            long m3 = 10 * k + 3;
+            long m4 = 10 * k + 5;
+            long m5 = 10 * k + 7;
+            long m6 = 10 * k + 9;
+            double r0 = 1.0 / m0;
+            double r1 = 1.0 / m1;
+            double r2 = 1.0 / m2;
+            double r3 = 1.0 / m3;
+            double r4 = 1.0 / m4;
+            double r5 = 1.0 / m5;
+            double r6 = 1.0 / m6;
+            long x0 = 1;
+            long x1 = 1;
+            long x2 = 1;
+            long x3 = 1;
+            long x4 = 1;
+            long x5 = 1;
+            long x6 = 1;
+
+            for (int bit = 63 - Long.numberOfLeadingZeros(e); bit >= 0; bit--) {
+                x0 = ModularArithmetic.multiplySmall(x0, x0, m0, r0);
+                x1 = ModularArithmetic.multiplySmall(x1, x1, m1, r1);
+                x2 = ModularArithmetic.multiplySmall(x2, x2, m2, r2);
+                x3 = ModularArithmetic.multiplySmall(x3, x3, m3, r3);
+                x4 = ModularArithmetic.multiplySmall(x4, x4, m4, r4);
+                x5 = ModularArithmetic.multiplySmall(x5, x5, m5, r5);
+                x6 = ModularArithmetic.multiplySmall(x6, x6, m6, r6);
+                if (((e >>> bit) & 1) != 0) {
+                    x0 = ModularArithmetic.twice(x0, m0);
+                    x1 = ModularArithmetic.twice(x1, m1);
+                    x2 = ModularArithmetic.twice(x2, m2);
+                    x3 = ModularArithmetic.twice(x3, m3);
+                    x4 = ModularArithmetic.twice(x4, m4);
+                    x5 = ModularArithmetic.twice(x5, m5);
+                    x6 = ModularArithmetic.twice(x6, m6);
+                }
+            }
+
+            double term = -(double) ModularArithmetic.multiplySmall(x0, 1L << SHIFT[0], m0, r0) / m0
+                    - (double) ModularArithmetic.multiplySmall(x1, 1L << SHIFT[1], m1, r1) / m1
+                    + (double) ModularArithmetic.multiplySmall(x2, 1L << SHIFT[2], m2, r2) / m2
+                    - (double) ModularArithmetic.multiplySmall(x3, 1L << SHIFT[3], m3, r3) / m3
+                    - (double) ModularArithmetic.multiplySmall(x4, 1L << SHIFT[4], m4, r4) / m4
+                    - (double) ModularArithmetic.multiplySmall(x5, 1L << SHIFT[5], m5, r5) / m5
+                    + (double) ModularArithmetic.multiplySmall(x6, 1L << SHIFT[6], m6, r6) / m6;
+            sum += sign * term;
+            sum -= Math.floor(sum);
+            sign = -sign;
+        }
+
+        // Remaining terms: large moduli, or exponents that go negative.
+        for (; ; k++) {
+            long exponent = base - 10 * k;
+            if (exponent + SHIFT[2] < MIN_EXPONENT) {
+                break;
+            }
+
+            for (int j = 0; j < STEP.length; j++) {
+                long e = exponent + SHIFT[j];
+                long m = STEP[j] * k + OFFSET[j];
+                double term = e >= 0
+                        ? (double) ModularArithmetic.powerOfTwoMod(e, m) / m
+                        : Math.scalb(1.0, (int) Math.max(e, MIN_EXPONENT * 2)) / m;
+                sum += SIGN[j] * sign * term;
+            }
+
+            sum -= Math.floor(sum);
+            sign = -sign;
+        }
+
+        return sum;
+    }
+}
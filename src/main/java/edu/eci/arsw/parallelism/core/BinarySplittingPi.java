@@ -0,0 +1,134 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.math.BigInteger;
+
+/**
+ * Computes a whole prefix of Pi at once with the Chudnovsky series,
+ * evaluated by binary splitting over BigInteger and converted to radix 16.
+ *
+ * Extracting n digits one block at a time with BBP costs about
+ * O(n^2 log n); binary splitting costs a few large multiplications and one
+ * division of n-digit numbers, so it wins by far for long ranges that start
+ * at (or near) position 0.
+ */
+public final class BinarySplittingPi {
+
+    /** Largest prefix (in hex digits) this engine will compute. */
+    public static final int MAX_DIGITS = 1 << 26;
+
+    /** Extra digits computed to absorb truncation in the final division. */
+    private static final int GUARD_DIGITS = 8;
+
+    /** Each Chudnovsky term contributes log2(151931373056000) ~ 47.11 bits. */
+    private static final double BITS_PER_TERM = 47.11;
+
+    /**
+     * Subtrees of at least this many terms check the token before they are
+     * merged; smaller merges are too cheap to be worth it.
+     */
+    private static final long CANCEL_CHECK_TERMS = 1024;
+
+    private static final BigInteger C3_OVER_24 = BigInteger.valueOf(10_939_058_860_032_000L);
+    private static final BigInteger A = BigInteger.valueOf(13_591_409L);
+    private static final BigInteger B = BigInteger.valueOf(545_140_134L);
+
+    private BinarySplittingPi() {
+    }
+
+    /**
+     * Returns a range of hexadecimal digits of Pi (after the radix point),
+     * computing the prefix up to start + count.
+     *
+     * @param start 0-based position after the radix point.
+     * @param count number of digits to return.
+     * @return array of digits, each value 0..15.
+     */
+    public static byte[] getDigits(long start, int count) {
+        return getDigits(start, count, CancellationToken.none());
+    }
+
+    /**
+     * Same as {@link #getDigits(long, int)}, stopping with a
+     * {@link ComputeCancelledException} once the token is cancelled: it is
+     * checked before every large merge of the splitting and between the
+     * final multiplications, division and radix conversion.
+     */
+    public static byte[] getDigits(long start, int count, CancellationToken token) {
+        if (start < 0 || count < 0) {
+            throw new IllegalArgumentException("Invalid interval: start and count must be non-negative");
+        }
+        if (start + count > MAX_DIGITS) {
+            throw new IllegalArgumentException("Invalid interval: start + count must be <= " + MAX_DIGITS);
+        }
+
+        byte[] digits = new byte[count];
+        if (count == 0) {
+            return digits;
+        }
+
+        int hexDigits = (int) (start + count) + GUARD_DIGITS;
+        int bits = 4 * hexDigits;
+        BigInteger fraction = piFixed(bits, token).and(BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE));
+        token.throwIfCancelled();
+        String hex = fraction.toString(16);
+        int leadingZeros = hexDigits - hex.length();
+
+        for (int i = 0; i < count; i++) {
+            long position = start + i;
+            digits[i] = position < leadingZeros
+                    ? 0
+                    : (byte) Character.digit(hex.charAt((int) (position - leadingZeros)), 16);
+        }
+
+        return digits;
+    }
+
+    /**
+     * Returns floor(Pi * 2^bits), up to a few units in the last place.
+     */
+    static BigInteger piFixed(int bits) {
+        return piFixed(bits, CancellationToken.none());
+    }
+
+    private static BigInteger piFixed(int bits, CancellationToken token) {
+        int terms = (int) (bits / BITS_PER_TERM) + 2;
+        Terms sum = split(0, terms, token);
+
+        // Pi = 426880 * sqrt(10005) * Q / T
+        token.throwIfCancelled();
+        BigInteger sqrt = BigInteger.valueOf(10005).shiftLeft(2 * bits).sqrt();
+        token.throwIfCancelled();
+        BigInteger numerator = BigInteger.valueOf(426880).multiply(sqrt).multiply(sum.q());
+        token.throwIfCancelled();
+        return numerator.divide(sum.t());
+    }
+
+    private static Terms split(long a, long b, CancellationToken token) {
+        if (b - a == 1) {
+            if (a == 0) {
+                return new Terms(BigInteger.ONE, BigInteger.ONE, A);
+            }
+            BigInteger p = BigInteger.valueOf(6 * a - 5)
+                    .multiply(BigInteger.valueOf(2 * a - 1))
+                    .multiply(BigInteger.valueOf(6 * a - 1));
+            BigInteger q = BigInteger.valueOf(a).pow(3).multiply(C3_OVER_24);
+            BigInteger t = p.multiply(A.add(B.multiply(BigInteger.valueOf(a))));
+            return new Terms(p, q, (a & 1) == 0 ? t : t.negate());
+        }
+
+        long m = (a + b) >>> 1;
+        Terms left = split(a, m, token);
+        Terms right = split(m, b, token);
+        if (b - a >= CANCEL_CHECK_TERMS) {
+            token.throwIfCancelled();
+        }
+        return new Terms(
+                left.p().multiply(right.p()),
+                left.q().multiply(right.q()),
+                right.q().multiply(left.t()).add(left.p().multiply(right.t()))
+        );
+    }
+
+    private record Terms(BigInteger p, BigInteger q, BigInteger t) {
+    }
+}
@@ -0,0 +1,226 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of computed 8-digit blocks within a byte budget
+ * ({@code pi.cache.max-bytes}, default 64 MiB; 0 disables it).
+ *
+ * Blocks are stored nibble-packed, two digits per byte, in pages of
+ * {@link #PAGE_BLOCKS} consecutive blocks with a presence bitmap, so a
+ * resident block costs 4 bytes plus its share of one page header. Pages
+ * are evicted least recently used first. Digits never change, so entries
+ * are never invalidated.
+ *
+ * Lookups and stores take runs of consecutive blocks: the lock is taken
+ * once per run, every page is looked up once per run, and a block moves
+ * as one int, converted to or from hex by {@link DigitEncoding}.
+ *
+ * The index stays on the heap; the pages themselves live in direct memory
+ * ({@link OffHeapPageStore}) unless {@code pi.cache.off-heap} is false.
+ */
+@Component
+public class BlockCache {
+
+    public static final int PAGE_BLOCKS = 64;
+
+    private static final int BLOCK = PiDigits.DIGITS_PER_SUM;
+    private static final int PAGE_BYTES = PAGE_BLOCKS * BLOCK / 2;
+
+    /** Estimated heap cost of a page beyond its digits: map entry, key, array header, bitmap. */
+    static final int PAGE_OVERHEAD = 96;
+
+    public static final int PAGE_FOOTPRINT = PAGE_BYTES + PAGE_OVERHEAD;
+
+    private record PageKey(String algorithm, long page) {}
+
+    private static final class Page {
+        final int slot;
+        long present;
+
+        Page(int slot) {
+            this.slot = slot;
+        }
+    }
+
+    private final long maxBytes;
+    private final PageStore store;
+    private final LinkedHashMap<PageKey, Page> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long blocks;
+
+    public BlockCache(long maxBytes) {
+        this(maxBytes, false);
+    }
+
+    @Autowired
+    public BlockCache(@Value("${pi.cache.max-bytes:67108864}") long maxBytes,
+                      @Value("${pi.cache.off-heap:true}") boolean offHeap) {
+        this.maxBytes = Math.max(0, maxBytes);
+        this.store = offHeap ? new OffHeapPageStore(PAGE_BYTES) : new HeapPageStore(PAGE_BYTES);
+    }
+
+    /**
+     * A cache that holds nothing.
+     */
+    public static BlockCache disabled() {
+        return new BlockCache(0);
+    }
+
+    public boolean isEnabled() {
+        return maxBytes >= PAGE_FOOTPRINT;
+    }
+
+    /**
+     * Copies the cached blocks among the length blocks from first into out
+     * as hex ASCII, block i at offset + 8i, and marks them in present.
+     * Returns how many were cached; the rest count as misses.
+     */
+    public synchronized int readHex(String algorithm, long first, int length, byte[] out, int offset,
+                                    boolean[] present) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        int found = copyHex(algorithm, first, length, out, offset, present);
+        hits += found;
+        misses += length - found;
+        return found;
+    }
+
+    /**
+     * Copies the length blocks from first into out as hex ASCII at offset
+     * when all of them are cached, or returns false.
+     */
+    public synchronized boolean getHex(String algorithm, long first, int length, byte[] out, int offset) {
+        if (!containsAll(algorithm, first, first + length)) {
+            return false;
+        }
+        hits += copyHex(algorithm, first, length, out, offset, null);
+        return true;
+    }
+
+    /**
+     * Looks every page up once and converts each resident block with
+     * {@link DigitEncoding#HEX}.
+     */
+    private int copyHex(String algorithm, long first, int length, byte[] out, int offset, boolean[] present) {
+        int found = 0;
+        for (int i = 0; i < length; ) {
+            long block = first + i;
+            int slot = (int) (block % PAGE_BLOCKS);
+            int span = Math.min(length - i, PAGE_BLOCKS - slot);
+            Page page = pages.get(new PageKey(algorithm, block / PAGE_BLOCKS));
+            for (int j = 0; page != null && j < span; j++) {
+                if ((page.present & (1L << (slot + j))) != 0) {
+                    int nibbles = store.getInt(page.slot, (slot + j) * BLOCK / 2);
+                    DigitEncoding.HEX.put(nibbles, BLOCK, out, offset, (i + j) * BLOCK);
+                    if (present != null) {
+                        present[i + j] = true;
+                    }
+                    found++;
+                }
+            }
+            i += span;
+        }
+        return found;
+    }
+
+    /**
+     * Copies the packed bytes of the length blocks from first into out at
+     * index, one bulk copy per page, when all of them are cached, or returns
+     * false.
+     */
+    public synchronized boolean getPacked(String algorithm, long first, int length, byte[] out, int index) {
+        if (!containsAll(algorithm, first, first + length)) {
+            return false;
+        }
+        for (int i = 0; i < length; ) {
+            long block = first + i;
+            int slot = (int) (block % PAGE_BLOCKS);
+            int span = Math.min(length - i, PAGE_BLOCKS - slot);
+            Page page = pages.get(new PageKey(algorithm, block / PAGE_BLOCKS));
+            store.read(page.slot, slot * BLOCK / 2, out, index + i * BLOCK / 2, span * BLOCK / 2);
+            i += span;
+        }
+        hits += length;
+        return true;
+    }
+
+    /**
+     * Whether the blocks [from, to) are all cached. Not counted as lookups.
+     */
+    public synchronized boolean containsAll(String algorithm, long from, long to) {
+        if (!isEnabled() || from >= to) {
+            return false;
+        }
+        for (long block = from; block < to; ) {
+            int slot = (int) (block % PAGE_BLOCKS);
+            int span = (int) Math.min(to - block, PAGE_BLOCKS - slot);
+            long mask = -1L >>> (Long.SIZE - span) << slot;
+            Page page = pages.get(new PageKey(algorithm, block / PAGE_BLOCKS));
+            if (page == null || (page.present & mask) != mask) {
+                return false;
+            }
+            block += span;
+        }
+        return true;
+    }
+
+    /**
+     * Stores the length blocks from first, given as hex ASCII at offset,
+     * evicting pages as needed. Blocks already cached are left as they are.
+     */
+    public synchronized void putHex(String algorithm, long first, int length, byte[] hex, int offset) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            long block = first + i;
+            int slot = (int) (block % PAGE_BLOCKS);
+            int span = Math.min(length - i, PAGE_BLOCKS - slot);
+            PageKey key = new PageKey(algorithm, block / PAGE_BLOCKS);
+            Page page = pages.get(key);
+            if (page == null) {
+                evictOver(maxBytes - PAGE_FOOTPRINT);
+                page = new Page(store.allocate());
+                pages.put(key, page);
+            }
+            for (int j = 0; j < span; j++) {
+                long bit = 1L << (slot + j);
+                if ((page.present & bit) == 0) {
+                    store.setInt(page.slot, (slot + j) * BLOCK / 2,
+                            DigitEncoding.parseHex(hex, offset + (i + j) * BLOCK));
+                    page.present |= bit;
+                    this.blocks++;
+                }
+            }
+            i += span;
+        }
+    }
+
+    private void evictOver(long budget) {
+        Iterator<Map.Entry<PageKey, Page>> eldest = pages.entrySet().iterator();
+        while ((long) pages.size() * PAGE_FOOTPRINT > budget && eldest.hasNext()) {
+            Page evicted = eldest.next().getValue();
+            blocks -= Long.bitCount(evicted.present);
+            eldest.remove();
+            store.release(evicted.slot);
+            evictions++;
+        }
+    }
+
+    public synchronized CacheStats stats() {
+        long lookups = hits + misses;
+        return new CacheStats(hits, misses, lookups == 0 ? 0 : (double) hits / lookups,
+                evictions, (long) pages.size() * PAGE_FOOTPRINT, maxBytes, blocks,
+                store.isOffHeap(), store.offHeapBytes());
+    }
+}
@@ -0,0 +1,347 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight layer over digit computations, keyed on 8-digit blocks.
+ *
+ * A range is widened to whole blocks of the global grid (block b holds the
+ * digits [8b, 8b + 8)). The blocks a request computes are registered as
+ * runs, one interval per run of consecutive blocks; a request whose blocks
+ * fall inside a run already in flight subscribes to that part of it
+ * instead of computing it again, and computes only the runs nobody else is
+ * working on. Every request computes its own runs before waiting for
+ * others, so two overlapping requests cannot wait on each other. A run
+ * hands its digits to subscribers as one copy, made only if it has any.
+ *
+ * Blocks found in the {@link BlockCache} are served from it and never
+ * registered, so only the gaps between cached blocks are computed; every
+ * computed run is stored in the cache. The cache also works with
+ * coalescing disabled.
+ */
+@Component
+public class BlockCoalescer {
+
+    private static final int BLOCK = PiDigits.DIGITS_PER_SUM;
+    /** Longest a subscriber waits on a run between checks of its token. */
+    private static final long POLL_MILLIS = 50;
+
+    /**
+     * Writes the hex digits of a range into out at offset; called for
+     * whole-block runs.
+     */
+    @FunctionalInterface
+    public interface RangeComputer {
+        void compute(long start, int count, byte[] out, int offset);
+    }
+
+    /**
+     * Blocks [first, first + length) being computed by one request. The
+     * digits are null when nobody subscribed.
+     */
+    private static final class Run {
+        final long first;
+        final int length;
+        final CompletableFuture<byte[]> digits = new CompletableFuture<>();
+        int subscribers;
+
+        Run(long first, int length) {
+            this.first = first;
+            this.length = length;
+        }
+
+        long end() {
+            return first + length;
+        }
+    }
+
+    /**
+     * Blocks [first, first + length) of a request, taken from a run of
+     * another one.
+     */
+    private record Subscription(Run run, long first, int length) {}
+
+    private final boolean enabled;
+    private final BlockCache cache;
+    /** Runs in flight per algorithm, by first block; guarded by itself. */
+    private final Map<String, TreeMap<Long, Run>> inFlight = new HashMap<>();
+    private int inFlightBlocks;
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public BlockCoalescer(boolean enabled) {
+        this(enabled, BlockCache.disabled());
+    }
+
+    @Autowired
+    public BlockCoalescer(@Value("${pi.coalescing.enabled:true}") boolean enabled, BlockCache cache) {
+        this.enabled = enabled;
+        this.cache = cache;
+    }
+
+    /**
+     * A coalescer that passes every range straight to the computer.
+     */
+    public static BlockCoalescer disabled() {
+        return new BlockCoalescer(false);
+    }
+
+    /**
+     * Writes the hex digits of [start, start + count) into out at offset
+     * when every block of the range is cached. Returns false otherwise.
+     */
+    public boolean cached(String algorithm, long start, int count, byte[] out, int offset) {
+        if (!cache.isEnabled() || count == 0) {
+            return false;
+        }
+        long first = start / BLOCK;
+        int blocks = (int) ((start + count - 1) / BLOCK - first + 1);
+        if (!cache.containsAll(algorithm, first, first + blocks)) {
+            return false;
+        }
+
+        if (isAligned(start, count)) {
+            return cache.getHex(algorithm, first, blocks, out, offset);
+        }
+        byte[] hex = new byte[blocks * BLOCK];
+        if (!cache.getHex(algorithm, first, blocks, hex, 0)) {
+            // Evicted since the check.
+            return false;
+        }
+        System.arraycopy(hex, (int) (start - first * BLOCK), out, offset, count);
+        return true;
+    }
+
+    /**
+     * Writes the digits of [start, start + count) nibble-packed into out at
+     * offset when every block of the range is cached, without going through
+     * hex text. Returns false otherwise.
+     */
+    public boolean cachedPacked(String algorithm, long start, int count, byte[] out, int offset) {
+        if (!cache.isEnabled() || count == 0) {
+            return false;
+        }
+        long first = start / BLOCK;
+        long last = (start + count - 1) / BLOCK;
+        if (!cache.containsAll(algorithm, first, last + 1)) {
+            return false;
+        }
+
+        byte[] blocks = new byte[(int) (last - first + 1) * BLOCK / 2];
+        if (!cache.getPacked(algorithm, first, (int) (last - first + 1), blocks, 0)) {
+            // Evicted since the check.
+            return false;
+        }
+        PackedDigits.copy(blocks, start - first * BLOCK, count, out, offset);
+        return true;
+    }
+
+    /**
+     * Writes the hex digits of [start, start + count) for an algorithm into
+     * out at offset, sharing blocks with concurrent calls for the same
+     * algorithm. A block-aligned range is assembled in out itself; any other
+     * is widened to whole blocks in a buffer of its own.
+     */
+    public void compute(String algorithm, long start, int count, byte[] out, int offset, RangeComputer computer) {
+        compute(algorithm, start, count, out, offset, CancellationToken.none(), computer);
+    }
+
+    /**
+     * Like {@link #compute(String, long, int, byte[], int, RangeComputer)},
+     * but waits on runs of other requests only until the token is cancelled
+     * or its deadline passes, and then throws a
+     * {@link ComputeCancelledException}.
+     */
+    public void compute(String algorithm, long start, int count, byte[] out, int offset, CancellationToken token,
+                        RangeComputer computer) {
+        if ((!enabled && !cache.isEnabled()) || count == 0) {
+            computer.compute(start, count, out, offset);
+            return;
+        }
+
+        long first = start / BLOCK;
+        int blocks = (int) ((start + count - 1) / BLOCK - first + 1);
+        boolean aligned = isAligned(start, count);
+        byte[] hex = aligned ? out : new byte[blocks * BLOCK];
+        int base = aligned ? offset : 0;
+        boolean[] cached = new boolean[blocks];
+        cache.readHex(algorithm, first, blocks, hex, base, cached);
+
+        List<Run> owned = new ArrayList<>();
+        List<Subscription> shared = new ArrayList<>();
+        register(algorithm, first, cached, owned, shared);
+
+        int done = 0;
+        try {
+            for (Run run : owned) {
+                computeRun(algorithm, run, hex, base + (int) (run.first - first) * BLOCK, computer);
+                done++;
+            }
+        } catch (RuntimeException e) {
+            // Subscribers of the runs not reached yet must not wait forever.
+            for (Run run : owned.subList(Math.min(done + 1, owned.size()), owned.size())) {
+                finish(algorithm, run, e);
+            }
+            throw e;
+        }
+
+        for (Subscription subscription : shared) {
+            join(subscription, hex, base + (int) (subscription.first() - first) * BLOCK, token, computer);
+        }
+        if (!aligned) {
+            System.arraycopy(hex, (int) (start - first * BLOCK), out, offset, count);
+        }
+    }
+
+    private static boolean isAligned(long start, int count) {
+        return start % BLOCK == 0 && count % BLOCK == 0;
+    }
+
+    /**
+     * Splits the blocks not cached into parts of runs in flight, which
+     * become subscriptions, and new runs of this request, registered under
+     * one lock.
+     */
+    private void register(String algorithm, long first, boolean[] cached, List<Run> owned,
+                          List<Subscription> shared) {
+        synchronized (inFlight) {
+            TreeMap<Long, Run> runs = enabled ? inFlight.computeIfAbsent(algorithm, a -> new TreeMap<>()) : null;
+            int i = 0;
+            while (i < cached.length) {
+                if (cached[i]) {
+                    i++;
+                    continue;
+                }
+                long block = first + i;
+                Map.Entry<Long, Run> before = runs == null ? null : runs.floorEntry(block);
+                Run other = before != null && before.getValue().end() > block ? before.getValue() : null;
+                long limit = other != null
+                        ? other.end()
+                        : runs == null || runs.higherKey(block) == null ? Long.MAX_VALUE : runs.higherKey(block);
+
+                int end = i;
+                while (end < cached.length && !cached[end] && first + end < limit) {
+                    end++;
+                }
+                if (other != null) {
+                    other.subscribers++;
+                    shared.add(new Subscription(other, block, end - i));
+                    coalesced.add(end - i);
+                } else {
+                    Run mine = new Run(block, end - i);
+                    if (runs != null) {
+                        runs.put(block, mine);
+                        inFlightBlocks += mine.length;
+                    }
+                    owned.add(mine);
+                }
+                i = end;
+            }
+        }
+    }
+
+    private void computeRun(String algorithm, Run run, byte[] hex, int offset, RangeComputer computer) {
+        try {
+            computer.compute(run.first * BLOCK, run.length * BLOCK, hex, offset);
+            cache.putHex(algorithm, run.first, run.length, hex, offset);
+        } catch (RuntimeException e) {
+            finish(algorithm, run, e);
+            throw e;
+        }
+        computed.add(run.length);
+        finish(algorithm, run, hex, offset);
+    }
+
+    /**
+     * Unregisters a computed run and hands its digits to its subscribers.
+     */
+    private void finish(String algorithm, Run run, byte[] hex, int offset) {
+        boolean subscribed;
+        synchronized (inFlight) {
+            subscribed = unregister(algorithm, run) && run.subscribers > 0;
+        }
+        run.digits.complete(subscribed ? Arrays.copyOfRange(hex, offset, offset + run.length * BLOCK) : null);
+    }
+
+    /**
+     * Unregisters a failed run and passes the failure to its subscribers.
+     */
+    private void finish(String algorithm, Run run, RuntimeException failure) {
+        synchronized (inFlight) {
+            unregister(algorithm, run);
+        }
+        run.digits.completeExceptionally(failure);
+    }
+
+    private boolean unregister(String algorithm, Run run) {
+        TreeMap<Long, Run> runs = inFlight.get(algorithm);
+        if (runs == null || !runs.remove(run.first, run)) {
+            return false;
+        }
+        inFlightBlocks -= run.length;
+        return true;
+    }
+
+    private static void join(Subscription subscription, byte[] hex, int offset, CancellationToken token,
+                             RangeComputer computer) {
+        Run run = subscription.run();
+        byte[] digits;
+        try {
+            digits = await(run, token);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ComputeCancelledException) {
+                // The request computing the run was cancelled; this one still needs its part.
+                computer.compute(subscription.first() * BLOCK, subscription.length() * BLOCK, hex, offset);
+                return;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Run failed", e.getCause());
+        }
+        System.arraycopy(digits, (int) (subscription.first() - run.first) * BLOCK, hex, offset,
+                subscription.length() * BLOCK);
+    }
+
+    /**
+     * Waits for the digits of a run in slices of at most POLL_MILLIS, so the
+     * subscriber gives up by its own deadline or cancellation rather than
+     * the owner's.
+     */
+    private static byte[] await(Run run, CancellationToken token) throws ExecutionException {
+        while (true) {
+            token.throwIfCancelled();
+            long remaining = token.remainingMillis();
+            long wait = remaining < 0 ? POLL_MILLIS : Math.max(1, Math.min(POLL_MILLIS, remaining));
+            try {
+                return run.digits.get(wait, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Check the token again.
+            } catch (InterruptedException e) {
+                token.cancel("interrupted");
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Thread interrupted", e);
+            }
+        }
+    }
+
+    public CoalescingStats stats() {
+        synchronized (inFlight) {
+            return new CoalescingStats(computed.sum(), coalesced.sum(), inFlightBlocks);
+        }
+    }
+}
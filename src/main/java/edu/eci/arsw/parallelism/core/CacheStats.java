@@ -0,0 +1,26 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Counters of the {@link BlockCache}.
+ *
+ * @param hits          block lookups served from the cache
+ * @param misses        block lookups that had to be computed
+ * @param hitRatio      hits over lookups, 0 before the first lookup
+ * @param evictions     pages evicted to stay within the budget
+ * @param bytesResident bytes held by resident pages, overhead included
+ * @param maxBytes      the byte budget
+ * @param blocks        8-digit blocks resident
+ * @param offHeap       whether pages are stored outside the heap
+ * @param offHeapBytes  direct memory reserved for pages
+ */
+public record CacheStats(
+        long hits,
+        long misses,
+        double hitRatio,
+        long evictions,
+        long bytesResident,
+        long maxBytes,
+        long blocks,
+        boolean offHeap,
+        long offHeapBytes
+) {}
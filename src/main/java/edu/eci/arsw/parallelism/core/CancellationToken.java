@@ -0,0 +1,69 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Deadline and cancellation flag of one request, shared by every thread
+ * computing for it. Digit engines poll it between blocks or every few
+ * thousand terms and stop with a {@link ComputeCancelledException}, so a
+ * request nobody waits for any more frees its cores quickly.
+ */
+public final class CancellationToken {
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile String reason;
+
+    private CancellationToken(long deadlineNanos, boolean hasDeadline) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * A token without deadline that is only cancelled explicitly.
+     */
+    public static CancellationToken none() {
+        return new CancellationToken(0, false);
+    }
+
+    /**
+     * A token that expires timeoutMillis from now; no deadline when
+     * timeoutMillis is not positive.
+     */
+    public static CancellationToken withTimeout(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return none();
+        }
+        return new CancellationToken(System.nanoTime() + timeoutMillis * 1_000_000, true);
+    }
+
+    /**
+     * Cancels the token; the first reason wins.
+     */
+    public void cancel(String reason) {
+        if (this.reason == null) {
+            this.reason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        if (reason == null && hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            cancel("deadline exceeded");
+        }
+        return reason != null;
+    }
+
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new ComputeCancelledException(reason);
+        }
+    }
+
+    /**
+     * Milliseconds until the deadline, or -1 without one.
+     */
+    public long remainingMillis() {
+        if (!hasDeadline) {
+            return -1;
+        }
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000);
+    }
+}
@@ -0,0 +1,14 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Counters of the {@link BlockCoalescer}.
+ *
+ * @param computedBlocks  blocks computed by the request that asked first
+ * @param coalescedBlocks blocks taken from another request's computation
+ * @param inFlightBlocks  blocks being computed right now
+ */
+public record CoalescingStats(
+        long computedBlocks,
+        long coalescedBlocks,
+        int inFlightBlocks
+) {}
@@ -0,0 +1,30 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Thrown when a {@link CancellationToken} stops a computation. Carries the
+ * digits of the range that were complete before it stopped, a prefix of
+ * the requested range, possibly empty.
+ */
+public class ComputeCancelledException extends RuntimeException {
+
+    private final String reason;
+    private final String partialDigits;
+
+    public ComputeCancelledException(String reason) {
+        this(reason, "");
+    }
+
+    public ComputeCancelledException(String reason, String partialDigits) {
+        super("Computation cancelled: " + reason);
+        this.reason = reason;
+        this.partialDigits = partialDigits;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getPartialDigits() {
+        return partialDigits;
+    }
+}
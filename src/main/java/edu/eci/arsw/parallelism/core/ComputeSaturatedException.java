@@ -0,0 +1,19 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Thrown when the {@link ComputeScheduler} queue is full. Carries an
+ * estimate of when the queued work will have drained.
+ */
+public class ComputeSaturatedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ComputeSaturatedException(long retryAfterSeconds) {
+        super("Compute capacity exhausted, retry after " + retryAfterSeconds + " s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,239 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-wide budget of compute threads shared by all requests.
+ *
+ * A request asks for a number of threads and is granted at most the free
+ * part of the budget (at least one), so a single request can never take
+ * more than {@code pi.compute.cores} threads. When no thread is free it
+ * waits in a queue of at most {@code pi.compute.queue} requests; beyond
+ * that it is rejected with a {@link ComputeSaturatedException} whose retry
+ * delay is the queued CPU time spread over the budget.
+ *
+ * The queue is served shortest job first: freed threads go to the waiter
+ * with the smallest estimated time, less {@code pi.compute.aging} times
+ * how long it has waited, so a large job is eventually served however
+ * many small ones arrive. Callers split large jobs into slices of about
+ * {@link #sliceMillis()} and admit every slice with the remaining estimate,
+ * which lets small jobs run between the slices of a large one.
+ */
+@Component
+public class ComputeScheduler {
+
+    private final int cores;
+    private final int maxQueue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<Waiter> queue = new ArrayList<>();
+    private final double aging;
+    private final double sliceMillis;
+    private final double[] recentWaits = new double[WAIT_SAMPLES];
+    private long admitted;
+    private int free;
+    private double queuedWorkMillis;
+    private long rejected;
+
+    /** Queue waits kept for the percentiles in {@link #stats()}. */
+    private static final int WAIT_SAMPLES = 1024;
+
+    /** How often a queued request checks its cancellation token. */
+    static final long CANCEL_POLL_MILLIS = 50;
+
+    /**
+     * Threads granted to one request; closing returns them to the budget.
+     */
+    public final class Grant implements AutoCloseable {
+
+        private final int threads;
+        private final double waitMillis;
+        private boolean released;
+
+        private Grant(int threads, double waitMillis) {
+            this.threads = threads;
+            this.waitMillis = waitMillis;
+        }
+
+        public int threads() {
+            return threads;
+        }
+
+        /**
+         * Time the request spent in the queue before this grant.
+         */
+        public double waitMillis() {
+            return waitMillis;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!released) {
+                    released = true;
+                    free += threads;
+                    changed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private record Waiter(double estimatedMillis, double workMillis, long enqueuedNanos) {
+
+        /** Estimated time, reduced by aging times the time waited so far. */
+        double priority(long now, double aging) {
+            return estimatedMillis - aging * (now - enqueuedNanos) / 1_000_000.0;
+        }
+    }
+
+    public ComputeScheduler(int cores, int maxQueue) {
+        this(cores, maxQueue, 1.0, 200);
+    }
+
+    @Autowired
+    public ComputeScheduler(
+            @Value("${pi.compute.cores:0}") int cores,
+            @Value("${pi.compute.queue:64}") int maxQueue,
+            @Value("${pi.compute.aging:1.0}") double aging,
+            @Value("${pi.compute.slice-millis:200}") double sliceMillis
+    ) {
+        this.cores = cores > 0 ? cores : Runtime.getRuntime().availableProcessors();
+        this.maxQueue = Math.max(0, maxQueue);
+        this.aging = aging;
+        this.sliceMillis = sliceMillis > 0 ? sliceMillis : Double.POSITIVE_INFINITY;
+        this.free = this.cores;
+    }
+
+    /**
+     * A budget no request can exhaust; grants every request in full and
+     * never slices.
+     */
+    public static ComputeScheduler unbounded() {
+        return new ComputeScheduler(Integer.MAX_VALUE, 0, 1.0, 0);
+    }
+
+    /**
+     * Threads in the budget; no grant is larger.
+     */
+    public int cores() {
+        return cores;
+    }
+
+    /**
+     * Target length of one slice of a large job.
+     */
+    public double sliceMillis() {
+        return sliceMillis;
+    }
+
+    /**
+     * Grants up to threads threads, waiting in line while none is free.
+     *
+     * @param threads         threads the request would like
+     * @param estimatedMillis predicted wall-clock time of the (remaining)
+     *                        request with that many threads: its priority in
+     *                        the queue, and its share of the retry estimate
+     * @throws ComputeSaturatedException when the queue is full
+     */
+    public Grant admit(int threads, double estimatedMillis) {
+        return admit(threads, estimatedMillis, CancellationToken.none());
+    }
+
+    /**
+     * Same as {@link #admit(int, double)}, leaving the queue with a
+     * {@link ComputeCancelledException} once the token is cancelled. The
+     * token has no callback, so a waiter polls it every
+     * {@link #CANCEL_POLL_MILLIS}.
+     */
+    public Grant admit(int threads, double estimatedMillis, CancellationToken token) {
+        token.throwIfCancelled();
+        int wanted = Math.max(1, Math.min(threads, cores));
+
+        lock.lock();
+        try {
+            if (queue.isEmpty() && free > 0) {
+                return take(wanted, 0);
+            }
+            if (queue.size() >= maxQueue) {
+                rejected++;
+                throw new ComputeSaturatedException(retryAfterSeconds());
+            }
+
+            Waiter waiter = new Waiter(estimatedMillis, estimatedMillis * wanted, System.nanoTime());
+            queue.add(waiter);
+            queuedWorkMillis += waiter.workMillis();
+            try {
+                while (free == 0 || next() != waiter) {
+                    changed.await(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    token.throwIfCancelled();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                token.throwIfCancelled();
+                throw new RuntimeException("Interrupted while waiting for compute threads", e);
+            } finally {
+                queue.remove(waiter);
+                queuedWorkMillis -= waiter.workMillis();
+                changed.signalAll();
+            }
+            return take(wanted, (System.nanoTime() - waiter.enqueuedNanos()) / 1_000_000.0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The waiter to serve next: lowest aged estimate.
+     */
+    private Waiter next() {
+        long now = System.nanoTime();
+        return queue.stream()
+                .min(Comparator.comparingDouble(w -> w.priority(now, aging)))
+                .orElse(null);
+    }
+
+    private Grant take(int wanted, double waitMillis) {
+        int granted = Math.min(wanted, free);
+        free -= granted;
+        recentWaits[(int) (admitted++ % WAIT_SAMPLES)] = waitMillis;
+        return new Grant(granted, waitMillis);
+    }
+
+    /**
+     * Seconds until the queued work should have drained: queued CPU time
+     * over the whole budget, rounded up, at least one.
+     */
+    private long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(queuedWorkMillis / cores / 1000.0));
+    }
+
+    public SchedulerStats stats() {
+        lock.lock();
+        try {
+            double[] waits = Arrays.copyOf(recentWaits, (int) Math.min(admitted, WAIT_SAMPLES));
+            Arrays.sort(waits);
+            return new SchedulerStats(cores, free, queue.size(), maxQueue, queuedWorkMillis, rejected,
+                    admitted, percentile(waits, 0.50), percentile(waits, 0.99));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        // Nearest rank.
+        return sorted.length == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
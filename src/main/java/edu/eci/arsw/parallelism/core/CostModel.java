@@ -0,0 +1,126 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-engine cost constants used by {@link QueryPlanner}, in nanoseconds per
+ * unit of work.
+ *
+ * One series evaluation at position n sums n terms, each with an O(log n)
+ * modular exponentiation, so it costs {@link #evaluationUnits(long)} =
+ * (n + 1) log2(n + 2) units. The incremental BBP range engine pays that once
+ * and then one modular multiplication per term for every further block,
+ * which {@code bbpCarry} prices per term and block. A binary-splitting prefix of N digits costs
+ * {@link #prefixUnits(long)} = N log2(N)^2 units. Starting and joining one
+ * platform thread costs {@code threadStart} nanoseconds.
+ *
+ * @param series      one BBP evaluation
+ * @param bbpCarry    one term of a further block of the incremental BBP engine
+ * @param bellard     one evaluation of Bellard's formula
+ * @param bbp128      one 128-bit fixed-point evaluation
+ * @param vector      one block of the SIMD kernel
+ * @param prefix      one unit of the binary-splitting prefix engine
+ * @param threadStart one thread start and join
+ */
+public record CostModel(
+        double series,
+        double bbpCarry,
+        double bellard,
+        double bbp128,
+        double vector,
+        double prefix,
+        double threadStart
+) {
+
+    /** Position and length the digit engines are calibrated at. */
+    static final long CALIBRATION_POSITION = 20_000;
+    static final int CALIBRATION_DIGITS = 64;
+
+    /** Length of the range the block-to-block carry is calibrated on. */
+    static final int CALIBRATION_RANGE = 512;
+
+    /** Prefix length the binary-splitting engine is calibrated at. */
+    static final int CALIBRATION_PREFIX = 4096;
+
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    /**
+     * Typical constants of a current x86-64 core without the SIMD kernel;
+     * used when calibration is skipped.
+     */
+    public static CostModel defaults() {
+        return new CostModel(20, 16, 13, 25, 20, 40, 60_000);
+    }
+
+    /**
+     * Times every engine once on a short range and derives its constant.
+     * Takes a few hundred milliseconds, most of it JIT warm-up.
+     */
+    public static CostModel calibrate() {
+        long n = CALIBRATION_POSITION;
+        int count = CALIBRATION_DIGITS;
+        double units = blocks(count) * evaluationUnits(n);
+        double series = best(() -> PiDigits.getDigits(n, count)) / units;
+        double range = best(() -> IncrementalBbp.getDigits(n, CALIBRATION_RANGE));
+        double bbpCarry = Math.max(0, range - series * evaluationUnits(n)) / ((blocks(CALIBRATION_RANGE) - 1) * n);
+        double bellard = best(() -> new BellardAlgorithm().getDigits(n, count)) / units;
+        double bbp128 = best(() -> new FixedPointBbpAlgorithm().getDigits(n, count))
+                / (FixedPointBbpAlgorithm.evaluations(n, count) * evaluationUnits(n));
+        double vector = VectorizedPiDigits.isAvailable()
+                ? best(() -> VectorizedPiDigits.getDigits(n, count)) / units
+                : series;
+        double prefix = best(() -> BinarySplittingPi.getDigits(0, CALIBRATION_PREFIX)) / prefixUnits(CALIBRATION_PREFIX);
+        double threadStart = best(() -> {
+            Thread thread = new Thread(() -> { });
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+
+        return new CostModel(series, bbpCarry, bellard, bbp128, vector, prefix, threadStart);
+    }
+
+    /**
+     * Work units of one series evaluation at position n.
+     */
+    public static double evaluationUnits(long n) {
+        return (n + 1) * log2(n + 2);
+    }
+
+    /**
+     * Work units of a binary-splitting prefix of the first digits digits.
+     */
+    static double prefixUnits(long digits) {
+        double log = log2(digits + 2);
+        return digits * log * log;
+    }
+
+    /**
+     * Number of 8-digit blocks in a range of count digits.
+     */
+    static long blocks(long count) {
+        return (count + PiDigits.DIGITS_PER_SUM - 1) / PiDigits.DIGITS_PER_SUM;
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+
+    /**
+     * Best of a few timed runs after one warm-up run, in nanoseconds.
+     */
+    private static double best(Supplier<?> task) {
+        task.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long t0 = System.nanoTime();
+            task.get();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best;
+    }
+}
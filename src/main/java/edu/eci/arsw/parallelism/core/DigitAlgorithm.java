@@ -0,0 +1,58 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Digit-extraction formula used to compute hexadecimal digits of Pi at an
+ * arbitrary position without computing the preceding ones.
+ */
+public interface DigitAlgorithm {
+
+    /**
+     * Returns a range of hexadecimal digits of Pi (after the radix point).
+     *
+     * @param start 0-based position after the radix point.
+     * @param count number of digits to return.
+     * @return array of digits, each value 0..15.
+     */
+    byte[] getDigits(long start, int count);
+
+    /**
+     * Same as {@link #getDigits(long, int)}, stopping with a
+     * {@link ComputeCancelledException} once the token is cancelled. The
+     * default only checks before starting; engines with long loops check
+     * inside them.
+     */
+    default byte[] getDigits(long start, int count, CancellationToken token) {
+        token.throwIfCancelled();
+        return getDigits(start, count);
+    }
+
+    /**
+     * @return the name used to select this algorithm (algorithm= parameter).
+     */
+    String name();
+
+    /**
+     * Convenience method: returns the digits as an uppercase hex string (0-9A-F).
+     */
+    default String getDigitsHex(long start, int count) {
+        return PiDigits.toHex(getDigits(start, count));
+    }
+
+    /**
+     * Hex digits of a range, cancellable through the token.
+     */
+    default String getDigitsHex(long start, int count, CancellationToken token) {
+        byte[] hex = new byte[count];
+        writeHex(start, count, hex, 0, token);
+        return PiDigits.asciiToString(hex);
+    }
+
+    /**
+     * Writes the hex digits of a range as ASCII ('0'-'9', 'A'-'F') into out
+     * at offset, so parallel segments can fill one shared buffer at
+     * disjoint offsets. Cancellable through the token.
+     */
+    default void writeHex(long start, int count, byte[] out, int offset, CancellationToken token) {
+        PiDigits.toHexAscii(getDigits(start, count, token), out, offset);
+    }
+}
@@ -0,0 +1,120 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Output formats of the digit loops, fed one 8-digit block at a time.
+ *
+ * A block arrives as the int of its 8 digits, first digit in the high
+ * nibble, which already is its nibble-packed form. The ASCII form spreads
+ * the nibbles to the bytes of a long and converts all 8 at once (SWAR), so
+ * a full block is one or two stores with no per-digit branches or calls.
+ */
+enum DigitEncoding {
+
+    /** One byte per digit, values 0..15; digit i at out[offset + i]. */
+    VALUES {
+        @Override
+        void put(int nibbles, int count, byte[] out, int offset, int digit) {
+            for (int j = 0; j < count; j++) {
+                out[offset + digit + j] = (byte) (nibbles >>> (28 - 4 * j) & 0xF);
+            }
+        }
+    },
+
+    /** Uppercase hex ASCII; digit i at out[offset + i]. */
+    HEX {
+        @Override
+        void put(int nibbles, int count, byte[] out, int offset, int digit) {
+            long ascii = hexAscii(nibbles);
+            if (count == BLOCK) {
+                LONG_BE.set(out, offset + digit, ascii);
+                return;
+            }
+            for (int j = 0; j < count; j++) {
+                out[offset + digit + j] = (byte) (ascii >>> (56 - 8 * j));
+            }
+        }
+    },
+
+    /**
+     * Two digits per byte, high nibble first; digit i in byte
+     * out[offset + i / 2]. An odd count leaves the last low nibble 0.
+     */
+    PACKED {
+        @Override
+        void put(int nibbles, int count, byte[] out, int offset, int digit) {
+            int index = offset + digit / 2;
+            if (count == BLOCK) {
+                INT_BE.set(out, index, nibbles);
+                return;
+            }
+            int packed = nibbles & (-1 << (32 - 4 * count));
+            for (int j = 0; j < (count + 1) / 2; j++) {
+                out[index + j] = (byte) (packed >>> (24 - 8 * j));
+            }
+        }
+    };
+
+    static final int BLOCK = PiDigits.DIGITS_PER_SUM;
+
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Writes the first count (1..8) digits of a block that starts at digit
+     * of the range.
+     */
+    abstract void put(int nibbles, int count, byte[] out, int offset, int digit);
+
+    /**
+     * Bytes a range of count digits takes in this encoding.
+     */
+    int length(int count) {
+        return this == PACKED ? (count + 1) / 2 : count;
+    }
+
+    /**
+     * The 8 digits of a block from its fractional sum, first digit in the
+     * high nibble.
+     */
+    static int nibbles(double sum) {
+        int nibbles = 0;
+        for (int i = 0; i < BLOCK; i++) {
+            sum = 16 * (sum - Math.floor(sum));
+            nibbles = nibbles << 4 | (int) sum;
+        }
+        return nibbles;
+    }
+
+    /**
+     * The 8 nibbles of a block from its hex ASCII at out[offset], the
+     * inverse of {@link #HEX}. Upper- and lowercase letters are accepted.
+     */
+    static int parseHex(byte[] ascii, int offset) {
+        long v = (long) LONG_BE.get(ascii, offset);
+        // '0'..'9' carry the digit in the low nibble; letters have bit 6 set and need 9 more.
+        long letters = v >>> 6 & 0x0101010101010101L;
+        v = (v & 0x0F0F0F0F0F0F0F0FL) + letters * 9;
+        // Gather the nibbles, keeping their order.
+        v = (v | v >>> 4) & 0x00FF00FF00FF00FFL;
+        v = (v | v >>> 8) & 0x0000FFFF0000FFFFL;
+        return (int) (v | v >>> 16);
+    }
+
+    /**
+     * The uppercase hex ASCII of 8 nibbles, first nibble in the high byte.
+     */
+    static long hexAscii(int nibbles) {
+        // Spread the nibbles to one per byte, keeping their order.
+        long v = nibbles & 0xFFFFFFFFL;
+        v = (v | v << 16) & 0x0000FFFF0000FFFFL;
+        v = (v | v << 8) & 0x00FF00FF00FF00FFL;
+        v = (v | v << 4) & 0x0F0F0F0F0F0F0F0FL;
+        // '0' + d, plus 7 more ('A' - '9' - 1) for every byte with d >= 10.
+        long letters = (v + 0x0606060606060606L) >>> 4 & 0x0101010101010101L;
+        return v + 0x3030303030303030L + letters * 7;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * A range of hex digits: count digits from position start.
+ */
+public record DigitRange(long start, int count) {
+
+    public long end() {
+        return start + count;
+    }
+}
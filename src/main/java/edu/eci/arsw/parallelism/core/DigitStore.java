@@ -0,0 +1,261 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only store of precomputed digits, memory-mapped from a file written
+ * by {@link DigitStoreGenerator} ({@code pi.store.path}; empty disables it).
+ *
+ * File layout, big-endian:
+ * <pre>
+ *   0  int   magic "PIHX"
+ *   4  int   format version
+ *   8  long  first digit
+ *  16  long  digit count
+ *  24  int   digits per chunk
+ *  28  int   chunk count
+ *  32  long  data offset
+ *  64  int[] CRC32C of every chunk's bytes
+ *  data offset (page aligned): digits, two per byte, high nibble first
+ * </pre>
+ * Chunks are checked against their CRC the first time they are read; a
+ * range touching a corrupt chunk is not served, so it is computed instead.
+ */
+@Component
+public class DigitStore {
+
+    static final int MAGIC = 0x50494858;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int DATA_ALIGNMENT = 4096;
+
+    /** Digits covered by one checksum: one 4 KiB page of packed digits. */
+    static final int CHUNK_DIGITS = 8192;
+
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+
+    private static final byte UNCHECKED = 0;
+    private static final byte VALID = 1;
+    private static final byte CORRUPT = 2;
+
+    private final Path path;
+    private final long first;
+    private final long count;
+    private final int chunkDigits;
+    private final int[] checksums;
+    private final MappedByteBuffer[] regions;
+    // Racy but idempotent: a chunk may be verified twice, never reported wrongly.
+    private final byte[] chunkState;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder corrupt = new LongAdder();
+
+    @Autowired
+    public DigitStore(@Value("${pi.store.path:}") String path) {
+        this(path == null || path.isBlank() ? null : Path.of(path));
+    }
+
+    public DigitStore(Path path) {
+        this.path = path;
+        if (path == null) {
+            first = 0;
+            count = 0;
+            chunkDigits = CHUNK_DIGITS;
+            checksums = new int[0];
+            regions = new MappedByteBuffer[0];
+            chunkState = new byte[0];
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a digit store: " + path);
+            }
+            if (header.getInt() != VERSION) {
+                throw new IllegalStateException("Unsupported digit store version: " + path);
+            }
+            first = header.getLong();
+            count = header.getLong();
+            chunkDigits = header.getInt();
+            int chunks = header.getInt();
+            long dataOffset = header.getLong();
+            if (Integer.bitCount(chunkDigits) != 1 || chunkDigits < 2) {
+                throw new IllegalStateException("Invalid chunk size in digit store: " + path);
+            }
+            if (count < 0 || chunks != (count + chunkDigits - 1) / chunkDigits
+                    || chunks > (Integer.MAX_VALUE - HEADER_BYTES) / Integer.BYTES) {
+                throw new IOException("Header of " + count + " digits does not match its " + chunks + " chunks");
+            }
+            if (dataOffset < HEADER_BYTES + (long) chunks * Integer.BYTES) {
+                throw new IOException("Digits at " + dataOffset + " overlap the checksum table");
+            }
+            long dataBytes = (count + 1) / 2;
+            if (channel.size() < dataOffset + dataBytes) {
+                throw new IllegalStateException("Truncated digit store: " + path);
+            }
+
+            ByteBuffer table = ByteBuffer.allocate(chunks * Integer.BYTES);
+            readFully(channel, table, HEADER_BYTES);
+            table.flip();
+            checksums = new int[chunks];
+            table.asIntBuffer().get(checksums);
+            chunkState = new byte[chunks];
+
+            regions = new MappedByteBuffer[(int) ((dataBytes + REGION_MASK) >>> REGION_SHIFT)];
+            for (int r = 0; r < regions.length; r++) {
+                long offset = (long) r << REGION_SHIFT;
+                regions[r] = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + offset,
+                        Math.min(1L << REGION_SHIFT, dataBytes - offset));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open digit store " + path, e);
+        }
+    }
+
+    /**
+     * Reads until the buffer is full; FileChannel.read may return fewer bytes.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Digit store ends at " + position);
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * A store that covers nothing.
+     */
+    public static DigitStore empty() {
+        return new DigitStore((Path) null);
+    }
+
+    /**
+     * Whether [start, start + count) lies inside the stored range.
+     */
+    public boolean covers(long start, int count) {
+        return count > 0 && start >= first && start + count <= first + this.count;
+    }
+
+    /**
+     * Returns the hex digits of a covered range straight from the mapping,
+     * or null when the range is not covered or touches a corrupt chunk.
+     */
+    public String digits(long start, int count) {
+        byte[] hex = new byte[Math.max(0, count)];
+        return hex(start, count, hex, 0) ? new String(hex, StandardCharsets.ISO_8859_1) : null;
+    }
+
+    /**
+     * Writes the hex digits of a covered range into out at offset. Returns
+     * false when the range is not covered or touches a corrupt chunk.
+     */
+    public boolean hex(long start, int count, byte[] out, int offset) {
+        if (!readable(start, count)) {
+            return false;
+        }
+        long from = start - first;
+
+        for (int i = 0; i < count; i++) {
+            long digit = from + i;
+            byte packed = byteAt(digit >>> 1);
+            out[offset + i] = PiDigits.HEX_ASCII[(digit & 1) == 0 ? (packed >>> 4) & 0xF : packed & 0xF];
+        }
+        served.increment();
+        return true;
+    }
+
+    /**
+     * Writes the digits of a covered range nibble-packed into out at offset
+     * (see {@link PackedDigits}), copying whole bytes from the mapping when
+     * the range starts on a byte boundary. Returns false when the range is
+     * not covered or touches a corrupt chunk.
+     */
+    public boolean packed(long start, int count, byte[] out, int offset) {
+        if (!readable(start, count)) {
+            return false;
+        }
+        long digit = start - first;
+        int bytes = PackedDigits.payloadBytes(count);
+        if ((digit & 1) == 0) {
+            long index = digit >>> 1;
+            for (int copied = 0; copied < bytes; ) {
+                int position = (int) ((index + copied) & REGION_MASK);
+                MappedByteBuffer region = regions[(int) ((index + copied) >>> REGION_SHIFT)];
+                int length = Math.min(bytes - copied, region.limit() - position);
+                region.get(position, out, offset + copied, length);
+                copied += length;
+            }
+        } else {
+            for (int j = 0; j < bytes; j++) {
+                long index = (digit >>> 1) + j;
+                int high = byteAt(index) & 0x0F;
+                int low = 2 * j + 1 < count ? (byteAt(index + 1) >>> 4) & 0x0F : 0;
+                out[offset + j] = (byte) (high << 4 | low);
+            }
+        }
+        PackedDigits.clearTrailingNibble(count, out, offset);
+        served.increment();
+        return true;
+    }
+
+    /**
+     * Whether a range is covered and all of its chunks pass their checksum.
+     */
+    private boolean readable(long start, int count) {
+        if (!covers(start, count)) {
+            return false;
+        }
+        long offset = start - first;
+        for (long chunk = offset / chunkDigits; chunk <= (offset + count - 1) / chunkDigits; chunk++) {
+            if (!verify((int) chunk)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte byteAt(long index) {
+        return regions[(int) (index >>> REGION_SHIFT)].get((int) (index & REGION_MASK));
+    }
+
+    private boolean verify(int chunk) {
+        if (chunkState[chunk] == UNCHECKED) {
+            long from = (long) chunk * chunkDigits / 2;
+            long to = Math.min((count + 1) / 2, from + chunkDigits / 2);
+            ByteBuffer bytes = regions[(int) (from >>> REGION_SHIFT)]
+                    .slice((int) (from & REGION_MASK), (int) (to - from));
+            CRC32C crc = new CRC32C();
+            crc.update(bytes);
+            boolean valid = (int) crc.getValue() == checksums[chunk];
+            if (!valid) {
+                corrupt.increment();
+            }
+            chunkState[chunk] = valid ? VALID : CORRUPT;
+        }
+        return chunkState[chunk] == VALID;
+    }
+
+    public StoreStats stats() {
+        return new StoreStats(path == null ? null : path.toString(), first, count, served.sum(), corrupt.sum());
+    }
+}
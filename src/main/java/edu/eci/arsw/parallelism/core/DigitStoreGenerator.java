@@ -0,0 +1,125 @@
+package edu.eci.arsw.parallelism.core;
+
+import edu.eci.arsw.parallelism.concurrency.ForkJoinStrategy;
+import edu.eci.arsw.parallelism.concurrency.ParallelStrategy;
+import edu.eci.arsw.parallelism.concurrency.ThreadJoinStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Offline generator of a {@link DigitStore} file.
+ *
+ * Computes the range chunk by chunk with a parallel strategy and writes
+ * every chunk and its checksum at their offsets through a
+ * {@link FileChannel}. The header goes last, so an interrupted run leaves
+ * a file the store refuses to open.
+ *
+ * Usage: {@code DigitStoreGenerator <file> <start> <count> [threads|forkjoin] [threads]}
+ */
+public final class DigitStoreGenerator {
+
+    private DigitStoreGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: DigitStoreGenerator <file> <start> <count> [threads|forkjoin] [threads]");
+            System.exit(2);
+        }
+        Path path = Path.of(args[0]);
+        long start = Long.parseLong(args[1]);
+        long count = Long.parseLong(args[2]);
+        String strategyName = args.length > 3 ? args[3] : "forkjoin";
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        ParallelStrategy strategy = switch (strategyName) {
+            case "threads" -> new ThreadJoinStrategy();
+            case "forkjoin" -> new ForkJoinStrategy(threads);
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        };
+
+        long t0 = System.nanoTime();
+        try {
+            generate(path, start, count, strategy, threads, new BbpAlgorithm());
+        } finally {
+            if (strategy instanceof ForkJoinStrategy forkJoin) {
+                forkJoin.shutdown();
+            }
+        }
+        System.out.printf("%d digits from %d written to %s in %.1f s%n",
+                count, start, path, (System.nanoTime() - t0) / 1e9);
+    }
+
+    /**
+     * Writes the digits [start, start + count) of an algorithm to a store
+     * file, replacing it.
+     */
+    public static void generate(Path path, long start, long count, ParallelStrategy strategy, int threads,
+                                DigitAlgorithm algorithm) throws IOException {
+        if (start < 0 || count <= 0) {
+            throw new IllegalArgumentException("start must be >= 0 and count > 0");
+        }
+        int chunkDigits = DigitStore.CHUNK_DIGITS;
+        long chunks = (count + chunkDigits - 1) / chunkDigits;
+        if (chunks > (Integer.MAX_VALUE - DigitStore.HEADER_BYTES) / Integer.BYTES) {
+            throw new IllegalArgumentException("count is too large for one store");
+        }
+        long tableEnd = DigitStore.HEADER_BYTES + chunks * Integer.BYTES;
+        long dataOffset = (tableEnd + DigitStore.DATA_ALIGNMENT - 1)
+                / DigitStore.DATA_ALIGNMENT * DigitStore.DATA_ALIGNMENT;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer packed = ByteBuffer.allocateDirect(chunkDigits / 2);
+            ByteBuffer checksum = ByteBuffer.allocate(Integer.BYTES);
+            CRC32C crc = new CRC32C();
+
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long offset = chunk * chunkDigits;
+                int size = (int) Math.min(chunkDigits, count - offset);
+                String hex = strategy.calculate(start + offset, size, threads, algorithm);
+
+                packed.clear();
+                for (int i = 0; i < size; i += 2) {
+                    int high = Character.digit(hex.charAt(i), 16);
+                    int low = i + 1 < size ? Character.digit(hex.charAt(i + 1), 16) : 0;
+                    packed.put((byte) (high << 4 | low));
+                }
+                packed.flip();
+
+                crc.reset();
+                crc.update(packed.duplicate());
+                checksum.clear();
+                checksum.putInt((int) crc.getValue()).flip();
+
+                writeFully(channel, packed, dataOffset + offset / 2);
+                writeFully(channel, checksum, DigitStore.HEADER_BYTES + chunk * Integer.BYTES);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(DigitStore.HEADER_BYTES);
+            header.putInt(DigitStore.MAGIC)
+                    .putInt(DigitStore.VERSION)
+                    .putLong(start)
+                    .putLong(count)
+                    .putInt(chunkDigits)
+                    .putInt((int) chunks)
+                    .putLong(dataOffset)
+                    .position(DigitStore.HEADER_BYTES)
+                    .flip();
+            channel.force(false);
+            writeFully(channel, header, 0);
+            channel.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Delivers a range in order as fixed-size chunks, for ranges too long to
+ * hold as one string.
+ *
+ * The range is cut into block-aligned chunks of {@code pi.stream.chunk-digits}
+ * (default 65536). Up to {@code pi.stream.window} chunks (default 4) are
+ * computed at once, each as a request of its own through
+ * {@link PiDigitsService}, so the store, the cache, coalescing and the
+ * compute budget all apply. Chunks may finish in any order; they are handed
+ * to the sink in order, and the next chunk starts only when the oldest one
+ * has been written. At most window chunks are held, whatever the count, and
+ * a sink that blocks on a slow client holds the computation back.
+ */
+@Component
+public class DigitStreamer {
+
+    /**
+     * Receives the digits of consecutive chunks, first to last.
+     */
+    @FunctionalInterface
+    public interface ChunkSink {
+        void accept(long start, String digits) throws IOException;
+    }
+
+    private final PiDigitsService service;
+    private final int chunkDigits;
+    private final int window;
+
+    public DigitStreamer(PiDigitsService service,
+                         @Value("${pi.stream.chunk-digits:65536}") int chunkDigits,
+                         @Value("${pi.stream.window:4}") int window) {
+        this.service = service;
+        int blocks = Math.max(1, chunkDigits / PiDigits.DIGITS_PER_SUM);
+        this.chunkDigits = blocks * PiDigits.DIGITS_PER_SUM;
+        this.window = Math.max(1, window);
+    }
+
+    public int chunkDigits() {
+        return chunkDigits;
+    }
+
+    public int window() {
+        return window;
+    }
+
+    /**
+     * Checks the parameters of a stream by planning its first chunk, so an
+     * invalid request can be rejected before any output is committed.
+     * Returns that plan.
+     */
+    public QueryPlan validate(long start, int count, Integer threads, String strategy, String algorithm) {
+        return service.explain(start, Math.min(count, chunkDigits), threads, strategy, algorithm);
+    }
+
+    /**
+     * Computes [start, start + count) and passes it to the sink chunk by
+     * chunk. Returns when the last chunk has been written; a failure, a
+     * cancelled token or a failing sink stops every chunk still running.
+     */
+    public void stream(long start, int count, Integer threads, String strategy, String algorithm,
+                       CancellationToken token, ChunkSink sink) throws IOException {
+        int chunks = (int) ((count + (long) chunkDigits - 1) / chunkDigits);
+        Deque<Future<String>> pending = new ArrayDeque<>(window);
+        boolean finished = false;
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                int next = 0;
+                for (int written = 0; written < chunks; written++) {
+                    while (next < chunks && pending.size() < window) {
+                        long chunkStart = start + (long) next * chunkDigits;
+                        int size = Math.min(chunkDigits, count - next * chunkDigits);
+                        pending.add(workers.submit(() ->
+                                service.calculate(chunkStart, size, threads, strategy, algorithm, token)));
+                        next++;
+                    }
+                    sink.accept(start + (long) written * chunkDigits, await(pending.poll(), token));
+                }
+                finished = true;
+            } finally {
+                if (!finished) {
+                    // Running chunks poll the token; queued ones see it at admission.
+                    token.cancel("stream closed");
+                    pending.forEach(f -> f.cancel(true));
+                }
+            }
+        }
+    }
+
+    private static String await(Future<String> chunk, CancellationToken token) {
+        try {
+            return chunk.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new RuntimeException("Chunk failed", e.getCause());
+        } catch (InterruptedException e) {
+            token.cancel("interrupted");
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread interrupted", e);
+        }
+    }
+}
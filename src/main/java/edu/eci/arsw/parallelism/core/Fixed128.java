@@ -0,0 +1,90 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Unsigned 128-bit binary fraction in [0, 1), stored as two longs.
+ *
+ * Additions wrap modulo 2^128, which is exactly "keep the fractional part",
+ * so series terms can be accumulated without ever taking a floor.
+ */
+final class Fixed128 {
+
+    private long hi;
+    private long lo;
+
+    private long quotientHi;
+    private long quotientLo;
+
+    long hi() {
+        return hi;
+    }
+
+    long lo() {
+        return lo;
+    }
+
+    /**
+     * Adds (or subtracts) frac(r / m) / 2^shift, truncated to 128 bits.
+     *
+     * @param r     numerator, 0 <= r < m.
+     * @param m     modulus, 1 <= m < 2^62.
+     * @param shift right shift applied to the fraction, 0 <= shift < 128.
+     */
+    void addQuotient(long r, long m, int shift, boolean negative) {
+        quotient(r, m);
+        if (shift > 0) {
+            shiftQuotient(shift);
+        }
+        if (negative) {
+            long d = lo - quotientLo;
+            hi -= quotientHi + (Long.compareUnsigned(lo, quotientLo) < 0 ? 1 : 0);
+            lo = d;
+        } else {
+            long s = lo + quotientLo;
+            hi += quotientHi + (Long.compareUnsigned(s, lo) < 0 ? 1 : 0);
+            lo = s;
+        }
+    }
+
+    /**
+     * Removes and returns the leading hexadecimal digit of the fraction.
+     */
+    int nextDigit() {
+        int digit = (int) (hi >>> 60);
+        hi = (hi << 4) | (lo >>> 60);
+        lo <<= 4;
+        return digit;
+    }
+
+    /**
+     * quotient = floor(r * 2^128 / m), by long division in chunks small
+     * enough that the shifted remainder stays below 2^63.
+     */
+    private void quotient(long r, long m) {
+        int chunk = Long.numberOfLeadingZeros(m) - 1;
+        long h = 0;
+        long l = 0;
+
+        for (int remaining = 128; remaining > 0; ) {
+            int c = Math.min(chunk, remaining);
+            r <<= c;
+            long digit = r / m;
+            r -= digit * m;
+            h = (h << c) | (l >>> (64 - c));
+            l = (l << c) | digit;
+            remaining -= c;
+        }
+
+        quotientHi = h;
+        quotientLo = l;
+    }
+
+    private void shiftQuotient(int shift) {
+        if (shift >= 64) {
+            quotientLo = quotientHi >>> (shift - 64);
+            quotientHi = 0;
+        } else {
+            quotientLo = (quotientLo >>> shift) | (quotientHi << (64 - shift));
+            quotientHi >>>= shift;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * BBP with the fraction accumulated in 128-bit fixed point ({@link Fixed128})
+ * instead of a double.
+ *
+ * Every term is truncated by at most 2^-128, so after the ~4n terms of one
+ * evaluation far more than the 8 digits of the double path are exact: up to
+ * {@link #MAX_DIGITS_PER_SUM} digits are emitted per evaluation, which cuts
+ * the number of series evaluations for a range about 3x.
+ */
+@Component
+public class FixedPointBbpAlgorithm implements DigitAlgorithm {
+
+    static final int MAX_DIGITS_PER_SUM = 24;
+
+    /** Bits kept in reserve beyond the accumulated truncation error. */
+    private static final int GUARD_BITS = 8;
+
+    /** Tail terms 16^-j/m vanish from a 128-bit fraction after 32 steps. */
+    private static final int TAIL_TERMS = 32;
+
+    @Override
+    public byte[] getDigits(long start, int count) {
+        return getDigits(start, count, CancellationToken.none());
+    }
+
+    /**
+     * Evaluations emit up to {@link #MAX_DIGITS_PER_SUM} digits, not a
+     * block of 8, so this checks the token before every evaluation in its
+     * own loop.
+     */
+    @Override
+    public byte[] getDigits(long start, int count, CancellationToken token) {
+        if (start < 0 || count < 0) {
+            throw new IllegalArgumentException("Invalid interval: start and count must be non-negative");
+        }
+        if (start > PiDigits.MAX_START) {
+            throw new IllegalArgumentException("Invalid interval: start must be <= " + PiDigits.MAX_START);
+        }
+
+        byte[] digits = new byte[count];
+        int i = 0;
+
+        while (i < count) {
+            token.throwIfCancelled();
+            long n = start + i;
+            Fixed128 fraction = series(n);
+            int end = Math.min(count, i + digitsPerSum(n));
+            while (i < end) {
+                digits[i++] = (byte) fraction.nextDigit();
+            }
+        }
+
+        return digits;
+    }
+
+    @Override
+    public String name() {
+        return "bbp128";
+    }
+
+    /**
+     * Number of series evaluations needed for count digits from start.
+     */
+    static long evaluations(long start, int count) {
+        return (count + digitsPerSum(start + count) - 1) / digitsPerSum(start + count);
+    }
+
+    /**
+     * Number of digits that one evaluation at position n can safely emit.
+     */
+    static int digitsPerSum(long n) {
+        int errorBits = 64 - Long.numberOfLeadingZeros(4 * n + 4 * TAIL_TERMS);
+        return Math.min(MAX_DIGITS_PER_SUM, (128 - errorBits - GUARD_BITS) / 4);
+    }
+
+    /**
+     * Returns frac(16^n * Pi) = frac(4*S1 - 2*S4 - S5 - S6) in fixed point.
+     */
+    static Fixed128 series(long n) {
+        return series(n, Math.min(n, PiDigits.SMALL_TERMS));
+    }
+
+    /**
+     * Same as {@link #series(long)}, switching from the small-modulus kernel
+     * to the generic one at term {@code smallEnd}.
+     */
+    static Fixed128 series(long n, long smallEnd) {
+        Fixed128 acc = new Fixed128();
+        long[] residues = new long[4];
+
+        // Same odd-part residues as PiDigits.series.
+        for (long k = 0; k < smallEnd; k++) {
+            PiDigits.oddResidues(k, n - k - 1, residues);
+            long d = 8 * k;
+            // 4 * 16^(n-k) mod (8k+1), 2 * 16^(n-k) mod (8k+4), ...
+            add(acc, (residues[0] << 2) % (d + 1), d + 1, false);
+            add(acc, residues[1] << 3, d + 4, true);
+            add(acc, residues[2], d + 5, true);
+            add(acc, residues[3] << 1, d + 6, true);
+        }
+
+        for (long k = smallEnd; k < n; k++) {
+            long e = 4 * (n - k);
+            long d = 8 * k;
+            add(acc, ModularArithmetic.powerOfTwoMod(e + 2, d + 1), d + 1, false);
+            add(acc, ModularArithmetic.powerOfTwoMod(e + 1, d + 4), d + 4, true);
+            add(acc, ModularArithmetic.powerOfTwoMod(e, d + 5), d + 5, true);
+            add(acc, ModularArithmetic.powerOfTwoMod(e, d + 6), d + 6, true);
+        }
+
+        long d = 8 * n;
+        for (int j = 0; j < TAIL_TERMS; j++) {
+            acc.addQuotient(4 % (d + 1), d + 1, 4 * j, false);
+            acc.addQuotient(2 % (d + 4), d + 4, 4 * j, true);
+            acc.addQuotient(1 % (d + 5), d + 5, 4 * j, true);
+            acc.addQuotient(1 % (d + 6), d + 6, 4 * j, true);
+            d += 8;
+        }
+
+        return acc;
+    }
+
+    /**
+     * Adds frac(r / m) for a residue r that may exceed m by a small factor.
+     */
+    private static void add(Fixed128 acc, long r, long m, boolean negative) {
+        acc.addQuotient(r % m, m, 0, negative);
+    }
+}
@@ -0,0 +1,74 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Pages as byte arrays on the heap; released arrays are reused.
+ */
+final class HeapPageStore implements PageStore {
+
+    private static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final int pageBytes;
+    private final List<byte[]> pages = new ArrayList<>();
+    private final Deque<Integer> free = new ArrayDeque<>();
+
+    HeapPageStore(int pageBytes) {
+        this.pageBytes = pageBytes;
+    }
+
+    @Override
+    public int allocate() {
+        if (!free.isEmpty()) {
+            return free.pop();
+        }
+        pages.add(new byte[pageBytes]);
+        return pages.size() - 1;
+    }
+
+    @Override
+    public void release(int slot) {
+        free.push(slot);
+    }
+
+    @Override
+    public byte get(int slot, int index) {
+        return pages.get(slot)[index];
+    }
+
+    @Override
+    public void set(int slot, int index, byte value) {
+        pages.get(slot)[index] = value;
+    }
+
+    @Override
+    public int getInt(int slot, int index) {
+        return (int) INT_BE.get(pages.get(slot), index);
+    }
+
+    @Override
+    public void setInt(int slot, int index, int value) {
+        INT_BE.set(pages.get(slot), index, value);
+    }
+
+    @Override
+    public void read(int slot, int index, byte[] out, int offset, int length) {
+        System.arraycopy(pages.get(slot), index, out, offset, length);
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return false;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return 0;
+    }
+}
@@ -0,0 +1,197 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * BBP over a contiguous range that carries modular powers from block to
+ * block instead of recomputing them.
+ *
+ * Block b starts at n_b = start + 8b and needs 16^(n_b-k) mod (8k+m). That
+ * is block b-1's residue times 16^8 mod (8k+m), so every term k gets one
+ * full exponentiation (for the first block that contains it) and then one
+ * multiplication per following block. Terms are still added to each block
+ * in increasing k, so the digits are bit-identical to
+ * {@link PiDigits#getDigits(long, int)}.
+ *
+ * The term loops are the long-running part, so a {@link CancellationToken}
+ * is polled every {@link #CANCEL_CHECK_TERMS} terms.
+ */
+final class IncrementalBbp {
+
+    private static final int DIGITS_PER_SUM = 8;
+
+    /** 16^DIGITS_PER_SUM = 2^32. */
+    private static final int BLOCK_SHIFT = 4 * DIGITS_PER_SUM;
+
+    /** Terms between two polls of the cancellation token; a power of two. */
+    static final int CANCEL_CHECK_TERMS = 1 << 12;
+
+    private IncrementalBbp() {
+    }
+
+    static byte[] getDigits(long start, int count) {
+        return getDigits(start, count, CancellationToken.none());
+    }
+
+    static byte[] getDigits(long start, int count, CancellationToken token) {
+        validate(start, count);
+        byte[] digits = new byte[count];
+        compute(start, count, PiDigits.SMALL_TERMS, token, DigitEncoding.VALUES, digits, 0);
+        return digits;
+    }
+
+    /**
+     * Writes the digits of a range as uppercase hex ASCII into out at
+     * offset, without an intermediate array.
+     */
+    static void writeHex(long start, int count, CancellationToken token, byte[] out, int offset) {
+        validate(start, count);
+        compute(start, count, PiDigits.SMALL_TERMS, token, DigitEncoding.HEX, out, offset);
+    }
+
+    private static void validate(long start, int count) {
+        if (start < 0 || count < 0) {
+            throw new IllegalArgumentException("Invalid interval: start and count must be non-negative");
+        }
+        if (start > PiDigits.MAX_START) {
+            throw new IllegalArgumentException("Invalid interval: start must be <= " + PiDigits.MAX_START);
+        }
+    }
+
+    /**
+     * Same as {@link #getDigits(long, int)}, switching from the small-modulus
+     * kernel to Montgomery arithmetic at term {@code smallTerms}.
+     */
+    static byte[] getDigits(long start, int count, long smallTerms) {
+        byte[] digits = new byte[count];
+        compute(start, count, smallTerms, CancellationToken.none(), DigitEncoding.VALUES, digits, 0);
+        return digits;
+    }
+
+    /**
+     * Computes a range and writes its digits into out at offset in the
+     * given encoding.
+     */
+    private static void compute(long start, int count, long smallTerms, CancellationToken token,
+                                DigitEncoding encoding, byte[] out, int offset) {
+        token.throwIfCancelled();
+        int blocks = (count + DIGITS_PER_SUM - 1) / DIGITS_PER_SUM;
+        double[] s1 = new double[blocks];
+        double[] s4 = new double[blocks];
+        double[] s5 = new double[blocks];
+        double[] s6 = new double[blocks];
+
+        long end = start + (long) DIGITS_PER_SUM * (blocks - 1);
+        long smallEnd = Math.min(end, smallTerms);
+        accumulateSmall(start, 0, smallEnd, s1, s4, s5, s6, token);
+        accumulateMontgomery(start, smallEnd, end, s1, s4, s5, s6, token);
+
+        for (int b = 0; b < blocks; b++) {
+            long n = start + (long) DIGITS_PER_SUM * b;
+            double sum = PiDigits.finishSeries(n, s1[b], s4[b], s5[b], s6[b]);
+            int digit = b * DIGITS_PER_SUM;
+            encoding.put(DigitEncoding.nibbles(sum), Math.min(DIGITS_PER_SUM, count - digit), out, offset, digit);
+        }
+    }
+
+    /**
+     * Index of the first block whose start n_b is beyond term k.
+     */
+    private static int firstBlock(long start, long k) {
+        return k < start ? 0 : (int) ((k - start) / DIGITS_PER_SUM + 1);
+    }
+
+    private static void accumulateSmall(long start, long from, long to,
+                                        double[] s1, double[] s4, double[] s5, double[] s6,
+                                        CancellationToken token) {
+        int blocks = s1.length;
+        long[] residues = new long[4];
+
+        for (long k = from; k < to; k++) {
+            if ((k & (CANCEL_CHECK_TERMS - 1)) == 0) {
+                token.throwIfCancelled();
+            }
+            int b0 = firstBlock(start, k);
+            // Odd-part residues of 16^(n_b0 - k), as in PiDigits.series.
+            PiDigits.oddResidues(k, start + (long) DIGITS_PER_SUM * b0 - k - 1, residues);
+            long y1 = residues[0];
+            long y4 = residues[1];
+            long y5 = residues[2];
+            long y6 = residues[3];
+            long o1 = 8 * k + 1;
+            long o4 = 2 * k + 1;
+            long o5 = 8 * k + 5;
+            long o6 = 4 * k + 3;
+            double r1 = 1.0 / o1;
+            double r4 = 1.0 / o4;
+            double r5 = 1.0 / o5;
+            double r6 = 1.0 / o6;
+            long f1 = (1L << BLOCK_SHIFT) % o1;
+            long f4 = (1L << BLOCK_SHIFT) % o4;
+            long f5 = (1L << BLOCK_SHIFT) % o5;
+            long f6 = (1L << BLOCK_SHIFT) % o6;
+
+            long d = 8 * k;
+            for (int b = b0; b < blocks; b++) {
+                s1[b] += (double) y1 / (d + 1);
+                s4[b] += (double) (y4 << 2) / (d + 4);
+                s5[b] += (double) y5 / (d + 5);
+                s6[b] += (double) (y6 << 1) / (d + 6);
+                y1 = ModularArithmetic.multiplySmall(y1, f1, o1, r1);
+                y4 = ModularArithmetic.multiplySmall(y4, f4, o4, r4);
+                y5 = ModularArithmetic.multiplySmall(y5, f5, o5, r5);
+                y6 = ModularArithmetic.multiplySmall(y6, f6, o6, r6);
+            }
+        }
+    }
+
+    private static void accumulateMontgomery(long start, long from, long to,
+                                             double[] s1, double[] s4, double[] s5, double[] s6,
+                                             CancellationToken token) {
+        int blocks = s1.length;
+
+        for (long k = from; k < to; k++) {
+            if ((k & (CANCEL_CHECK_TERMS - 1)) == 0) {
+                token.throwIfCancelled();
+            }
+            int b0 = firstBlock(start, k);
+            long d = 8 * k;
+            long e = 4 * (start + (long) DIGITS_PER_SUM * b0 - k);
+            long o1 = d + 1;
+            long o4 = 2 * k + 1;
+            long o5 = d + 5;
+            long o6 = 4 * k + 3;
+            long i1 = ModularArithmetic.inverse(o1);
+            long i4 = ModularArithmetic.inverse(o4);
+            long i5 = ModularArithmetic.inverse(o5);
+            long i6 = ModularArithmetic.inverse(o6);
+            long y1 = ModularArithmetic.powerOfTwoModOdd(e, o1);
+            long y4 = ModularArithmetic.powerOfTwoModOdd(e - 2, o4);
+            long y5 = ModularArithmetic.powerOfTwoModOdd(e, o5);
+            long y6 = ModularArithmetic.powerOfTwoModOdd(e - 1, o6);
+            // Montgomery form of 2^32: multiplying a normal-form residue by it
+            // yields the normal-form product.
+            long f1 = blockFactor(o1);
+            long f4 = blockFactor(o4);
+            long f5 = blockFactor(o5);
+            long f6 = blockFactor(o6);
+
+            for (int b = b0; b < blocks; b++) {
+                s1[b] += (double) y1 / (d + 1);
+                s4[b] += (double) (y4 << 2) / (d + 4);
+                s5[b] += (double) y5 / (d + 5);
+                s6[b] += (double) (y6 << 1) / (d + 6);
+                y1 = ModularArithmetic.multiply(y1, f1, o1, i1);
+                y4 = ModularArithmetic.multiply(y4, f4, o4, i4);
+                y5 = ModularArithmetic.multiply(y5, f5, o5, i5);
+                y6 = ModularArithmetic.multiply(y6, f6, o6, i6);
+            }
+        }
+    }
+
+    private static long blockFactor(long m) {
+        long x = ModularArithmetic.oneMontgomery(m);
+        for (int i = 0; i < BLOCK_SHIFT; i++) {
+            x = ModularArithmetic.twice(x, m);
+        }
+        return x;
+    }
+}
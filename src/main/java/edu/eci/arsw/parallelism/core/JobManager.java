@@ -0,0 +1,240 @@
+package edu.eci.arsw.parallelism.core;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs long ranges in the background, so no request thread or connection
+ * waits for them.
+ *
+ * Jobs run on {@code pi.jobs.workers} threads (default 2) and wait in a
+ * queue of at most {@code pi.jobs.queue} (default 16); beyond that a
+ * submission is rejected with a {@link ComputeSaturatedException}. Each job
+ * is computed through {@link DigitStreamer}, chunk by chunk, so the compute
+ * budget and the caches apply and its progress is known. Results up to
+ * {@code pi.jobs.spill-threshold-digits} (default 1 MiB) are kept in memory,
+ * longer ones are written to a file in {@code pi.jobs.spill-dir} (default
+ * the temp directory). Finished jobs are dropped, with their files,
+ * {@code pi.jobs.ttl-millis} (default 10 min) after they finish.
+ */
+@Component
+public class JobManager {
+
+    private final PiDigitsService service;
+    private final DigitStreamer streamer;
+    private final int workers;
+    private final long ttlMillis;
+    private final long ttlNanos;
+    private final int spillThreshold;
+    private final Path spillDir;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService sweeper;
+    private final Map<String, PiJob> jobs = new ConcurrentHashMap<>();
+
+    public JobManager(PiDigitsService service,
+                      DigitStreamer streamer,
+                      @Value("${pi.jobs.workers:2}") int workers,
+                      @Value("${pi.jobs.queue:16}") int queue,
+                      @Value("${pi.jobs.ttl-millis:600000}") long ttlMillis,
+                      @Value("${pi.jobs.spill-threshold-digits:1048576}") int spillThreshold,
+                      @Value("${pi.jobs.spill-dir:}") String spillDir) {
+        this.service = service;
+        this.streamer = streamer;
+        this.workers = Math.max(1, workers);
+        this.ttlMillis = Math.max(1, ttlMillis);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(this.ttlMillis);
+        this.spillThreshold = spillThreshold;
+        this.spillDir = Path.of(spillDir.isBlank() ? System.getProperty("java.io.tmpdir") : spillDir);
+        this.executor = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)), daemonFactory("pi-job-"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonFactory("pi-job-sweeper-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        long period = Math.max(1_000, Math.min(ttlMillis, 60_000));
+        sweeper.scheduleWithFixedDelay(this::purgeExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a range and returns its job. Invalid parameters are rejected
+     * here, before the job exists.
+     */
+    public PiJob submit(long start, int count, Integer threads, String strategy, String algorithm,
+                        long timeoutMillis) {
+        if (start < 0 || count < 1) {
+            throw new IllegalArgumentException("start must be >= 0 and count >= 1");
+        }
+        streamer.validate(start, count, threads, strategy, algorithm);
+
+        PiJob job = new PiJob(UUID.randomUUID().toString(), start, count, threads, strategy, algorithm,
+                CancellationToken.withTimeout(timeoutMillis));
+        jobs.put(job.id(), job);
+        try {
+            job.queued(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            throw new ComputeSaturatedException(retryAfterSeconds());
+        }
+        return job;
+    }
+
+    public Optional<PiJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Progress of a job, with the time left predicted by the cost model for
+     * the digits not computed yet.
+     */
+    public JobStatus status(PiJob job) {
+        PiJob.State state = job.state();
+        long done = job.digitsDone();
+        long eta = state.finished() ? 0 : Math.round(predictedMillis(job, done));
+        return new JobStatus(job.id(), state, job.start(), job.count(), done,
+                done / PiDigits.DIGITS_PER_SUM,
+                (job.count() + PiDigits.DIGITS_PER_SUM - 1) / PiDigits.DIGITS_PER_SUM,
+                eta, job.spilled(), job.error());
+    }
+
+    /**
+     * Cancels a job if it has not finished and drops it with its result.
+     * Returns false for an unknown id.
+     */
+    public boolean cancel(String id) {
+        PiJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        if (job.cancel("job cancelled")) {
+            // A queued job leaves the queue and frees its slot at once.
+            executor.purge();
+        }
+        job.discard();
+        return true;
+    }
+
+    /**
+     * Drops the jobs that finished more than the TTL ago. Returns how many.
+     */
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        int purged = 0;
+        for (PiJob job : jobs.values()) {
+            if (job.expired(now, ttlNanos) && jobs.remove(job.id(), job)) {
+                job.discard();
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        jobs.values().forEach(job -> job.cancel("shutting down"));
+        executor.shutdownNow();
+        jobs.values().forEach(PiJob::discard);
+        jobs.clear();
+    }
+
+    private void run(PiJob job) {
+        if (!job.begin()) {
+            return;
+        }
+        try {
+            if (job.count() > spillThreshold) {
+                spill(job);
+            } else {
+                byte[] digits = new byte[job.count()];
+                compute(job, (offset, ascii) -> System.arraycopy(ascii, 0, digits, offset, ascii.length));
+                job.complete(digits);
+            }
+        } catch (IOException | RuntimeException e) {
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            if (job.state() != PiJob.State.DONE) {
+                job.discard();
+            }
+        }
+    }
+
+    private void spill(PiJob job) throws IOException {
+        Path file = Files.createTempFile(spillDir, "pi-job-", ".hex");
+        job.spillTo(file);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            // Chunks arrive in order, so the file is written front to back.
+            compute(job, (offset, ascii) -> out.write(ascii));
+        }
+        job.complete(null);
+    }
+
+    /**
+     * Receives the hex ASCII of consecutive chunks at their offset in the
+     * range.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int offset, byte[] ascii) throws IOException;
+    }
+
+    private void compute(PiJob job, ChunkWriter writer) throws IOException {
+        streamer.stream(job.start(), job.count(), job.threads(), job.strategy(), job.algorithm(), job.token(),
+                (chunkStart, digits) -> {
+                    writer.write((int) (chunkStart - job.start()), digits.getBytes(StandardCharsets.ISO_8859_1));
+                    job.advance(digits.length());
+                });
+    }
+
+    private double predictedMillis(PiJob job, long done) {
+        if (done >= job.count()) {
+            return 0;
+        }
+        return service.explain(job.start() + done, (int) (job.count() - done),
+                job.threads(), job.strategy(), job.algorithm()).predictedMillis();
+    }
+
+    /**
+     * Time until the running and queued jobs are predicted to be done,
+     * shared by the workers.
+     */
+    private long retryAfterSeconds() {
+        double millis = 0;
+        for (PiJob job : jobs.values()) {
+            if (!job.state().finished()) {
+                millis += predictedMillis(job, job.digitsDone());
+            }
+        }
+        return Math.max(1, (long) Math.ceil(millis / workers / 1000));
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * State of a {@link PiJob} as reported to its client.
+ *
+ * @param id          job id
+ * @param state       QUEUED, RUNNING, DONE, FAILED or CANCELLED
+ * @param start       first digit of the range
+ * @param count       digits in the range
+ * @param digitsDone  digits computed and written so far
+ * @param blocksDone  whole 8-digit blocks computed so far
+ * @param totalBlocks blocks in the range
+ * @param etaMillis   predicted time left from the cost model; 0 once finished
+ * @param spilled     whether the result is held in a temporary file
+ * @param error       why the job failed or was cancelled, else null
+ */
+public record JobStatus(
+        String id,
+        PiJob.State state,
+        long start,
+        int count,
+        long digitsDone,
+        long blocksDone,
+        long totalBlocks,
+        long etaMillis,
+        boolean spilled,
+        String error
+) {}
@@ -0,0 +1,146 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * 64-bit modular exponentiation kernel used by the digit-extraction formulas.
+ *
+ * Powers are always powers of two (16^p = 2^(4p), 1024^p = 2^(10p)), so the
+ * kernel computes 2^e mod m. The odd part of the modulus is handled with
+ * Montgomery multiplication (R = 2^64) on top of {@link Math#multiplyHigh},
+ * which keeps every intermediate product exact without BigInteger or a
+ * hardware division per step. Small moduli take a plain long path instead.
+ * Moduli must be below {@link #MAX_MODULUS}.
+ */
+final class ModularArithmetic {
+
+    /**
+     * Largest supported modulus. Montgomery reduction needs 2m to fit in a
+     * signed long.
+     */
+    static final long MAX_MODULUS = 1L << 62;
+
+    /**
+     * Below this bound (m^2 < 2^63) plain long arithmetic is exact and a
+     * floating-point quotient estimate is cheaper than setting up Montgomery
+     * constants.
+     */
+    static final long SMALL_MODULUS = 3_037_000_499L;
+
+    private ModularArithmetic() {
+    }
+
+    /**
+     * Returns 2^e mod m for any 1 <= m < {@link #MAX_MODULUS}.
+     */
+    static long powerOfTwoMod(long e, long m) {
+        if (m == 1) {
+            return 0;
+        }
+        int shift = Long.numberOfTrailingZeros(m);
+        if (shift == 0) {
+            return powerOfTwoModOdd(e, m);
+        }
+        if (e < shift) {
+            return 1L << e;
+        }
+        // m = 2^s * o and 2^s divides 2^e, so 2^e mod m = 2^s * (2^(e-s) mod o).
+        return powerOfTwoModOdd(e - shift, m >>> shift) << shift;
+    }
+
+    /**
+     * Returns 2^e mod m for an odd modulus m.
+     */
+    static long powerOfTwoModOdd(long e, long m) {
+        if (m == 1) {
+            return 0;
+        }
+        if (e == 0) {
+            return 1;
+        }
+        if (m <= SMALL_MODULUS) {
+            return powerOfTwoModSmall(e, m);
+        }
+
+        long mInv = inverse(m);
+        // Montgomery form of 2 is 2R mod m; the leading bit of e is consumed here.
+        long x = twice(oneMontgomery(m), m);
+
+        for (int bit = 62 - Long.numberOfLeadingZeros(e); bit >= 0; bit--) {
+            x = multiply(x, x, m, mInv);
+            if (((e >>> bit) & 1) != 0) {
+                x = twice(x, m);
+            }
+        }
+
+        return reduce(0, x, m, mInv);
+    }
+
+    private static long powerOfTwoModSmall(long e, long m) {
+        double reciprocal = 1.0 / m;
+        long x = 2 % m;
+        for (int bit = 62 - Long.numberOfLeadingZeros(e); bit >= 0; bit--) {
+            x = multiplySmall(x, x, m, reciprocal);
+            if (((e >>> bit) & 1) != 0) {
+                x = twice(x, m);
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Returns a * b mod m for a * b < 2^63 and m <= {@link #SMALL_MODULUS},
+     * given reciprocal = 1.0 / m. The quotient estimate is off by at most one,
+     * and the remainder is computed exactly in wrapping long arithmetic.
+     */
+    static long multiplySmall(long a, long b, long m, double reciprocal) {
+        long product = a * b;
+        long r = product - (long) ((double) product * reciprocal) * m;
+        // Branch-free correction into [0, m): residues are effectively random.
+        r += (r >> 63) & m;
+        r -= m;
+        return r + ((r >> 63) & m);
+    }
+
+    /**
+     * Returns m^-1 mod 2^64 for an odd m (Newton iteration, 3 -> 96 bits).
+     */
+    static long inverse(long m) {
+        long x = m;
+        x *= 2 - m * x;
+        x *= 2 - m * x;
+        x *= 2 - m * x;
+        x *= 2 - m * x;
+        x *= 2 - m * x;
+        return x;
+    }
+
+    /**
+     * Returns R mod m (the Montgomery form of 1) for R = 2^64.
+     */
+    static long oneMontgomery(long m) {
+        return Long.remainderUnsigned(-m, m);
+    }
+
+    /**
+     * Montgomery product a * b * R^-1 mod m, for a, b in [0, m).
+     */
+    static long multiply(long a, long b, long m, long mInv) {
+        return reduce(Math.multiplyHigh(a, b), a * b, m, mInv);
+    }
+
+    /**
+     * Returns 2x mod m for x in [0, m).
+     */
+    static long twice(long x, long m) {
+        x <<= 1;
+        return x >= m ? x - m : x;
+    }
+
+    /**
+     * Montgomery reduction of the 128-bit value (hi, lo): returns (hi:lo) * R^-1 mod m.
+     */
+    static long reduce(long hi, long lo, long m, long mInv) {
+        long u = -lo * mInv;
+        long t = hi + Math.unsignedMultiplyHigh(u, m) + (lo != 0 ? 1 : 0);
+        return t >= m ? t - m : t;
+    }
+}
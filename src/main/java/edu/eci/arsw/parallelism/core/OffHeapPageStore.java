@@ -0,0 +1,88 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pages in direct {@link ByteBuffer} slabs outside the Java heap, so a
+ * large cache adds nothing for the garbage collector to trace or copy.
+ *
+ * Slabs of {@link #SLAB_BYTES} are allocated as the cache grows and never
+ * freed; released slots go to a free list of ints.
+ */
+final class OffHeapPageStore implements PageStore {
+
+    static final int SLAB_BYTES = 1 << 20;
+
+    private final int pageBytes;
+    private final int pagesPerSlab;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private int allocated;
+    private int[] free = new int[16];
+    private int freeCount;
+
+    OffHeapPageStore(int pageBytes) {
+        this.pageBytes = pageBytes;
+        this.pagesPerSlab = SLAB_BYTES / pageBytes;
+    }
+
+    @Override
+    public int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (allocated == slabs.size() * pagesPerSlab) {
+            slabs.add(ByteBuffer.allocateDirect(SLAB_BYTES));
+        }
+        return allocated++;
+    }
+
+    @Override
+    public void release(int slot) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = slot;
+    }
+
+    @Override
+    public byte get(int slot, int index) {
+        return slabs.get(slot / pagesPerSlab).get(offset(slot, index));
+    }
+
+    @Override
+    public void set(int slot, int index, byte value) {
+        slabs.get(slot / pagesPerSlab).put(offset(slot, index), value);
+    }
+
+    @Override
+    public int getInt(int slot, int index) {
+        return slabs.get(slot / pagesPerSlab).getInt(offset(slot, index));
+    }
+
+    @Override
+    public void setInt(int slot, int index, int value) {
+        slabs.get(slot / pagesPerSlab).putInt(offset(slot, index), value);
+    }
+
+    @Override
+    public void read(int slot, int index, byte[] out, int offset, int length) {
+        slabs.get(slot / pagesPerSlab).get(offset(slot, index), out, offset, length);
+    }
+
+    private int offset(int slot, int index) {
+        return slot % pagesPerSlab * pageBytes + index;
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return true;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return (long) slabs.size() * SLAB_BYTES;
+    }
+}
@@ -0,0 +1,132 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary form of a digit range: a short header followed by the digits
+ * nibble-packed, two per byte, high nibble first (an odd count leaves the
+ * last low nibble 0). Half the size of the hex text and free of JSON.
+ *
+ * Header, big-endian:
+ * <pre>
+ *   int   magic      "PIDG"
+ *   byte  version    1
+ *   long  start
+ *   int   count
+ *   byte  n          length of the algorithm name
+ *   n     bytes      algorithm name, ASCII
+ * </pre>
+ */
+public final class PackedDigits {
+
+    public static final String MEDIA_TYPE = "application/octet-stream";
+
+    static final int MAGIC = 0x50494447;
+    static final byte VERSION = 1;
+    private static final int FIXED_HEADER_BYTES = 18;
+
+    private PackedDigits() {
+    }
+
+    /**
+     * Bytes the header for an algorithm name takes.
+     */
+    public static int headerBytes(String algorithm) {
+        return FIXED_HEADER_BYTES + algorithm.length();
+    }
+
+    /**
+     * Bytes count packed digits take.
+     */
+    public static int payloadBytes(int count) {
+        return (count + 1) / 2;
+    }
+
+    /**
+     * The header of a range on its own, for a body written in parts.
+     */
+    public static byte[] header(long start, int count, String algorithm) {
+        byte[] out = new byte[headerBytes(algorithm)];
+        writeHeader(out, start, count, algorithm);
+        return out;
+    }
+
+    /**
+     * An array holding the header of a range followed by room for its packed
+     * digits at {@link #headerBytes}.
+     */
+    public static byte[] allocate(long start, int count, String algorithm) {
+        byte[] out = new byte[headerBytes(algorithm) + payloadBytes(count)];
+        writeHeader(out, start, count, algorithm);
+        return out;
+    }
+
+    private static void writeHeader(byte[] out, long start, int count, String algorithm) {
+        byte[] name = algorithm.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer.wrap(out)
+                .putInt(MAGIC)
+                .put(VERSION)
+                .putLong(start)
+                .putInt(count)
+                .put((byte) name.length)
+                .put(name);
+    }
+
+    /**
+     * Packs uppercase hex digits into out at offset.
+     */
+    public static void pack(CharSequence hex, byte[] out, int offset) {
+        int count = hex.length();
+        for (int i = 0; i + 1 < count; i += 2) {
+            out[offset + i / 2] = (byte) (nibble(hex.charAt(i)) << 4 | nibble(hex.charAt(i + 1)));
+        }
+        if (count % 2 != 0) {
+            out[offset + count / 2] = (byte) (nibble(hex.charAt(count - 1)) << 4);
+        }
+    }
+
+    /**
+     * Packs count digits of uppercase hex ASCII, starting at from, into out
+     * at offset.
+     */
+    public static void pack(byte[] hex, int from, int count, byte[] out, int offset) {
+        for (int i = 0; i + 1 < count; i += 2) {
+            out[offset + i / 2] = (byte) (nibble(hex[from + i]) << 4 | nibble(hex[from + i + 1]));
+        }
+        if (count % 2 != 0) {
+            out[offset + count / 2] = (byte) (nibble(hex[from + count - 1]) << 4);
+        }
+    }
+
+    /**
+     * Copies count digits that start at nibble from of a packed source into
+     * out at offset, re-aligning them when from is odd.
+     */
+    static void copy(byte[] src, long from, int count, byte[] out, int offset) {
+        int first = (int) (from >>> 1);
+        if ((from & 1) == 0) {
+            System.arraycopy(src, first, out, offset, payloadBytes(count));
+        } else {
+            for (int j = 0; j < payloadBytes(count); j++) {
+                int high = src[first + j] & 0x0F;
+                int low = 2 * j + 1 < count ? (src[first + j + 1] >>> 4) & 0x0F : 0;
+                out[offset + j] = (byte) (high << 4 | low);
+            }
+        }
+        clearTrailingNibble(count, out, offset);
+    }
+
+    /**
+     * Zeroes the unused low nibble after an odd count of packed digits.
+     */
+    static void clearTrailingNibble(int count, byte[] out, int offset) {
+        if (count % 2 != 0) {
+            out[offset + count / 2] &= (byte) 0xF0;
+        }
+    }
+
+    private static int nibble(int c) {
+        return c <= '9' ? c - '0' : c - 'A' + 10;
+    }
+}
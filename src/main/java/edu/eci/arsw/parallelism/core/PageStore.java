@@ -0,0 +1,38 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Fixed-size byte pages addressed by slot, backing the {@link BlockCache}.
+ * Callers synchronize.
+ */
+interface PageStore {
+
+    /**
+     * Returns a free slot; its previous contents are undefined.
+     */
+    int allocate();
+
+    void release(int slot);
+
+    byte get(int slot, int index);
+
+    void set(int slot, int index, byte value);
+
+    /**
+     * The big-endian int at index.
+     */
+    int getInt(int slot, int index);
+
+    void setInt(int slot, int index, int value);
+
+    /**
+     * Copies length bytes from index into out at offset.
+     */
+    void read(int slot, int index, byte[] out, int offset, int length);
+
+    boolean isOffHeap();
+
+    /**
+     * Memory reserved outside the Java heap.
+     */
+    long offHeapBytes();
+}
@@ -3,6 +3,12 @@ package edu.eci.arsw.parallelism.core;
 
 import org.springframework.context.annotation.Bean;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.LongToDoubleFunction;
+
 /**
  * Bailey–Borwein–Plouffe (BBP) formula implementation to compute hexadecimal
  * digits of Pi.
@@ -15,9 +21,25 @@ import org.springframework.context.annotation.Bean;
  */
 public class PiDigits {
 
-    private static final int DIGITS_PER_SUM = 8;
+    public static final int DIGITS_PER_SUM = 8;
+
+    /** ASCII codes of the uppercase hex digits 0..15. */
+    static final byte[] HEX_ASCII = "0123456789ABCDEF".getBytes(StandardCharsets.ISO_8859_1);
+
     private static final double EPSILON = 1e-17;
 
+    /**
+     * Largest supported starting position. Keeps every modulus 8k+m below
+     * {@link ModularArithmetic#MAX_MODULUS}.
+     */
+    public static final long MAX_START = 1L << 58;
+
+    /**
+     * Number of leading terms whose moduli (up to 8k+6) fit the small-modulus
+     * kernel.
+     */
+    static final long SMALL_TERMS = (ModularArithmetic.SMALL_MODULUS - 6) / 8 + 1;
+
     /**
      * Returns a range of hexadecimal digits of Pi (after the radix point).
      *
@@ -25,101 +47,395 @@ public class PiDigits {
      * @param count number of digits to return.
      * @return array of digits, each value 0..15.
      */
-    public static byte[] getDigits(int start, int count) {
+    public static byte[] getDigits(long start, int count) {
+        return getDigits(start, count, PiDigits::series);
+    }
+
+    /**
+     * Same as {@link #getDigits(long, int)}, evaluating every block with the
+     * given four-series kernel (see {@link #series(long)}).
+     */
+    static byte[] getDigits(long start, int count, LongToDoubleFunction kernel) {
+        return getDigits(start, count, kernel, CancellationToken.none());
+    }
+
+    /**
+     * Same as {@link #getDigits(long, int, LongToDoubleFunction)}, checking
+     * the token before every block.
+     */
+    static byte[] getDigits(long start, int count, LongToDoubleFunction kernel, CancellationToken token) {
+        validate(start, count);
+        byte[] digits = new byte[count];
+        encode(start, count, kernel, DigitEncoding.VALUES, digits, 0, token);
+        return digits;
+    }
+
+    /**
+     * Writes the digits of a range as hex ASCII into out at offset, evaluating
+     * every block with the kernel and checking the token before each one.
+     */
+    static void writeHex(long start, int count, LongToDoubleFunction kernel, byte[] out, int offset,
+                         CancellationToken token) {
+        validate(start, count);
+        Objects.checkFromIndexSize(offset, count, out.length);
+        encode(start, count, kernel, DigitEncoding.HEX, out, offset, token);
+    }
+
+    /**
+     * Convenience method: returns the digits as an uppercase hex string (0-9A-F).
+     */
+    public static String getDigitsHex(long start, int count) {
+        validate(start, count);
+        byte[] hex = new byte[count];
+        encodeSeries(start, count, DigitEncoding.HEX, hex, 0);
+        return asciiToString(hex);
+    }
+
+    /**
+     * Writes the digits of a range as uppercase hex ASCII into out, digit i
+     * at out[offset + i]. Allocates nothing.
+     */
+    public static void getDigitsHex(long start, int count, byte[] out, int offset) {
+        validate(start, count);
+        Objects.checkFromIndexSize(offset, count, out.length);
+        encodeSeries(start, count, DigitEncoding.HEX, out, offset);
+    }
+
+    /**
+     * Writes the digits of a range nibble-packed into out: two digits per
+     * byte, high nibble first, digit i in out[offset + i / 2]. An odd count
+     * leaves the low nibble of the last byte 0. Allocates nothing.
+     */
+    public static void getDigitsPacked(long start, int count, byte[] out, int offset) {
+        validate(start, count);
+        Objects.checkFromIndexSize(offset, DigitEncoding.PACKED.length(count), out.length);
+        encodeSeries(start, count, DigitEncoding.PACKED, out, offset);
+    }
+
+    /**
+     * Same as {@link #getDigitsPacked(long, int, byte[], int)} for a buffer,
+     * written at the absolute index offset; the position is unchanged.
+     */
+    public static void getDigitsPacked(long start, int count, ByteBuffer out, int offset) {
+        if (out.hasArray()) {
+            getDigitsPacked(start, count, out.array(), out.arrayOffset() + offset);
+            return;
+        }
+        validate(start, count);
+        Objects.checkFromIndexSize(offset, DigitEncoding.PACKED.length(count), out.limit());
+        boolean bigEndian = out.order() == ByteOrder.BIG_ENDIAN;
+        long n = start;
+        for (int i = 0; i < count; i += DIGITS_PER_SUM, n += DIGITS_PER_SUM) {
+            int nibbles = DigitEncoding.nibbles(series(n));
+            int digits = Math.min(DIGITS_PER_SUM, count - i);
+            int index = offset + i / 2;
+            if (digits == DIGITS_PER_SUM) {
+                out.putInt(index, bigEndian ? nibbles : Integer.reverseBytes(nibbles));
+                continue;
+            }
+            int packed = nibbles & (-1 << (32 - 4 * digits));
+            for (int j = 0; j < (digits + 1) / 2; j++) {
+                out.put(index + j, (byte) (packed >>> (24 - 8 * j)));
+            }
+        }
+    }
+
+    private static void validate(long start, int count) {
         if (start < 0 || count < 0) {
             throw new IllegalArgumentException("Invalid interval: start and count must be non-negative");
         }
+        if (start > MAX_START) {
+            throw new IllegalArgumentException("Invalid interval: start must be <= " + MAX_START);
+        }
+    }
 
-        byte[] digits = new byte[count];
-        double sum = 0.0;
+    /**
+     * Evaluates the blocks of a range one after another and hands their
+     * digits to the encoding. Stops with a {@link ComputeCancelledException}
+     * between blocks once the token is cancelled.
+     */
+    private static void encode(long start, int count, LongToDoubleFunction kernel,
+                               DigitEncoding encoding, byte[] out, int offset, CancellationToken token) {
+        for (int i = 0; i < count; i += DIGITS_PER_SUM) {
+            token.throwIfCancelled();
+            int nibbles = DigitEncoding.nibbles(kernel.applyAsDouble(start));
+            encoding.put(nibbles, Math.min(DIGITS_PER_SUM, count - i), out, offset, i);
+            start += DIGITS_PER_SUM;
+        }
+    }
 
-        for (int i = 0; i < count; i++) {
-            if (i % DIGITS_PER_SUM == 0) {
-                sum = 4 * sum(1, start)
-                        - 2 * sum(4, start)
-                        - sum(5, start)
-                        - sum(6, start);
-                start += DIGITS_PER_SUM;
-            }
+    /**
+     * Same as {@link #encode} with the BBP kernel, called directly.
+     */
+    private static void encodeSeries(long start, int count, DigitEncoding encoding, byte[] out, int offset) {
+        for (int i = 0; i < count; i += DIGITS_PER_SUM) {
+            int nibbles = DigitEncoding.nibbles(series(start));
+            encoding.put(nibbles, Math.min(DIGITS_PER_SUM, count - i), out, offset, i);
+            start += DIGITS_PER_SUM;
+        }
+    }
 
-            sum = 16 * (sum - Math.floor(sum));
-            digits[i] = (byte) sum; // 0..15
+    /**
+     * Writes digits (each 0..15) as uppercase hex ASCII into out at offset.
+     */
+    public static void toHexAscii(byte[] digits, byte[] out, int offset) {
+        for (int i = 0; i < digits.length; i++) {
+            out[offset + i] = HEX_ASCII[digits[i]];
         }
+    }
 
-        return digits;
+    /**
+     * The string of an ASCII hex buffer, such as one filled by
+     * {@link DigitAlgorithm#writeHex}. Copies the buffer once.
+     */
+    public static String asciiToString(byte[] ascii) {
+        return new String(ascii, StandardCharsets.ISO_8859_1);
     }
 
     /**
-     * Convenience method: returns the digits as an uppercase hex string (0-9A-F).
+     * Formats digits (each 0..15) as an uppercase hex string.
      */
-    public static String getDigitsHex(int start, int count) {
-        byte[] digits = getDigits(start, count);
-        StringBuilder sb = new StringBuilder(digits.length);
-        for (byte d : digits) {
-            int v = d & 0xFF;
-            if (v < 0 || v > 15) {
+    public static String toHex(byte[] digits) {
+        byte[] hex = new byte[digits.length];
+        for (int i = 0; i < digits.length; i++) {
+            int v = digits[i] & 0xFF;
+            if (v > 15) {
                 throw new IllegalStateException("Unexpected digit value: " + v);
             }
-            sb.append(Character.toUpperCase(Character.forDigit(v, 16)));
+            hex[i] = HEX_ASCII[v];
+        }
+        return asciiToString(hex);
+    }
+
+    /**
+     * Returns 4*S1 - 2*S4 - S5 - S6, where Sm is the sum of 16^(n-k)/(8k+m)
+     * from k=0 to infinity (until terms are below EPSILON).
+     *
+     * The four series are evaluated in a single pass over k: the modular
+     * exponentiations share one scan of the exponent bits and the tail terms
+     * share one power of 16. Each series keeps its own accumulator, so the
+     * result is bit-identical to summing the series one after another.
+     */
+    static double series(long n) {
+        return series(n, Math.min(n, SMALL_TERMS));
+    }
+
+    /**
+     * Same as {@link #series(long)}, switching from the small-modulus kernel
+     * to Montgomery arithmetic at term {@code montgomeryFrom}.
+     */
+    static double series(long n, long montgomeryFrom) {
+        return accumulate(n, 0, n, montgomeryFrom, null);
+    }
+
+    /**
+     * Returns the partial sums (S1, S4, S5, S6) of the head terms k in
+     * [from, to) for position n. Disjoint k-ranges of one block can be summed
+     * independently (for example on different threads) and then added
+     * together before {@link #blockDigits}.
+     */
+    public static double[] partialSums(long n, long from, long to) {
+        if (n < 0 || n > MAX_START || from < 0 || from > to || to > n) {
+            throw new IllegalArgumentException("Invalid term range [" + from + ", " + to + ") for position " + n);
+        }
+        double[] sums = new double[4];
+        accumulate(n, from, to, Math.min(n, SMALL_TERMS), sums);
+        return sums;
+    }
+
+    /**
+     * Returns up to {@link #DIGITS_PER_SUM} digits at position n from the head
+     * sums of all terms k < n (see {@link #partialSums}).
+     */
+    public static byte[] blockDigits(long n, double[] sums, int count) {
+        if (count < 0 || count > DIGITS_PER_SUM) {
+            throw new IllegalArgumentException("count must be between 0 and " + DIGITS_PER_SUM);
         }
-        return sb.toString();
+        double sum = finishSeries(n, sums[0], sums[1], sums[2], sums[3]);
+        byte[] digits = new byte[count];
+        for (int i = 0; i < count; i++) {
+            sum = 16 * (sum - Math.floor(sum));
+            digits[i] = (byte) sum;
+        }
+        return digits;
     }
 
     /**
-     * Returns the sum of 16^(n-k)/(8k+m) from k=0 to infinity (until terms are
-     * below EPSILON).
+     * Sums the head terms k in [from, to) of (S1, S4, S5, S6), switching to
+     * Montgomery arithmetic at term {@code montgomeryFrom}. The sums are
+     * stored in out, or, when out is null, finished with
+     * {@link #finishSeries} and returned, so the block loops keep them in
+     * locals and allocate nothing.
      */
-    private static double sum(int m, int n) {
-        double sum = 0.0;
-        int d = m;
-        int power = n;
+    private static double accumulate(long n, long from, long to, long montgomeryFrom, double[] out) {
+        double s1 = 0;
+        double s4 = 0;
+        double s5 = 0;
+        double s6 = 0;
+        long split = Math.max(from, Math.min(to, montgomeryFrom));
 
-        while (true) {
-            double term;
+        // The steps of oddResidues, kept in locals so that the block writers
+        // allocate nothing.
+        for (long k = from; k < split; k++) {
+            long q = n - k - 1;
+            long o1 = 8 * k + 1;
+            long o4 = 2 * k + 1;
+            long o5 = 8 * k + 5;
+            long o6 = 4 * k + 3;
+            double r1 = 1.0 / o1;
+            double r4 = 1.0 / o4;
+            double r5 = 1.0 / o5;
+            double r6 = 1.0 / o6;
+            long x1 = 1;
+            long x4 = 1;
+            long x5 = 1;
+            long x6 = 1;
 
-            if (power > 0) {
-                term = (double) hexExponentModulo(power, d) / d;
-            } else {
-                term = Math.pow(16, power) / d;
-                if (term < EPSILON) {
-                    break;
+            for (int bit = 63 - Long.numberOfLeadingZeros(q); bit >= 0; bit--) {
+                x1 = ModularArithmetic.multiplySmall(x1, x1, o1, r1);
+                x4 = ModularArithmetic.multiplySmall(x4, x4, o4, r4);
+                x5 = ModularArithmetic.multiplySmall(x5, x5, o5, r5);
+                x6 = ModularArithmetic.multiplySmall(x6, x6, o6, r6);
+                if (((q >>> bit) & 1) != 0) {
+                    x1 = ModularArithmetic.multiplySmall(x1, 16, o1, r1);
+                    x4 = ModularArithmetic.multiplySmall(x4, 16, o4, r4);
+                    x5 = ModularArithmetic.multiplySmall(x5, 16, o5, r5);
+                    x6 = ModularArithmetic.multiplySmall(x6, 16, o6, r6);
                 }
             }
 
-            sum += term;
-            power--;
-            d += 8;
+            long d = 8 * k;
+            s1 += (double) ModularArithmetic.multiplySmall(x1, 16, o1, r1) / (d + 1);
+            s4 += (double) (ModularArithmetic.multiplySmall(x4, 4, o4, r4) << 2) / (d + 4);
+            s5 += (double) ModularArithmetic.multiplySmall(x5, 16, o5, r5) / (d + 5);
+            s6 += (double) (ModularArithmetic.multiplySmall(x6, 8, o6, r6) << 1) / (d + 6);
+        }
+
+        for (long k = split; k < to; k++) {
+            long q = n - k - 1;
+            long o1 = 8 * k + 1;
+            long o4 = 2 * k + 1;
+            long o5 = 8 * k + 5;
+            long o6 = 4 * k + 3;
+            long i1 = ModularArithmetic.inverse(o1);
+            long i4 = ModularArithmetic.inverse(o4);
+            long i5 = ModularArithmetic.inverse(o5);
+            long i6 = ModularArithmetic.inverse(o6);
+            long x1 = ModularArithmetic.oneMontgomery(o1);
+            long x4 = ModularArithmetic.oneMontgomery(o4);
+            long x5 = ModularArithmetic.oneMontgomery(o5);
+            long x6 = ModularArithmetic.oneMontgomery(o6);
+
+            for (int bit = 63 - Long.numberOfLeadingZeros(q); bit >= 0; bit--) {
+                x1 = ModularArithmetic.multiply(x1, x1, o1, i1);
+                x4 = ModularArithmetic.multiply(x4, x4, o4, i4);
+                x5 = ModularArithmetic.multiply(x5, x5, o5, i5);
+                x6 = ModularArithmetic.multiply(x6, x6, o6, i6);
+                if (((q >>> bit) & 1) != 0) {
+                    x1 = timesPowerOfTwo(x1, 4, o1);
+                    x4 = timesPowerOfTwo(x4, 4, o4);
+                    x5 = timesPowerOfTwo(x5, 4, o5);
+                    x6 = timesPowerOfTwo(x6, 4, o6);
+                }
+            }
+
+            long d = 8 * k;
+            s1 += (double) ModularArithmetic.reduce(0, timesPowerOfTwo(x1, 4, o1), o1, i1) / (d + 1);
+            s4 += (double) (ModularArithmetic.reduce(0, timesPowerOfTwo(x4, 2, o4), o4, i4) << 2) / (d + 4);
+            s5 += (double) ModularArithmetic.reduce(0, timesPowerOfTwo(x5, 4, o5), o5, i5) / (d + 5);
+            s6 += (double) (ModularArithmetic.reduce(0, timesPowerOfTwo(x6, 3, o6), o6, i6) << 1) / (d + 6);
         }
 
-        return sum;
+        if (out == null) {
+            return finishSeries(n, s1, s4, s5, s6);
+        }
+        out[0] = s1;
+        out[1] = s4;
+        out[2] = s5;
+        out[3] = s6;
+        return 0;
     }
 
     /**
-     * Return 16^p mod m.
+     * Writes the residues of 16^(q+1) mod 8k+1, 8k+4, 8k+5 and 8k+6 into
+     * residues, each taken mod the odd part of its modulus: 8k+1, 2k+1, 8k+5
+     * and 4k+3. The modulus 8k+4 contributes 4 * residues[1] and 8k+6
+     * contributes 2 * residues[3]. All four are derived from 16^q, so they
+     * share one scan of the exponent bits and run in lockstep. Needs
+     * k < {@link #SMALL_TERMS}. Shared by the engines that keep state per
+     * range, {@link IncrementalBbp} and {@link FixedPointBbpAlgorithm};
+     * {@link #accumulate} runs the same steps in locals.
      */
-    private static int hexExponentModulo(int p, int m) {
-        int power = 1;
-        while (power * 2 <= p) {
-            power *= 2;
-        }
+    static void oddResidues(long k, long q, long[] residues) {
+        long o1 = 8 * k + 1;
+        long o4 = 2 * k + 1;
+        long o5 = 8 * k + 5;
+        long o6 = 4 * k + 3;
+        double r1 = 1.0 / o1;
+        double r4 = 1.0 / o4;
+        double r5 = 1.0 / o5;
+        double r6 = 1.0 / o6;
+        long x1 = 1;
+        long x4 = 1;
+        long x5 = 1;
+        long x6 = 1;
 
-        int result = 1;
-
-        while (power > 0) {
-            if (p >= power) {
-                result *= 16;
-                result %= m;
-                p -= power;
+        for (int bit = 63 - Long.numberOfLeadingZeros(q); bit >= 0; bit--) {
+            x1 = ModularArithmetic.multiplySmall(x1, x1, o1, r1);
+            x4 = ModularArithmetic.multiplySmall(x4, x4, o4, r4);
+            x5 = ModularArithmetic.multiplySmall(x5, x5, o5, r5);
+            x6 = ModularArithmetic.multiplySmall(x6, x6, o6, r6);
+            if (((q >>> bit) & 1) != 0) {
+                x1 = ModularArithmetic.multiplySmall(x1, 16, o1, r1);
+                x4 = ModularArithmetic.multiplySmall(x4, 16, o4, r4);
+                x5 = ModularArithmetic.multiplySmall(x5, 16, o5, r5);
+                x6 = ModularArithmetic.multiplySmall(x6, 16, o6, r6);
             }
+        }
 
-            power /= 2;
+        residues[0] = ModularArithmetic.multiplySmall(x1, 16, o1, r1);
+        residues[1] = ModularArithmetic.multiplySmall(x4, 4, o4, r4);
+        residues[2] = ModularArithmetic.multiplySmall(x5, 16, o5, r5);
+        residues[3] = ModularArithmetic.multiplySmall(x6, 8, o6, r6);
+    }
 
-            if (power > 0) {
-                result *= result;
-                result %= m;
+    /**
+     * Adds the tail terms (k >= n, where 16^(n-k) <= 1) to the partial sums
+     * of the four series and combines them as 4*S1 - 2*S4 - S5 - S6.
+     */
+    static double finishSeries(long n, double s1, double s4, double s5, double s6) {
+        // Terms decrease in k, and the 8k+1 series is the last one to drop
+        // below EPSILON.
+        long d = 8 * n;
+        for (int power = 0; ; power--) {
+            double scale = Math.pow(16, power);
+            double term = scale / (d + 1);
+            if (term < EPSILON) {
+                break;
             }
+            s1 += term;
+            term = scale / (d + 4);
+            if (term >= EPSILON) {
+                s4 += term;
+            }
+            term = scale / (d + 5);
+            if (term >= EPSILON) {
+                s5 += term;
+            }
+            term = scale / (d + 6);
+            if (term >= EPSILON) {
+                s6 += term;
+            }
+            d += 8;
         }
 
-        return result;
+        return 4 * s1 - 2 * s4 - s5 - s6;
+    }
+
+    private static long timesPowerOfTwo(long x, int bits, long m) {
+        for (int i = 0; i < bits; i++) {
+            x = ModularArithmetic.twice(x, m);
+        }
+        return x;
     }
 }
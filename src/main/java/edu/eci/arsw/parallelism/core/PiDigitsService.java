@@ -2,22 +2,70 @@ package edu.eci.arsw.parallelism.core;
 
 import edu.eci.arsw.parallelism.concurrency.ParallelStrategy;
 import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import edu.eci.arsw.parallelism.monitoring.PiExecutionResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class PiDigitsService {
 
+    /**
+     * Ranges this long that start at or near 0 are computed as a prefix by
+     * binary splitting when no strategy or algorithm is requested; below it
+     * BBP range extraction is faster (see PrefixBenchmark).
+     */
+    static final int PREFIX_THRESHOLD = 8192;
+
+    static final String PREFIX_STRATEGY = "prefix";
+
+    /** Lets the {@link QueryPlanner} choose strategy, algorithm and threads. */
+    static final String AUTO_STRATEGY = "auto";
+
+    /** Most threads a request may ask for. */
+    public static final int MAX_THREADS = 1024;
+
     private final List<ParallelStrategy> strategies;
+    private final List<DigitAlgorithm> algorithms;
+    private final QueryPlanner planner;
+    private final ComputeScheduler scheduler;
+    private final BlockCoalescer coalescer;
+    private final DigitStore store;
     private final PerformanceMonitor performanceMonitor;
 
-    public PiDigitsService(List<ParallelStrategy> strategies, PerformanceMonitor performanceMonitor) {
+    @Autowired
+    public PiDigitsService(
+            List<ParallelStrategy> strategies,
+            List<DigitAlgorithm> algorithms,
+            QueryPlanner planner,
+            ComputeScheduler scheduler,
+            BlockCoalescer coalescer,
+            DigitStore store,
+            PerformanceMonitor performanceMonitor
+    ) {
         this.strategies = strategies;
+        this.algorithms = algorithms;
+        this.planner = planner;
+        this.scheduler = scheduler;
+        this.coalescer = coalescer;
+        this.store = store;
         this.performanceMonitor = performanceMonitor;
     }
 
-    public String calculateSequential(int start, int count) {
+    public String calculateSequential(long start, int count) {
+        return calculateSequential(start, count, null);
+    }
+
+    public String calculateSequential(long start, int count, String algorithmName) {
         if (start < 0) {
             throw new IllegalArgumentException("start must be >= 0");
         }
@@ -27,60 +75,520 @@ public class PiDigitsService {
         if (count == 0) {
             return "";
         }
-        return PiDigits.getDigitsHex(start, count);
+        return resolveAlgorithm(algorithmName).getDigitsHex(start, count);
     }
 
     public String calculate(
-            int start,
+            long start,
             int count,
             Integer threads,
             String strategyName
     ) {
+        return calculate(start, count, threads, strategyName, null);
+    }
+
+    public String calculate(
+            long start,
+            int count,
+            Integer threads,
+            String strategyName,
+            String algorithmName
+    ) {
+        return calculate(start, count, threads, strategyName, algorithmName, CancellationToken.none());
+    }
+
+    /**
+     * Same as {@link #calculate(long, int, Integer, String, String)}, stopped
+     * by the token. The {@link ComputeCancelledException} it throws carries
+     * the digits of the slices completed before the cancellation.
+     */
+    public String calculate(
+            long start,
+            int count,
+            Integer threads,
+            String strategyName,
+            String algorithmName,
+            CancellationToken token
+    ) {
+        return PiDigits.asciiToString(
+                execute(start, count, route(start, count, threads, strategyName, algorithmName), token).hex());
+    }
+
+    /**
+     * Same as {@link #calculate(long, int, Integer, String, String, CancellationToken)},
+     * returning the range in the binary form of {@link PackedDigits}, header
+     * included. Ranges in the precomputed store or entirely cached are copied
+     * into the result straight from their packed bytes; computed ranges are
+     * packed from the strategy's hex output.
+     */
+    public byte[] calculatePacked(
+            long start,
+            int count,
+            Integer threads,
+            String strategyName,
+            String algorithmName,
+            CancellationToken token
+    ) {
+        Route route = route(start, count, threads, strategyName, algorithmName);
+        String algorithm = route.algorithm().name();
+        byte[] out = PackedDigits.allocate(start, count, algorithm);
+        int offset = PackedDigits.headerBytes(algorithm);
+
+        if (count == 0 || store.packed(start, count, out, offset)) {
+            return out;
+        }
+        if (!route.strategyName().equalsIgnoreCase(PREFIX_STRATEGY)
+                && coalescer.cachedPacked(algorithm, start, count, out, offset)) {
+            return out;
+        }
+        PackedDigits.pack(execute(start, count, route, token).hex(), 0, count, out, offset);
+        return out;
+    }
+
+    /**
+     * Receives the digits of one range of a batch as soon as they are known.
+     * Calls are never concurrent.
+     */
+    @FunctionalInterface
+    public interface RangeListener {
+        void completed(int index, String digits);
+    }
+
+    /**
+     * Computes many ranges as one job and returns their digits in request
+     * order.
+     *
+     * Ranges are merged into block-aligned runs (see {@link RangeMerger}), so
+     * overlapping and neighbouring ranges are computed once. Runs in the
+     * store or the cache are served first; the rest is admitted once, for the
+     * predicted time of all of them, and is never sliced. A single run gets
+     * every granted thread through the strategy; several runs are dealt,
+     * longest first, to one lane per granted thread, each running the
+     * strategy with one thread. The listener gets every range as soon as its
+     * run is done.
+     */
+    public List<String> calculateBatch(
+            List<DigitRange> ranges,
+            Integer threads,
+            String strategyName,
+            String algorithmName,
+            CancellationToken token,
+            RangeListener listener
+    ) {
+        for (DigitRange range : ranges) {
+            if (range.start() < 0 || range.count() < 0) {
+                throw new IllegalArgumentException("start and count must be >= 0");
+            }
+        }
+        List<DigitRange> runs = RangeMerger.merge(ranges);
+        List<Route> routes = runs.stream()
+                .map(run -> route(run.start(), run.count(), threads, strategyName, algorithmName))
+                .toList();
+        Batch batch = new Batch(ranges, runs, listener);
+
+        List<Integer> pending = new ArrayList<>();
+        for (int r = 0; r < runs.size(); r++) {
+            byte[] hex = new byte[runs.get(r).count()];
+            if (served(runs.get(r).start(), runs.get(r).count(), routes.get(r), hex)) {
+                batch.complete(r, hex);
+            } else {
+                pending.add(r);
+            }
+        }
+        if (pending.isEmpty()) {
+            return batch.results();
+        }
+
+        double[] predicted = new double[runs.size()];
+        double total = 0;
+        int wanted = 1;
+        for (int r : pending) {
+            predicted[r] = estimate(runs.get(r).start(), runs.get(r).count(), routes.get(r)).predictedMillis();
+            total += predicted[r];
+            wanted = Math.max(wanted, routes.get(r).threads());
+        }
+        pending.sort(Comparator.comparingDouble((Integer r) -> predicted[r]).reversed());
+
+        try (ComputeScheduler.Grant grant = scheduler.admit(wanted, total, token)) {
+            computeRuns(batch, pending, routes, grant.threads(), token);
+        }
+        return batch.results();
+    }
+
+    /**
+     * Same as {@link #calculateBatch(List, Integer, String, String, CancellationToken, RangeListener)}
+     * without a listener.
+     */
+    public List<String> calculateBatch(
+            List<DigitRange> ranges,
+            Integer threads,
+            String strategyName,
+            String algorithmName,
+            CancellationToken token
+    ) {
+        return calculateBatch(ranges, threads, strategyName, algorithmName, token, (index, digits) -> { });
+    }
+
+    private void computeRuns(Batch batch, List<Integer> pending, List<Route> routes, int threads,
+                             CancellationToken token) {
+        if (pending.size() == 1 || threads == 1) {
+            for (int r : pending) {
+                DigitRange run = batch.run(r);
+                byte[] hex = new byte[run.count()];
+                run(run.start(), run.count(), routes.get(r), threads, hex, 0, token);
+                batch.complete(r, hex);
+            }
+            return;
+        }
+
+        Queue<Integer> queue = new ConcurrentLinkedQueue<>(pending);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try (ExecutorService lanes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int lane = 0; lane < Math.min(threads, pending.size()); lane++) {
+                lanes.execute(() -> {
+                    Integer r;
+                    while (failure.get() == null && (r = queue.poll()) != null) {
+                        DigitRange run = batch.run(r);
+                        try {
+                            byte[] hex = new byte[run.count()];
+                            run(run.start(), run.count(), routes.get(r), 1, hex, 0, token);
+                            batch.complete(r, hex);
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                            token.cancel("range failed");
+                        }
+                    }
+                });
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Ranges of a batch, the runs they were merged into, and the digits of
+     * every range once its run is done.
+     */
+    private static final class Batch {
+        private final List<DigitRange> ranges;
+        private final List<DigitRange> runs;
+        private final List<List<Integer>> members = new ArrayList<>();
+        private final String[] results;
+        private final RangeListener listener;
+
+        Batch(List<DigitRange> ranges, List<DigitRange> runs, RangeListener listener) {
+            this.ranges = ranges;
+            this.runs = runs;
+            this.results = new String[ranges.size()];
+            this.listener = listener;
+            runs.forEach(run -> members.add(new ArrayList<>()));
+
+            for (int i = 0; i < ranges.size(); i++) {
+                if (ranges.get(i).count() == 0) {
+                    results[i] = "";
+                    listener.completed(i, "");
+                    continue;
+                }
+                int run = RangeMerger.runOf(runs, ranges.get(i));
+                if (run < 0) {
+                    throw new IllegalArgumentException("Range too long: " + ranges.get(i));
+                }
+                members.get(run).add(i);
+            }
+        }
+
+        DigitRange run(int index) {
+            return runs.get(index);
+        }
+
+        synchronized void complete(int run, byte[] hex) {
+            long runStart = runs.get(run).start();
+            for (int i : members.get(run)) {
+                DigitRange range = ranges.get(i);
+                int offset = (int) (range.start() - runStart);
+                results[i] = new String(hex, offset, range.count(), StandardCharsets.ISO_8859_1);
+                listener.completed(i, results[i]);
+            }
+        }
+
+        synchronized List<String> results() {
+            return List.of(results);
+        }
+    }
+
+    /**
+     * Returns the plan a request would run with and its predicted time,
+     * without computing any digits.
+     */
+    public QueryPlan explain(
+            long start,
+            int count,
+            Integer threads,
+            String strategyName,
+            String algorithmName
+    ) {
+        return estimate(start, count, route(start, count, threads, strategyName, algorithmName));
+    }
+
+    /**
+     * How a request runs: a strategy (null for sequential), the name it is
+     * reported under, the algorithm, the requested threads, and the plan
+     * when the planner chose it.
+     */
+    private record Route(ParallelStrategy strategy, String strategyName, DigitAlgorithm algorithm,
+                         int threads, QueryPlan plan) {}
+
+    private Route route(long start, int count, Integer threads, String strategyName, String algorithmName) {
+        if (start < 0 || count < 0) {
+            throw new IllegalArgumentException("start and count must be >= 0");
+        }
+        DigitAlgorithm algorithm = resolveAlgorithm(algorithmName);
+
+        if (isAuto(strategyName)) {
+            QueryPlan plan = plan(start, count, threads, algorithmName);
+            ParallelStrategy strategy = plan.strategy().equals("sequential")
+                    ? null
+                    : findStrategy(plan.strategy()).orElseThrow();
+            return new Route(strategy, plan.strategy(), resolveAlgorithm(plan.algorithm()), plan.threads(), plan);
+        }
+
+        Optional<ParallelStrategy> prefix = prefixRoute(start, count, strategyName, algorithmName);
+        if (prefix.isPresent()) {
+            return new Route(prefix.get(), PREFIX_STRATEGY, algorithm, 1, null);
+        }
 
         if (strategyName == null || strategyName.equalsIgnoreCase("sequential")) {
-            return calculateSequential(start, count);
+            return new Route(null, "sequential", algorithm, 1, null);
         }
 
-        ParallelStrategy strategy = strategies.stream()
-                .filter(s -> s.name().equalsIgnoreCase(strategyName))
-                .findFirst()
-                .orElseThrow(() ->
-                        new IllegalArgumentException("Unknown strategy: " + strategyName));
+        ParallelStrategy strategy = requireStrategy(strategyName);
+
+        return new Route(strategy, strategyName, algorithm, resolveThreads(threads), null);
+    }
+
+    /**
+     * Checks the parameters every range of a request shares, without
+     * planning or computing anything, so a request can be rejected before
+     * its work starts.
+     */
+    public void validate(Integer threads, String strategyName, String algorithmName) {
+        resolveThreads(threads);
+        resolveAlgorithm(algorithmName);
+        if (strategyName != null && !isAuto(strategyName) && !strategyName.equalsIgnoreCase("sequential")) {
+            requireStrategy(strategyName);
+        }
+    }
+
+    /**
+     * Hex ASCII digits of a scheduled run, the most threads any slice was
+     * granted and the total time its slices waited in the scheduler queue.
+     */
+    private record Outcome(byte[] hex, int threads, double queueWaitMillis) {}
+
+    /**
+     * Runs a route under the compute budget. A job predicted to take longer
+     * than the scheduler's slice is split into block-aligned slices, each
+     * admitted separately with the remaining estimate, so shorter jobs can
+     * be served between them. Prefix routes compute the whole prefix at
+     * once and are never sliced. A range inside the precomputed store or
+     * entirely cached is served without being admitted. Every slice writes
+     * its digits at its offset of one buffer.
+     */
+    private Outcome execute(long start, int count, Route route, CancellationToken token) {
+        byte[] hex = new byte[count];
+        if (served(start, count, route, hex)) {
+            return new Outcome(hex, 0, 0);
+        }
+
+        double predicted = estimate(start, count, route).predictedMillis();
+        int slices = route.strategyName().equalsIgnoreCase(PREFIX_STRATEGY)
+                ? 1
+                : (int) Math.max(1, Math.min(CostModel.blocks(count), Math.ceil(predicted / scheduler.sliceMillis())));
+        long blocks = CostModel.blocks(count);
+
+        int threads = 0;
+        double queueWait = 0;
+        long done = 0;
+
+        for (int i = 0; i < slices; i++) {
+            long sliceEnd = blocks * (i + 1) / slices;
+            int offset = (int) Math.min(count, done * PiDigits.DIGITS_PER_SUM);
+            int size = (int) Math.min(count, sliceEnd * PiDigits.DIGITS_PER_SUM) - offset;
+            double remaining = predicted * (slices - i) / slices;
+
+            try (ComputeScheduler.Grant grant = scheduler.admit(route.threads(), remaining, token)) {
+                run(start + offset, size, route, grant.threads(), hex, offset, token);
+                threads = Math.max(threads, grant.threads());
+                queueWait += grant.waitMillis();
+            } catch (ComputeCancelledException e) {
+                throw new ComputeCancelledException(e.getReason(),
+                        new String(hex, 0, offset, StandardCharsets.ISO_8859_1));
+            }
+            done = sliceEnd;
+        }
+
+        return new Outcome(hex, threads, queueWait);
+    }
+
+    /**
+     * Writes the digits of a range inside the precomputed store or entirely
+     * cached into hex, or returns false when they have to be computed.
+     */
+    private boolean served(long start, int count, Route route, byte[] hex) {
+        if (store.hex(start, count, hex, 0)) {
+            return true;
+        }
+        return !route.strategyName().equalsIgnoreCase(PREFIX_STRATEGY)
+                && coalescer.cached(route.algorithm().name(), start, count, hex, 0);
+    }
+
+    /**
+     * Runs a range through the block coalescer, so cached blocks and blocks
+     * that a concurrent request is already computing are shared. Prefix
+     * routes compute the whole prefix anyway and bypass it, and so do
+     * strategies whose digits are not {@link ParallelStrategy#exact exact},
+     * which must not end up in the cache or in another request.
+     */
+    private void run(long start, int count, Route route, int threads, byte[] hex, int offset,
+                     CancellationToken token) {
+        if (route.strategyName().equalsIgnoreCase(PREFIX_STRATEGY)
+                || (route.strategy() != null && !route.strategy().exact(route.algorithm()))) {
+            runDirect(start, count, route, threads, hex, offset, token);
+            return;
+        }
+        coalescer.compute(route.algorithm().name(), start, count, hex, offset, token,
+                (runStart, runCount, out, at) -> runDirect(runStart, runCount, route, threads, out, at, token));
+    }
+
+    private void runDirect(long start, int count, Route route, int threads, byte[] hex, int offset,
+                           CancellationToken token) {
+        if (count == 0) {
+            return;
+        }
+        if (route.strategy() == null) {
+            route.algorithm().writeHex(start, count, hex, offset, token);
+            return;
+        }
+        route.strategy().writeHex(start, count, resolveThreads(threads), route.algorithm(), hex, offset, token);
+    }
+
+    private QueryPlan estimate(long start, int count, Route route) {
+        if (route.plan() != null) {
+            return route.plan();
+        }
+        String name = route.strategy() == null ? "sequential" : route.strategy().name();
+        return planner.estimate(name, route.algorithm().name(), route.threads(), start, count);
+    }
+
+    private QueryPlan plan(long start, int count, Integer threads, String algorithmName) {
+        String algorithm = algorithmName == null ? null : resolveAlgorithm(algorithmName).name();
+        List<String> available = strategies.stream().map(ParallelStrategy::name).toList();
+        // The scheduler never grants more than its budget, so plans stop there.
+        int maxThreads = Math.min(resolveThreads(threads), scheduler.cores());
+        return planner.plan(start, count, maxThreads, available, algorithm);
+    }
+
+    private static boolean isAuto(String strategyName) {
+        return AUTO_STRATEGY.equalsIgnoreCase(strategyName);
+    }
+
+    /**
+     * The threads of a request: null or 0 means one per processor, negative
+     * or more than {@link #MAX_THREADS} is rejected.
+     */
+    private static int resolveThreads(Integer threads) {
+        if (threads != null && (threads < 0 || threads > MAX_THREADS)) {
+            throw new IllegalArgumentException("threads must be between 0 and " + MAX_THREADS);
+        }
+        return (threads == null || threads == 0)
+                ? Runtime.getRuntime().availableProcessors()
+                : threads;
+    }
+
+    /**
+     * A long range whose skipped prefix is no longer than the range itself.
+     */
+    static boolean isLongPrefix(long start, int count) {
+        return count >= PREFIX_THRESHOLD
+                && start <= count
+                && start + count <= BinarySplittingPi.MAX_DIGITS;
+    }
+
+    private Optional<ParallelStrategy> prefixRoute(long start, int count, String strategyName, String algorithmName) {
+        if (strategyName != null || algorithmName != null || !isLongPrefix(start, count)) {
+            return Optional.empty();
+        }
+        return findStrategy(PREFIX_STRATEGY);
+    }
+
+    private ParallelStrategy requireStrategy(String name) {
+        return findStrategy(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + name));
+    }
 
-        return calculateThreads(start, count, threads, strategy);
+    private Optional<ParallelStrategy> findStrategy(String name) {
+        return strategies.stream()
+                .filter(s -> s.name().equalsIgnoreCase(name))
+                .findFirst();
     }
 
     public String calculateThreads(
-            int start,
+            long start,
             int count,
             Integer threads,
             ParallelStrategy strategy
     ) {
-        int threadCount = (threads == null || threads <= 0)
-                ? Runtime.getRuntime().availableProcessors()
-                : threads;
+        return calculateThreads(start, count, threads, strategy, resolveAlgorithm(null));
+    }
 
-        return strategy.calculate(start, count, threadCount);
+    public String calculateThreads(
+            long start,
+            int count,
+            Integer threads,
+            ParallelStrategy strategy,
+            DigitAlgorithm algorithm
+    ) {
+        return strategy.calculate(start, count, resolveThreads(threads), algorithm);
     }
 
+    /**
+     * Looks up a digit algorithm by name; null selects BBP.
+     */
+    public DigitAlgorithm resolveAlgorithm(String algorithmName) {
+        String name = algorithmName == null ? "bbp" : algorithmName;
 
-    public PiExecutionResult calculateWithTiming(int start, int count, Integer threads, String strategyName) {
+        return algorithms.stream()
+                .filter(a -> a.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() ->
+                        new IllegalArgumentException("Unknown algorithm: " + algorithmName));
+    }
 
-        String usedStrategy = (strategyName == null || strategyName.equalsIgnoreCase("sequential"))
-                ? "sequential"
-                : strategyName;
 
-        int usedThreads = usedStrategy.equals("sequential")
-                ? 1
-                : ((threads == null || threads <= 0)
-                        ? Runtime.getRuntime().availableProcessors()
-                        : threads);
-
-        return performanceMonitor.measurePiCalculation(
-                () -> calculate(start, count, threads, strategyName),
-                usedStrategy,
-                usedThreads
+    public PiExecutionResult calculateWithTiming(long start, int count, Integer threads, String strategyName) {
+        return calculateWithTiming(start, count, threads, strategyName, null);
+    }
+
+    public PiExecutionResult calculateWithTiming(
+            long start,
+            int count,
+            Integer threads,
+            String strategyName,
+            String algorithmName
+    ) {
+        Route route = route(start, count, threads, strategyName, algorithmName);
+        Outcome[] outcome = new Outcome[1];
+
+        PiExecutionResult result = performanceMonitor.measurePiCalculation(
+                () -> {
+                    outcome[0] = execute(start, count, route, CancellationToken.none());
+                    return PiDigits.asciiToString(outcome[0].hex());
+                },
+                route.strategyName(),
+                route.threads()
         );
+        return result.withScheduling(outcome[0].threads(), outcome[0].queueWaitMillis());
     }
 
 }
@@ -0,0 +1,201 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One range computed in the background by the {@link JobManager}.
+ *
+ * State only moves forward: QUEUED, RUNNING, then one of DONE, FAILED or
+ * CANCELLED. A cancel wins over a worker finishing at the same moment, so a
+ * discarded job never turns DONE again. The result is the digits as hex
+ * text, in memory or in a spill file.
+ */
+public final class PiJob {
+
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED, CANCELLED;
+
+        boolean finished() {
+            return this == DONE || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final long start;
+    private final int count;
+    private final Integer threads;
+    private final String strategy;
+    private final String algorithm;
+    private final CancellationToken token;
+    private final AtomicLong digitsDone = new AtomicLong();
+
+    private State state = State.QUEUED;
+    private Future<?> task;
+    private long finishedNanos;
+    private String error;
+    private byte[] digits;
+    private Path spill;
+
+    PiJob(String id, long start, int count, Integer threads, String strategy, String algorithm,
+          CancellationToken token) {
+        this.id = id;
+        this.start = start;
+        this.count = count;
+        this.threads = threads;
+        this.strategy = strategy;
+        this.algorithm = algorithm;
+        this.token = token;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    Integer threads() {
+        return threads;
+    }
+
+    String strategy() {
+        return strategy;
+    }
+
+    String algorithm() {
+        return algorithm;
+    }
+
+    CancellationToken token() {
+        return token;
+    }
+
+    long digitsDone() {
+        return digitsDone.get();
+    }
+
+    void advance(int digits) {
+        digitsDone.addAndGet(digits);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    synchronized String error() {
+        return error;
+    }
+
+    synchronized boolean spilled() {
+        return spill != null;
+    }
+
+    synchronized void queued(Future<?> task) {
+        this.task = task;
+    }
+
+    /**
+     * Moves a queued job to RUNNING; false if it was cancelled meanwhile.
+     */
+    synchronized boolean begin() {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        state = State.RUNNING;
+        return true;
+    }
+
+    /**
+     * Records the file the result is being written to, so a discard can
+     * remove it whatever the state.
+     */
+    synchronized void spillTo(Path file) {
+        spill = file;
+    }
+
+    /**
+     * Finishes a running job with its digits (null when spilled); false if
+     * it was cancelled meanwhile.
+     */
+    synchronized boolean complete(byte[] digits) {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        this.digits = digits;
+        finish(State.DONE, null);
+        return true;
+    }
+
+    synchronized void fail(String reason) {
+        if (!state.finished()) {
+            finish(State.FAILED, reason);
+        }
+    }
+
+    /**
+     * Cancels a job that has not finished and stops its computation; false
+     * if it had already finished.
+     */
+    synchronized boolean cancel(String reason) {
+        if (state.finished()) {
+            return false;
+        }
+        token.cancel(reason);
+        if (task != null && state == State.QUEUED) {
+            task.cancel(false);
+        }
+        finish(State.CANCELLED, reason);
+        return true;
+    }
+
+    private void finish(State state, String error) {
+        this.state = state;
+        this.error = error;
+        this.finishedNanos = System.nanoTime();
+    }
+
+    /**
+     * Whether the job finished more than ttlNanos ago.
+     */
+    synchronized boolean expired(long nowNanos, long ttlNanos) {
+        return state.finished() && nowNanos - finishedNanos > ttlNanos;
+    }
+
+    /**
+     * The digits of a DONE job, served from memory or from the spill file.
+     */
+    public synchronized Optional<Resource> result() {
+        if (state != State.DONE) {
+            return Optional.empty();
+        }
+        return Optional.of(spill != null ? new FileSystemResource(spill) : new ByteArrayResource(digits));
+    }
+
+    /**
+     * Drops the result and deletes the spill file.
+     */
+    synchronized void discard() {
+        digits = null;
+        if (spill != null) {
+            try {
+                Files.deleteIfExists(spill);
+            } catch (IOException e) {
+                // Left to the temp directory cleanup.
+            }
+        }
+    }
+}
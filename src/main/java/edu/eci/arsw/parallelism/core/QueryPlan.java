@@ -0,0 +1,19 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Execution plan chosen by {@link QueryPlanner} for one range.
+ *
+ * @param strategy        strategy that runs the range (sequential, threads, pool, forkjoin, virtual, block, vector or prefix)
+ * @param algorithm       digit-extraction algorithm
+ * @param threads         number of threads the strategy is given
+ * @param split           how work is divided: none, digits (contiguous digit segments)
+ *                        or block (term slices within each block)
+ * @param predictedMillis predicted wall-clock time
+ */
+public record QueryPlan(
+        String strategy,
+        String algorithm,
+        int threads,
+        String split,
+        double predictedMillis
+) {}
@@ -0,0 +1,135 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Chooses the strategy, algorithm and thread count for a range from a
+ * {@link CostModel}: the predicted time of an engine is the number of
+ * evaluations it needs times the units of one evaluation at the position
+ * times its constant, divided across threads plus the thread start-up cost.
+ */
+@Component
+public class QueryPlanner {
+
+    static final String SEQUENTIAL = "sequential";
+    static final String THREADS = "threads";
+    static final String POOL = "pool";
+    static final String FORKJOIN = "forkjoin";
+    static final String VIRTUAL = "virtual";
+    static final String BLOCK = "block";
+    static final String VECTOR = "vector";
+    static final String PREFIX = "prefix";
+
+    /** Handing a segment to a running pool worker. */
+    private static final double TASK_SUBMIT_NANOS = 5_000;
+
+    private static final List<String> ALGORITHMS = List.of("bbp", "bellard", "bbp128");
+
+    private final CostModel model;
+
+    @Autowired
+    public QueryPlanner() {
+        this(CostModel.calibrate());
+    }
+
+    public QueryPlanner(CostModel model) {
+        this.model = model;
+    }
+
+    public CostModel model() {
+        return model;
+    }
+
+    /**
+     * Returns the cheapest plan among the given strategies; a null algorithm
+     * lets the planner choose it too. At most maxThreads threads are used,
+     * and never more than {@link PiDigitsService#MAX_THREADS}.
+     */
+    public QueryPlan plan(long start, int count, int maxThreads, Collection<String> strategies, String algorithm) {
+        maxThreads = Math.max(1, Math.min(maxThreads, PiDigitsService.MAX_THREADS));
+        List<String> algorithms = algorithm == null ? ALGORITHMS : List.of(algorithm.toLowerCase());
+        List<QueryPlan> candidates = new ArrayList<>();
+
+        for (String a : algorithms) {
+            candidates.add(estimate(SEQUENTIAL, a, 1, start, count));
+        }
+        for (String strategy : strategies) {
+            String s = strategy.toLowerCase();
+            if (s.equals(THREADS) || s.equals(POOL) || s.equals(FORKJOIN) || s.equals(VIRTUAL)) {
+                for (String a : algorithms) {
+                    for (long t = 2; t <= maxThreads; t *= 2) {
+                        candidates.add(estimate(s, a, (int) t, start, count));
+                    }
+                    candidates.add(estimate(s, a, maxThreads, start, count));
+                }
+            } else if ((s.equals(BLOCK) || s.equals(VECTOR)) && algorithms.contains("bbp")) {
+                candidates.add(estimate(s, "bbp", maxThreads, start, count));
+            } else if (s.equals(PREFIX) && algorithm == null && start + count <= BinarySplittingPi.MAX_DIGITS) {
+                candidates.add(estimate(PREFIX, "bbp", 1, start, count));
+            }
+        }
+
+        return candidates.stream()
+                .min(Comparator.comparingDouble(QueryPlan::predictedMillis))
+                .orElseThrow();
+    }
+
+    /**
+     * Predicts the time of running a range with the given strategy, algorithm
+     * and thread count.
+     */
+    public QueryPlan estimate(String strategy, String algorithm, int threads, long start, int count) {
+        String s = strategy.toLowerCase();
+        String a = algorithm.toLowerCase();
+        long position = start + count / 2;
+        double units = CostModel.evaluationUnits(position);
+
+        return switch (s) {
+            case THREADS, POOL, FORKJOIN, VIRTUAL -> {
+                // Segments are whole blocks, balanced by cost.
+                long blocks = CostModel.blocks(count);
+                int t = (int) Math.max(1, Math.min(threads, blocks));
+                int segment = (int) Math.min(count, (blocks + t - 1) / t * PiDigits.DIGITS_PER_SUM);
+                // Pool workers are already running and virtual threads are cheap;
+                // a task costs far less than a platform thread.
+                double startup = s.equals(THREADS) ? t * model.threadStart() : t * TASK_SUBMIT_NANOS;
+                double nanos = rangeNanos(a, position, segment) + startup;
+                yield plan(s, a, t, "digits", nanos);
+            }
+            case BLOCK -> {
+                // Slices are tasks on the shared pool, like the pool strategy.
+                int t = Math.max(1, threads);
+                double nanos = CostModel.blocks(count) * units * model.series() / t + t * TASK_SUBMIT_NANOS;
+                yield plan(s, "bbp", t, "block", nanos);
+            }
+            case VECTOR -> plan(s, "bbp", 1, "none", CostModel.blocks(count) * units * model.vector());
+            case PREFIX -> plan(s, "bbp", 1, "none", CostModel.prefixUnits(start + count) * model.prefix());
+            default -> plan(SEQUENTIAL, a, 1, "none", rangeNanos(a, position, count));
+        };
+    }
+
+    private static QueryPlan plan(String strategy, String algorithm, int threads, String split, double nanos) {
+        return new QueryPlan(strategy, algorithm, threads, split, nanos / 1_000_000.0);
+    }
+
+    /**
+     * Predicted time of computing count digits around position on one thread.
+     * BBP carries its powers from block to block (see {@link IncrementalBbp}),
+     * so only its first block is a full evaluation.
+     */
+    private double rangeNanos(String algorithm, long position, int count) {
+        double units = CostModel.evaluationUnits(position);
+        return switch (algorithm) {
+            case "bellard" -> CostModel.blocks(count) * units * model.bellard();
+            case "bbp128" -> FixedPointBbpAlgorithm.evaluations(position, count) * units * model.bbp128();
+            default -> units * model.series()
+                    + Math.max(0, CostModel.blocks(count) - 1) * (double) position * model.bbpCarry();
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Merges the ranges of a batch into the fewest runs to compute.
+ *
+ * Every range is widened to whole 8-digit blocks, since a block is computed
+ * as a unit anyway. Ranges whose blocks overlap or touch are merged into one
+ * run, so a digit shared by several ranges is computed once and neighbouring
+ * ranges share one series evaluation per block. Runs are sorted by position
+ * and never longer than an int can count.
+ */
+final class RangeMerger {
+
+    private static final int BLOCK = PiDigits.DIGITS_PER_SUM;
+
+    /** Longest run, a whole number of blocks. */
+    static final int MAX_RUN = Integer.MAX_VALUE / BLOCK * BLOCK;
+
+    private RangeMerger() {
+    }
+
+    /**
+     * Block-aligned runs covering every non-empty range.
+     */
+    static List<DigitRange> merge(List<DigitRange> ranges) {
+        List<DigitRange> widened = new ArrayList<>(ranges.size());
+        for (DigitRange range : ranges) {
+            if (range.count() > 0) {
+                long from = range.start() / BLOCK * BLOCK;
+                long to = (range.end() + BLOCK - 1) / BLOCK * BLOCK;
+                widened.add(new DigitRange(from, (int) Math.min(MAX_RUN, to - from)));
+            }
+        }
+        widened.sort(Comparator.comparingLong(DigitRange::start));
+
+        List<DigitRange> runs = new ArrayList<>();
+        long from = -1;
+        long to = -1;
+        for (DigitRange range : widened) {
+            if (from >= 0 && range.start() <= to && Math.max(to, range.end()) - from <= MAX_RUN) {
+                to = Math.max(to, range.end());
+                continue;
+            }
+            if (from >= 0) {
+                runs.add(new DigitRange(from, (int) (to - from)));
+            }
+            from = range.start();
+            to = range.end();
+        }
+        if (from >= 0) {
+            runs.add(new DigitRange(from, (int) (to - from)));
+        }
+        return runs;
+    }
+
+    /**
+     * Index of the run that holds a non-empty range, or -1. Runs cut at
+     * {@link #MAX_RUN} may overlap, so the runs starting before the range are
+     * tried from the closest back.
+     */
+    static int runOf(List<DigitRange> runs, DigitRange range) {
+        int low = 0;
+        int high = runs.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (runs.get(mid).start() <= range.start()) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (int i = high; i >= 0 && runs.get(i).end() > range.start(); i--) {
+            if (range.end() <= runs.get(i).end()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * Snapshot of the {@link ComputeScheduler}.
+ *
+ * @param cores            thread permits in the budget
+ * @param freeCores        permits not granted to any request
+ * @param queued           requests waiting for permits
+ * @param maxQueue         requests that may wait before new ones are rejected
+ * @param queuedWorkMillis estimated CPU time of the waiting requests
+ * @param rejected         requests rejected since startup
+ * @param admitted         grants since startup (one per slice of a sliced job)
+ * @param waitP50Millis    median queue wait of the last 1024 grants
+ * @param waitP99Millis    99th percentile queue wait of the last 1024 grants
+ */
+public record SchedulerStats(
+        int cores,
+        int freeCores,
+        int queued,
+        int maxQueue,
+        double queuedWorkMillis,
+        long rejected,
+        long admitted,
+        double waitP50Millis,
+        double waitP99Millis
+) {}
@@ -0,0 +1,18 @@
+package edu.eci.arsw.parallelism.core;
+
+/**
+ * State of the {@link DigitStore}.
+ *
+ * @param path            the mapped file, null when no store is configured
+ * @param start           first stored digit
+ * @param count           stored digits
+ * @param servedRequests  ranges served from the store
+ * @param corruptChunks   chunks that failed their checksum
+ */
+public record StoreStats(
+        String path,
+        long start,
+        long count,
+        long servedRequests,
+        long corruptChunks
+) {}
@@ -0,0 +1,61 @@
+package edu.eci.arsw.parallelism.core;
+
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * BBP digit extraction backed by the SIMD kernel ({@code VectorSeries}).
+ *
+ * The kernel needs the {@code jdk.incubator.vector} module: build with
+ * {@code mvn -Pvector} and run with {@code --add-modules jdk.incubator.vector}.
+ * When the module or the kernel class is missing, the scalar kernel from
+ * {@link PiDigits} is used instead, so results are always available.
+ */
+public final class VectorizedPiDigits {
+
+    private static final String KERNEL_CLASS = "edu.eci.arsw.parallelism.core.VectorSeries";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final LongToDoubleFunction KERNEL = loadKernel();
+
+    private VectorizedPiDigits() {
+    }
+
+    /**
+     * @return true when digits are computed by the SIMD kernel, false when
+     *         falling back to the scalar kernel.
+     */
+    public static boolean isAvailable() {
+        return KERNEL != null;
+    }
+
+    public static byte[] getDigits(long start, int count) {
+        return KERNEL == null
+                ? PiDigits.getDigits(start, count)
+                : PiDigits.getDigits(start, count, KERNEL);
+    }
+
+    public static String getDigitsHex(long start, int count) {
+        return PiDigits.toHex(getDigits(start, count));
+    }
+
+    /**
+     * Writes the digits of a range as hex ASCII into out at offset, checking
+     * the token before every block.
+     */
+    public static void writeHex(long start, int count, byte[] out, int offset, CancellationToken token) {
+        PiDigits.writeHex(start, count, KERNEL == null ? PiDigits::series : KERNEL, out, offset, token);
+    }
+
+    private static LongToDoubleFunction loadKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (LongToDoubleFunction) Class.forName(KERNEL_CLASS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -13,13 +13,16 @@ public class PerformanceMonitor {
      * @param calculationTask The calculation to execute
      * @param strategy The strategy name used
      * @param threads The number of threads used
-     * @return Result with timing metrics
+     * @return Result with timing metrics, and per-segment times when the
+     *         strategy recorded them (see {@link SegmentTimings})
      */
     public PiExecutionResult measurePiCalculation(
             Supplier<String> calculationTask,
             String strategy,
             int threads
     ) {
+        SegmentTimings.take();
+        SegmentTimings.takeWorkers();
         long startTime = System.nanoTime();
         
         String result = calculationTask.get();
@@ -27,6 +30,16 @@ public class PerformanceMonitor {
         long endTime = System.nanoTime();
         double timeMillis = (endTime - startTime) / 1_000_000.0;
 
-        return new PiExecutionResult(result, strategy, threads, timeMillis);
+        long[] segmentNanos = SegmentTimings.take();
+        SegmentTimings.Workers workers = SegmentTimings.takeWorkers();
+        if (segmentNanos == null) {
+            return new PiExecutionResult(result, strategy, threads, timeMillis);
+        }
+        double[] segmentMillis = SegmentTimings.toMillis(segmentNanos);
+        return new PiExecutionResult(result, strategy, threads, timeMillis,
+                segmentMillis, SegmentTimings.skew(segmentMillis),
+                workers == null ? null : workers.steals(),
+                workers == null ? null : SegmentTimings.toMillis(workers.busyNanos()),
+                null);
     }
 }
@@ -1,8 +1,40 @@
 package edu.eci.arsw.parallelism.monitoring;
 
+import java.util.Map;
+
+/**
+ * @param segmentMillis wall-clock time of every segment of a parallel
+ *                      strategy, or null when the range was not split
+ * @param skew          slowest segment time over the mean segment time, or
+ *                      null when the range was not split
+ * @param steals        segments run by another worker than the one that
+ *                      created them, or null for strategies without stealing
+ * @param workerBusyMillis time every worker spent computing segments, or null
+ *                      for strategies without stealing
+ * @param queueWaitMillis time spent waiting for compute threads, or null when
+ *                      the request did not go through the scheduler
+ */
 public record PiExecutionResult(
         String digits,
         String strategy,
         int threads,
-        double timeMillis
-) {}
+        double timeMillis,
+        double[] segmentMillis,
+        Double skew,
+        Long steals,
+        Map<String, Double> workerBusyMillis,
+        Double queueWaitMillis
+) {
+
+    public PiExecutionResult(String digits, String strategy, int threads, double timeMillis) {
+        this(digits, strategy, threads, timeMillis, null, null, null, null, null);
+    }
+
+    /**
+     * Same result with the threads actually granted and the queue wait.
+     */
+    public PiExecutionResult withScheduling(int grantedThreads, double waitMillis) {
+        return new PiExecutionResult(digits, strategy, grantedThreads, timeMillis,
+                segmentMillis, skew, steals, workerBusyMillis, waitMillis);
+    }
+}
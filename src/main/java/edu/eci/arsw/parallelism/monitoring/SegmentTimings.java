@@ -0,0 +1,81 @@
+package edu.eci.arsw.parallelism.monitoring;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-segment wall-clock times of the last parallel calculation on the
+ * current thread. Strategies that split a range record them after joining
+ * their segments; {@link PerformanceMonitor} picks them up to report skew.
+ * Work-stealing strategies also record steals and per-worker busy time.
+ */
+public final class SegmentTimings {
+
+    private static final ThreadLocal<long[]> LAST = new ThreadLocal<>();
+    private static final ThreadLocal<Workers> LAST_WORKERS = new ThreadLocal<>();
+
+    /**
+     * Steal count and busy nanoseconds per worker name of one calculation.
+     */
+    record Workers(long steals, Map<String, Long> busyNanos) {}
+
+    private SegmentTimings() {
+    }
+
+    /**
+     * Records the elapsed nanoseconds of every segment of a calculation.
+     */
+    public static void record(long[] segmentNanos) {
+        LAST.set(segmentNanos.clone());
+    }
+
+    /**
+     * Records the steals and the busy nanoseconds of every worker of a
+     * work-stealing calculation.
+     */
+    public static void recordWorkers(long steals, Map<String, Long> busyNanos) {
+        LAST_WORKERS.set(new Workers(steals, Map.copyOf(busyNanos)));
+    }
+
+    /**
+     * Returns and clears the worker statistics recorded on this thread, or null.
+     */
+    static Workers takeWorkers() {
+        Workers workers = LAST_WORKERS.get();
+        LAST_WORKERS.remove();
+        return workers;
+    }
+
+    /**
+     * Returns and clears the times recorded on this thread, or null.
+     */
+    static long[] take() {
+        long[] nanos = LAST.get();
+        LAST.remove();
+        return nanos;
+    }
+
+    /**
+     * Ratio of the largest value to the mean; 1.0 when all values are equal.
+     */
+    public static double skew(double[] values) {
+        double max = 0;
+        double sum = 0;
+        for (double v : values) {
+            max = Math.max(max, v);
+            sum += v;
+        }
+        return sum == 0 ? 1.0 : max * values.length / sum;
+    }
+
+    static double[] toMillis(long[] nanos) {
+        return Arrays.stream(nanos).mapToDouble(n -> n / 1_000_000.0).toArray();
+    }
+
+    static Map<String, Double> toMillis(Map<String, Long> nanos) {
+        Map<String, Double> millis = new TreeMap<>();
+        nanos.forEach((worker, n) -> millis.put(worker, n / 1_000_000.0));
+        return millis;
+    }
+}
@@ -0,0 +1,127 @@
+package edu.eci.arsw.parallelism.core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * Four-series BBP kernel evaluating {@code LANES} consecutive terms k per
+ * iteration with the Java Vector API.
+ *
+ * Only compiled with the {@code vector} Maven profile and loaded through
+ * {@link VectorizedPiDigits}. Each lane runs the same small-modulus
+ * arithmetic as {@link PiDigits#series(long, long)}, except that each
+ * squaring and the conditional multiply by 16 share one reduction; positions
+ * beyond {@link #FUSED_TERMS} go to the scalar kernel. Lane sums are reduced at the
+ * end, so the result may differ from the scalar kernel in the last ulp.
+ */
+final class VectorSeries implements LongToDoubleFunction {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = LONGS.length();
+
+    /**
+     * Terms whose odd moduli stay below 2^29, so that x^2 * 16 < 2^63 and the
+     * square and the conditional multiply by 16 share one reduction.
+     */
+    private static final long FUSED_TERMS = 1L << 26;
+    private static final LongVector IOTA = LongVector.zero(LONGS).addIndex(1);
+
+    @Override
+    public double applyAsDouble(long n) {
+        if (n > FUSED_TERMS || LANES != DOUBLES.length()) {
+            return PiDigits.series(n);
+        }
+
+        DoubleVector s1 = DoubleVector.zero(DOUBLES);
+        DoubleVector s4 = DoubleVector.zero(DOUBLES);
+        DoubleVector s5 = DoubleVector.zero(DOUBLES);
+        DoubleVector s6 = DoubleVector.zero(DOUBLES);
+        LongVector one = LongVector.broadcast(LONGS, 1);
+
+        for (long k0 = 0; k0 < n; k0 += LANES) {
+            LongVector k = IOTA.add(k0);
+            LongVector q = LongVector.broadcast(LONGS, n - 1).sub(k);
+            VectorMask<Long> valid = q.compare(VectorOperators.GE, 0);
+            q = q.max(0);
+
+            LongVector o1 = k.mul(8).add(1);
+            LongVector o4 = k.mul(2).add(1);
+            LongVector o5 = k.mul(8).add(5);
+            LongVector o6 = k.mul(4).add(3);
+            DoubleVector r1 = reciprocal(o1);
+            DoubleVector r4 = reciprocal(o4);
+            DoubleVector r5 = reciprocal(o5);
+            DoubleVector r6 = reciprocal(o6);
+            LongVector x1 = one;
+            LongVector x4 = one;
+            LongVector x5 = one;
+            LongVector x6 = one;
+
+            // Lane 0 holds the largest exponent; shorter exponents just see leading zeros.
+            for (int bit = 63 - Long.numberOfLeadingZeros(n - 1 - k0); bit >= 0; bit--) {
+                LongVector shift = q.lanewise(VectorOperators.LSHR, bit).and(1L).lanewise(VectorOperators.LSHL, 2);
+                x1 = squareShift(x1, shift, o1, r1);
+                x4 = squareShift(x4, shift, o4, r4);
+                x5 = squareShift(x5, shift, o5, r5);
+                x6 = squareShift(x6, shift, o6, r6);
+            }
+
+            VectorMask<Double> use = valid.cast(DOUBLES);
+            LongVector d = k.mul(8);
+            s1 = s1.add(term(multiply(x1, 16, o1, r1), d.add(1)), use);
+            s4 = s4.add(term(multiply(x4, 4, o4, r4).lanewise(VectorOperators.LSHL, 2), d.add(4)), use);
+            s5 = s5.add(term(multiply(x5, 16, o5, r5), d.add(5)), use);
+            s6 = s6.add(term(multiply(x6, 8, o6, r6).lanewise(VectorOperators.LSHL, 1), d.add(6)), use);
+        }
+
+        return PiDigits.finishSeries(n,
+                s1.reduceLanes(VectorOperators.ADD),
+                s4.reduceLanes(VectorOperators.ADD),
+                s5.reduceLanes(VectorOperators.ADD),
+                s6.reduceLanes(VectorOperators.ADD));
+    }
+
+    private static DoubleVector reciprocal(LongVector m) {
+        return DoubleVector.broadcast(DOUBLES, 1.0).div(toDouble(m));
+    }
+
+    private static DoubleVector term(LongVector residue, LongVector d) {
+        return toDouble(residue).div(toDouble(d));
+    }
+
+    private static DoubleVector toDouble(LongVector v) {
+        return (DoubleVector) v.convert(VectorOperators.L2D, 0);
+    }
+
+    /**
+     * Lane-wise x^2 * 2^shift mod m.
+     */
+    private static LongVector squareShift(LongVector x, LongVector shift, LongVector m, DoubleVector reciprocal) {
+        return reduce(x.mul(x).lanewise(VectorOperators.LSHL, shift), m, reciprocal);
+    }
+
+    /**
+     * Lane-wise {@link ModularArithmetic#multiplySmall}.
+     */
+    private static LongVector multiply(LongVector a, long b, LongVector m, DoubleVector reciprocal) {
+        return multiply(a, LongVector.broadcast(LONGS, b), m, reciprocal);
+    }
+
+    private static LongVector multiply(LongVector a, LongVector b, LongVector m, DoubleVector reciprocal) {
+        return reduce(a.mul(b), m, reciprocal);
+    }
+
+    private static LongVector reduce(LongVector product, LongVector m, DoubleVector reciprocal) {
+        LongVector quotient = (LongVector) toDouble(product).mul(reciprocal).convert(VectorOperators.D2L, 0);
+        LongVector r = product.sub(quotient.mul(m));
+        r = r.add(r.lanewise(VectorOperators.ASHR, 63).and(m));
+        r = r.sub(m);
+        return r.add(r.lanewise(VectorOperators.ASHR, 63).and(m));
+    }
+}
@@ -54,4 +54,22 @@ class GlobalExceptionHandlerTest {
 
         assertEquals(400, response.getStatusCode().value());
     }
+
+    @Test
+    void testHandleComputeSaturatedExceptionReturns429WithRetryAfter() {
+        ResponseEntity<String> response = handler.handleComputeSaturatedException(
+                new edu.eci.arsw.parallelism.core.ComputeSaturatedException(7));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void testHandleIllegalArgumentException() {
+        ResponseEntity<String> response = handler.handleIllegalArgumentException(
+                new IllegalArgumentException("Unknown strategy: nope"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Unknown strategy: nope", response.getBody());
+    }
 }
@@ -0,0 +1,103 @@
+package edu.eci.arsw.parallelism.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"pi.pool.size=3", "pi.compute.cores=2"})
+@AutoConfigureMockMvc
+class MetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Performs a request, following the async dispatch of {@code /digits}.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    @Test
+    void shouldReturnPoolStats() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "0")
+                        .param("count", "32")
+                        .param("strategy", "pool")
+                        .param("threads", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.digits").value("243F6A8885A308D313198A2E03707344"));
+
+        perform(get("/api/v1/pi/metrics/pool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.poolSize").value(3))
+                .andExpect(jsonPath("$.queueDepth").value(0))
+                .andExpect(jsonPath("$.activeWorkers").isNumber())
+                .andExpect(jsonPath("$.completedTasks").isNumber());
+    }
+
+    @Test
+    void shouldReturnSchedulerStats() throws Exception {
+        perform(get("/api/v1/pi/metrics/scheduler"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cores").value(2))
+                .andExpect(jsonPath("$.freeCores").value(2))
+                .andExpect(jsonPath("$.queued").value(0));
+    }
+
+    @Test
+    void shouldReturnCoalescingStats() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "3")
+                        .param("count", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.digits").value("F6A8885A30"));
+
+        perform(get("/api/v1/pi/metrics/coalescing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.computedBlocks").isNumber())
+                .andExpect(jsonPath("$.coalescedBlocks").isNumber())
+                .andExpect(jsonPath("$.inFlightBlocks").value(0));
+    }
+
+    @Test
+    void shouldReturnCacheStats() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "3")
+                        .param("count", "10"))
+                .andExpect(status().isOk());
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "3")
+                        .param("count", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.digits").value("F6A8885A30"));
+
+        perform(get("/api/v1/pi/metrics/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").isNumber())
+                .andExpect(jsonPath("$.hitRatio").isNumber())
+                .andExpect(jsonPath("$.evictions").value(0))
+                .andExpect(jsonPath("$.bytesResident").isNumber())
+                .andExpect(jsonPath("$.maxBytes").value(67108864));
+    }
+
+    @Test
+    void shouldReturnStoreStats() throws Exception {
+        perform(get("/api/v1/pi/metrics/store"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0))
+                .andExpect(jsonPath("$.corruptChunks").value(0));
+    }
+}
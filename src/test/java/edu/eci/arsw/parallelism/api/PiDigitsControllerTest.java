@@ -1,12 +1,25 @@
 package edu.eci.arsw.parallelism.api;
 
+import edu.eci.arsw.parallelism.core.PackedDigits;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -18,9 +31,18 @@ class PiDigitsControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    /**
+     * Performs a request, following the async dispatch of {@code /digits}.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
     @Test
     void shouldReturnDigits() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "5"))
                 .andExpect(status().isOk())
@@ -31,7 +53,7 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnDigitsZeroCount() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "1"))
                 .andExpect(status().isOk())
@@ -42,7 +64,7 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnBadRequestForNegativeStart() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "-1")
                         .param("count", "5"))
                 .andExpect(status().isBadRequest());
@@ -50,7 +72,7 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnBadRequestForNegativeCount() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "-1"))
                 .andExpect(status().isBadRequest());
@@ -58,7 +80,7 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnDigitsWithThreadsParameter() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "10")
                         .param("threads", "4"))
@@ -70,7 +92,7 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnDigitsWithSequentialStrategy() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "5")
                         .param("strategy", "sequential"))
@@ -82,7 +104,7 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnDigitsWithThreadsStrategy() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "5")
                         .param("strategy", "threads")
@@ -95,16 +117,26 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnBadRequestForNegativeThreads() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "5")
                         .param("threads", "-1"))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void shouldReturnBadRequestForTooManyThreads() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "0")
+                        .param("count", "16")
+                        .param("strategy", "auto")
+                        .param("threads", "2147483647"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnDigitsWithDifferentStart() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "10")
                         .param("count", "5"))
                 .andExpect(status().isOk())
@@ -115,7 +147,7 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnDigitsWithLargeCount() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "100"))
                 .andExpect(status().isOk())
@@ -126,15 +158,229 @@ class PiDigitsControllerTest {
 
     @Test
     void shouldReturnBadRequestForMissingStart() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("count", "5"))
                 .andExpect(status().isBadRequest());
     }
 
     @Test
     void shouldReturnBadRequestForMissingCount() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnBadRequestForStartAboveMaximum() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "999999999999999999")
+                        .param("count", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnDigitsWithBellardAlgorithm() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "0")
+                        .param("count", "10")
+                        .param("strategy", "threads")
+                        .param("threads", "2")
+                        .param("algorithm", "bellard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.digits").value("243F6A8885"));
+    }
+
+    @Test
+    void shouldMeasureWithBellardAlgorithm() throws Exception {
+        perform(get("/api/v1/pi/digits/measure")
+                        .param("start", "0")
+                        .param("count", "10")
+                        .param("algorithm", "bellard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.digits").value("243F6A8885"));
+    }
+
+    @Test
+    void shouldExplainWithoutComputing() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "1000000000")
+                        .param("count", "100000")
+                        .param("strategy", "auto")
+                        .param("explain", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.strategy").exists())
+                .andExpect(jsonPath("$.algorithm").exists())
+                .andExpect(jsonPath("$.predictedMillis").isNumber())
+                .andExpect(jsonPath("$.digits").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnDigitsWithAutoStrategy() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "0")
+                        .param("count", "10")
+                        .param("strategy", "auto"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.digits").value("243F6A8885"));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenTheDeadlinePasses() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "200000000")
+                        .param("count", "8")
+                        .param("timeoutMillis", "50")
+                        .param("partial", "true"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string(containsString("deadline exceeded")));
+    }
+
+    @Test
+    void shouldRejectNegativeTimeout() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "0")
+                        .param("count", "8")
+                        .param("timeoutMillis", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamDigitsAsPlainText() throws Exception {
+        perform(get("/api/v1/pi/digits/stream")
+                        .param("start", "0")
+                        .param("count", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string("243F6A8885A308D31319"));
+    }
+
+    @Test
+    void shouldStreamDigitsAsEvents() throws Exception {
+        perform(get("/api/v1/pi/digits/events")
+                        .param("start", "0")
+                        .param("count", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:digits\nid:0\ndata:243F6A8885\n")))
+                .andExpect(content().string(containsString("event:done\ndata:10\n")));
+    }
+
+    @Test
+    void shouldEndEventStreamWithErrorWhenTheDeadlinePasses() throws Exception {
+        perform(get("/api/v1/pi/digits/events")
+                        .param("start", "200000000")
+                        .param("count", "8")
+                        .param("timeoutMillis", "50"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:error\ndata:Computation cancelled: deadline exceeded")));
+    }
+
+    @Test
+    void shouldRejectInvalidStreamBeforeStreaming() throws Exception {
+        perform(get("/api/v1/pi/digits/stream")
+                        .param("start", "0")
+                        .param("count", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnPackedDigitsForOctetStream() throws Exception {
+        byte[] body = perform(get("/api/v1/pi/digits")
+                        .param("start", "1")
+                        .param("count", "5")
+                        .accept("application/octet-stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/octet-stream"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ByteBuffer packed = ByteBuffer.wrap(body);
+        assertEquals(0x50494447, packed.getInt());
+        assertEquals(1, packed.get());
+        assertEquals(1L, packed.getLong());
+        assertEquals(5, packed.getInt());
+        assertEquals(3, packed.get());
+        assertEquals('b', packed.get());
+        packed.position(packed.position() + 2);
+        // 43F6A
+        assertArrayEquals(new byte[] {0x43, (byte) 0xF6, (byte) 0xA0}, Arrays.copyOfRange(body, packed.position(), body.length));
+    }
+
+    @Test
+    void shouldKeepJsonAsTheDefault() throws Exception {
+        perform(get("/api/v1/pi/digits")
+                        .param("start", "0")
+                        .param("count", "5")
+                        .accept("*/*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.digits").value("243F6"));
+    }
+
+    @Test
+    void shouldStreamPackedDigitsForOctetStream() throws Exception {
+        byte[] body = perform(get("/api/v1/pi/digits/stream")
+                        .param("start", "0")
+                        .param("count", "20")
+                        .accept("application/octet-stream"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] expected = PackedDigits.allocate(0, 20, "bbp");
+        PackedDigits.pack("243F6A8885A308D31319", expected, PackedDigits.headerBytes("bbp"));
+        assertArrayEquals(expected, body);
+    }
+
+    @Test
+    void shouldReturnBatchInRequestOrder() throws Exception {
+        perform(post("/api/v1/pi/digits/batch")
+                        .contentType("application/json")
+                        .content("{\"ranges\":[{\"start\":10,\"count\":4},{\"start\":0,\"count\":5},{\"start\":3,\"count\":10}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].start").value(10))
+                .andExpect(jsonPath("$.results[0].digits").value("A308"))
+                .andExpect(jsonPath("$.results[1].digits").value("243F6"))
+                .andExpect(jsonPath("$.results[2].digits").value("F6A8885A30"));
+    }
+
+    @Test
+    void shouldStreamBatchAsJsonLines() throws Exception {
+        String body = perform(post("/api/v1/pi/digits/batch")
+                        .contentType("application/json")
+                        .accept("application/x-ndjson")
+                        .content("{\"ranges\":[{\"start\":0,\"count\":5},{\"start\":800,\"count\":3}]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(2, body.lines().count());
+        assertTrue(body.contains("{\"index\":0,\"start\":0,\"count\":5,\"digits\":\"243F6\"}\n"));
+        assertTrue(body.contains("\"index\":1,\"start\":800"));
+    }
+
+    @Test
+    void shouldRejectInvalidBatch() throws Exception {
+        perform(post("/api/v1/pi/digits/batch")
+                        .contentType("application/json")
+                        .content("{\"ranges\":[]}"))
+                .andExpect(status().isBadRequest());
+        perform(post("/api/v1/pi/digits/batch")
+                        .contentType("application/json")
+                        .content("{\"ranges\":[{\"start\":0,\"count\":0}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectUnknownBatchStrategyBeforeComputing() throws Exception {
+        mockMvc.perform(post("/api/v1/pi/digits/batch")
+                        .param("strategy", "nope")
+                        .contentType("application/json")
+                        .content("{\"ranges\":[{\"start\":0,\"count\":5}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown strategy: nope"));
+        mockMvc.perform(post("/api/v1/pi/digits/batch")
+                        .param("algorithm", "nope")
+                        .contentType("application/json")
+                        .accept("application/x-ndjson")
+                        .content("{\"ranges\":[{\"start\":0,\"count\":5}]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,97 @@
+package edu.eci.arsw.parallelism.api;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PiJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String submit(String start, String count) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/pi/jobs")
+                        .param("start", start)
+                        .param("count", count))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/v1/pi/jobs/")))
+                .andExpect(jsonPath("$.totalBlocks").exists())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    private void awaitDone(String id) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            String body = mockMvc.perform(get("/api/v1/pi/jobs/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if ("DONE".equals(JsonPath.read(body, "$.state"))) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("job did not finish");
+    }
+
+    @Test
+    void shouldRunJobAndReturnItsResult() throws Exception {
+        String id = submit("0", "20");
+        awaitDone(id);
+
+        mockMvc.perform(get("/api/v1/pi/jobs/" + id))
+                .andExpect(jsonPath("$.digitsDone").value(20))
+                .andExpect(jsonPath("$.blocksDone").value(2))
+                .andExpect(jsonPath("$.etaMillis").value(0));
+        mockMvc.perform(get("/api/v1/pi/jobs/" + id + "/result"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("243F6A8885A308D31319"));
+    }
+
+    @Test
+    void shouldServeRangesOfTheResult() throws Exception {
+        String id = submit("0", "20");
+        awaitDone(id);
+
+        mockMvc.perform(get("/api/v1/pi/jobs/" + id + "/result")
+                        .header("Range", "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 5-9/20"))
+                .andExpect(content().string("A8885"));
+    }
+
+    @Test
+    void shouldCancelAndForgetJobs() throws Exception {
+        String id = submit("0", "8");
+
+        mockMvc.perform(delete("/api/v1/pi/jobs/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/pi/jobs/" + id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/pi/jobs/" + id + "/result"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/pi/jobs/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectInvalidJob() throws Exception {
+        mockMvc.perform(post("/api/v1/pi/jobs")
+                        .param("start", "0")
+                        .param("count", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,100 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.concurrency.BlockPartitioner;
+import edu.eci.arsw.parallelism.concurrency.ThreadJoinStrategy;
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.BlockCoalescer;
+import edu.eci.arsw.parallelism.core.ComputeScheduler;
+import edu.eci.arsw.parallelism.core.CostModel;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.DigitStore;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.core.PiDigitsService;
+import edu.eci.arsw.parallelism.core.QueryPlanner;
+import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manual benchmark of the bytes allocated per request: the former assembly,
+ * where every segment returns its own digit array and string and the
+ * strings are concatenated, versus {@link ThreadJoinStrategy}, where every
+ * segment writes hex ASCII straight into one shared buffer, and versus a
+ * whole request through {@link PiDigitsService#calculate}, where the
+ * coalescer, the scheduler slices and the strategy share one buffer.
+ *
+ * Counts the allocations of all threads, including the finished workers,
+ * through {@code com.sun.management.ThreadMXBean}.
+ */
+public class AllocationBenchmark {
+
+    private static final long START = 10_000;
+    private static final int[] COUNTS = {1_000, 20_000};
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        DigitAlgorithm algorithm = new BbpAlgorithm();
+        ThreadJoinStrategy strategy = new ThreadJoinStrategy();
+        // Coalescing on and no cache, so every request computes its digits.
+        PiDigitsService service = new PiDigitsService(List.of(strategy), List.of(algorithm),
+                new QueryPlanner(CostModel.defaults()), ComputeScheduler.unbounded(), new BlockCoalescer(true),
+                DigitStore.empty(), new PerformanceMonitor());
+
+        for (int count : COUNTS) {
+            long legacy = allocated(() -> legacy(START, count, THREADS, algorithm));
+            long direct = allocated(() -> strategy.calculate(START, count, THREADS, algorithm));
+            long request = allocated(() -> service.calculate(START, count, THREADS, "threads"));
+            System.out.printf("%6d digits  per-segment strings: %9d B/request  shared buffer: %9d B/request"
+                    + "  service: %9d B/request%n", count, legacy, direct, request);
+        }
+    }
+
+    /**
+     * Average bytes allocated by all threads per run, after a warm-up.
+     */
+    private static long allocated(Runnable task) {
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getTotalThreadAllocatedBytes();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        return (threads.getTotalThreadAllocatedBytes() - before) / ROUNDS;
+    }
+
+    /**
+     * The assembly the strategies used before: digits, then a string per
+     * segment, then a concatenation.
+     */
+    private static String legacy(long start, int count, int threads, DigitAlgorithm algorithm) {
+        List<BlockPartitioner.Segment> segments = BlockPartitioner.partition(start, count, threads);
+        String[] parts = new String[segments.size()];
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            BlockPartitioner.Segment segment = segments.get(i);
+            int index = i;
+            Thread worker = new Thread(() ->
+                    parts[index] = PiDigits.toHex(algorithm.getDigits(segment.start(), segment.count())));
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        StringBuilder result = new StringBuilder();
+        for (String part : parts) {
+            result.append(part);
+        }
+        return result.toString();
+    }
+}
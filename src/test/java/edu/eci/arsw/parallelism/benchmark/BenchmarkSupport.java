@@ -0,0 +1,29 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+/**
+ * Warm-up and timing helper shared by the manual benchmarks.
+ */
+final class BenchmarkSupport {
+
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final int ROUNDS = 10;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Runs the task for a fixed warm-up period, then returns the average time
+     * in milliseconds over {@code ROUNDS} runs.
+     */
+    static double time(Runnable task) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            task.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - begin) / 1_000_000.0 / ROUNDS;
+    }
+}
@@ -0,0 +1,77 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.core.BlockCache;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manual benchmark of garbage-collection cost with a full block cache on
+ * the heap versus off the heap: fills a 256 MiB cache, then churns
+ * short- and medium-lived garbage as request handling does and reports
+ * the collections, their total pause time and one full collection.
+ *
+ * Run each mode in its own JVM for clean numbers, e.g. with
+ * {@code -Xmx1g} and the argument {@code heap} or {@code offheap}; with no
+ * argument both run in one process, heap first.
+ */
+public class CacheGcBenchmark {
+
+    private static final long CACHE_BYTES = 256L << 20;
+    private static final int CHURN_ROUNDS = 2_000;
+    private static final int CHURN_OBJECTS = 20_000;
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args[0].equals("heap")) {
+            run("heap", false);
+        }
+        if (args.length == 0 || args[0].equals("offheap")) {
+            run("offheap", true);
+        }
+    }
+
+    private static void run(String label, boolean offHeap) {
+        BlockCache cache = new BlockCache(CACHE_BYTES, offHeap);
+        long blocks = CACHE_BYTES / BlockCache.PAGE_FOOTPRINT * BlockCache.PAGE_BLOCKS;
+        byte[] page = "243F6A88".repeat(BlockCache.PAGE_BLOCKS).getBytes(StandardCharsets.ISO_8859_1);
+        for (long b = 0; b < blocks; b += BlockCache.PAGE_BLOCKS) {
+            cache.putHex("bbp", b, BlockCache.PAGE_BLOCKS, page, 0);
+        }
+        System.gc();
+
+        long[] before = collections();
+        List<Object> retained = new ArrayList<>();
+        for (int round = 0; round < CHURN_ROUNDS; round++) {
+            for (int i = 0; i < CHURN_OBJECTS; i++) {
+                String garbage = Integer.toHexString(i * round);
+                if (i % 1000 == 0) {
+                    retained.add(garbage);
+                }
+            }
+            if (retained.size() > 10_000) {
+                retained.clear();
+            }
+        }
+        long[] after = collections();
+
+        long t0 = System.nanoTime();
+        System.gc();
+        double fullGc = (System.nanoTime() - t0) / 1_000_000.0;
+
+        System.out.printf("%-8s resident: %4d MiB  collections: %5d  pauses: %7d ms  full gc: %8.3f ms%n",
+                label, cache.stats().bytesResident() >> 20, after[0] - before[0], after[1] - before[1], fullGc);
+    }
+
+    private static long[] collections() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+}
@@ -0,0 +1,73 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.concurrency.ForkJoinStrategy;
+import edu.eci.arsw.parallelism.concurrency.ParallelStrategy;
+import edu.eci.arsw.parallelism.concurrency.PoolStrategy;
+import edu.eci.arsw.parallelism.concurrency.ThreadJoinStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Manual benchmark of request latency under concurrency: many callers at
+ * once each ask for a short range split 16 ways, once with a new thread per
+ * segment, on the shared pool and on the work-stealing pool. Prints median
+ * and p99 latency.
+ */
+public class ConcurrencyBenchmark {
+
+    private static final int CALLERS = 200;
+    private static final int THREADS_PER_REQUEST = 16;
+    private static final long START = 2_000;
+    private static final int COUNT = 256;
+
+    public static void main(String[] args) throws InterruptedException {
+        PoolStrategy pool = new PoolStrategy(0);
+        ForkJoinStrategy forkJoin = new ForkJoinStrategy(0);
+        List<ParallelStrategy> strategies = List.of(new ThreadJoinStrategy(), pool, forkJoin);
+
+        for (int round = 0; round < 3; round++) {
+            for (ParallelStrategy strategy : strategies) {
+                double[] latencies = run(strategy);
+                System.out.printf("%-8s p50: %8.3f ms  p99: %8.3f ms%n", strategy.name(),
+                        latencies[latencies.length / 2], latencies[latencies.length * 99 / 100]);
+            }
+        }
+
+        pool.shutdown();
+        forkJoin.shutdown();
+    }
+
+    private static double[] run(ParallelStrategy strategy) throws InterruptedException {
+        double[] latencies = new double[CALLERS];
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            int index = i;
+            Thread caller = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long t0 = System.nanoTime();
+                strategy.calculate(START, COUNT, THREADS_PER_REQUEST);
+                latencies[index] = (System.nanoTime() - t0) / 1_000_000.0;
+            });
+            callers.add(caller);
+            caller.start();
+        }
+
+        go.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        Arrays.sort(latencies);
+        return latencies;
+    }
+}
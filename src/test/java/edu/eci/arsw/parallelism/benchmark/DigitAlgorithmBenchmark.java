@@ -0,0 +1,31 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.BellardAlgorithm;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.FixedPointBbpAlgorithm;
+
+import static edu.eci.arsw.parallelism.benchmark.BenchmarkSupport.time;
+
+/**
+ * Manual benchmark comparing the digit-extraction formulas on a 48-digit
+ * range: 6 evaluations for the double-precision formulas, 2 for bbp128.
+ */
+public class DigitAlgorithmBenchmark {
+
+    private static final int COUNT = 48;
+
+    public static void main(String[] args) {
+        DigitAlgorithm[] algorithms = {new BbpAlgorithm(), new BellardAlgorithm(), new FixedPointBbpAlgorithm()};
+        long[] positions = {1_000, 100_000, 1_000_000};
+
+        for (long position : positions) {
+            StringBuilder line = new StringBuilder(String.format("position %,12d", position));
+            for (DigitAlgorithm algorithm : algorithms) {
+                double millis = time(() -> algorithm.getDigits(position, COUNT));
+                line.append(String.format("  %s: %10.3f ms", algorithm.name(), millis));
+            }
+            System.out.println(line);
+        }
+    }
+}
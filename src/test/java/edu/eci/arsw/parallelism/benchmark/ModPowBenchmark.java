@@ -0,0 +1,101 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.core.VectorizedPiDigits;
+
+import static edu.eci.arsw.parallelism.benchmark.BenchmarkSupport.time;
+
+/**
+ * Manual micro-benchmark comparing the original int modpow path (four
+ * separate series) with the fused 64-bit kernel behind {@link PiDigits}.
+ *
+ * Not a JUnit test; run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=edu.eci.arsw.parallelism.benchmark.ModPowBenchmark}.
+ * The int path is only measured at positions where it is still exact. Build
+ * with {@code -Pvector} and run with {@code --add-modules jdk.incubator.vector}
+ * to include the SIMD kernel.
+ */
+public class ModPowBenchmark {
+
+    public static void main(String[] args) {
+        long[] positions = {1_000, 5_000, 100_000, 1_000_000};
+
+        for (long position : positions) {
+            double montgomery = time(() -> PiDigits.getDigits(position, 8));
+            String legacy = position < LegacyIntKernel.MAX_EXACT_START
+                    ? String.format("%10.3f ms", time(() -> LegacyIntKernel.getDigits((int) position, 8)))
+                    : "  overflow";
+            String vector = VectorizedPiDigits.isAvailable()
+                    ? String.format("%10.3f ms", time(() -> VectorizedPiDigits.getDigits(position, 8)))
+                    : "       n/a";
+            System.out.printf("position %,12d  int: %s  fused long: %10.3f ms  vector: %s%n",
+                    position, legacy, montgomery, vector);
+        }
+    }
+
+    /**
+     * Copy of the original int kernel, kept here only as a baseline.
+     */
+    static final class LegacyIntKernel {
+
+        /** 8k+6 must stay below 46341 so that result * result fits in an int. */
+        static final int MAX_EXACT_START = 5_792;
+
+        static byte[] getDigits(int start, int count) {
+            byte[] digits = new byte[count];
+            double sum = 0.0;
+            for (int i = 0; i < count; i++) {
+                if (i % 8 == 0) {
+                    sum = 4 * sum(1, start) - 2 * sum(4, start) - sum(5, start) - sum(6, start);
+                    start += 8;
+                }
+                sum = 16 * (sum - Math.floor(sum));
+                digits[i] = (byte) sum;
+            }
+            return digits;
+        }
+
+        private static double sum(int m, int n) {
+            double sum = 0.0;
+            int d = m;
+            int power = n;
+            while (true) {
+                double term;
+                if (power > 0) {
+                    term = (double) hexExponentModulo(power, d) / d;
+                } else {
+                    term = Math.pow(16, power) / d;
+                    if (term < 1e-17) {
+                        break;
+                    }
+                }
+                sum += term;
+                power--;
+                d += 8;
+            }
+            return sum;
+        }
+
+        private static int hexExponentModulo(int p, int m) {
+            int power = 1;
+            while (power * 2 <= p) {
+                power *= 2;
+            }
+            int result = 1;
+            while (power > 0) {
+                if (p >= power) {
+                    result *= 16;
+                    result %= m;
+                    p -= power;
+                }
+                power /= 2;
+                if (power > 0) {
+                    result *= result;
+                    result %= m;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.concurrency.BlockPartitioner;
+import edu.eci.arsw.parallelism.core.BellardAlgorithm;
+import edu.eci.arsw.parallelism.monitoring.SegmentTimings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static edu.eci.arsw.parallelism.benchmark.BenchmarkSupport.time;
+
+/**
+ * Manual benchmark of segment skew: times every segment of the old
+ * equal-digit split and of {@link BlockPartitioner} one after another, so
+ * the ratio of the slowest segment to the mean (the parallel slowdown
+ * versus a perfect split) shows up even on a single core.
+ */
+public class PartitionBenchmark {
+
+    public static void main(String[] args) {
+        BellardAlgorithm bellard = new BellardAlgorithm();
+        long start = 0;
+        int count = 20_003;
+        int parts = 7;
+
+        List<BlockPartitioner.Segment> equal = new ArrayList<>();
+        int base = count / parts;
+        long segmentStart = start;
+        for (int i = 0; i < parts; i++) {
+            int size = base + (i < count % parts ? 1 : 0);
+            equal.add(new BlockPartitioner.Segment(segmentStart, size, 0));
+            segmentStart += size;
+        }
+        List<BlockPartitioner.Segment> balanced = BlockPartitioner.partition(start, count, parts);
+
+        report("equal digits ", equal, bellard);
+        report("block, costed", balanced, bellard);
+    }
+
+    private static void report(String label, List<BlockPartitioner.Segment> segments, BellardAlgorithm bellard) {
+        double[] millis = new double[segments.size()];
+        double total = 0;
+        for (int i = 0; i < millis.length; i++) {
+            BlockPartitioner.Segment segment = segments.get(i);
+            millis[i] = time(() -> bellard.getDigits(segment.start(), segment.count()));
+            total += millis[i];
+        }
+        double slowest = SegmentTimings.skew(millis) * total / millis.length;
+        System.out.printf("%s  total: %10.3f ms  slowest segment: %10.3f ms  skew: %.3f%n",
+                label, total, slowest, SegmentTimings.skew(millis));
+    }
+}
@@ -0,0 +1,25 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.BinarySplittingPi;
+
+import static edu.eci.arsw.parallelism.benchmark.BenchmarkSupport.time;
+
+/**
+ * Manual benchmark locating the crossover between BBP range extraction and
+ * the binary-splitting prefix engine for ranges starting at 0.
+ */
+public class PrefixBenchmark {
+
+    public static void main(String[] args) {
+        int[] counts = {64, 256, 1_024, 4_096, 16_384};
+        BbpAlgorithm bbp = new BbpAlgorithm();
+
+        for (int count : counts) {
+            double incremental = time(() -> bbp.getDigits(0, count));
+            double prefix = time(() -> BinarySplittingPi.getDigits(0, count));
+            System.out.printf("count %,7d  bbp: %10.3f ms  binary splitting: %10.3f ms%n",
+                    count, incremental, prefix);
+        }
+    }
+}
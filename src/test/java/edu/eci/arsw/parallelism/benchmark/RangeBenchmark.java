@@ -0,0 +1,27 @@
+package edu.eci.arsw.parallelism.benchmark;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+
+import static edu.eci.arsw.parallelism.benchmark.BenchmarkSupport.time;
+
+/**
+ * Manual benchmark comparing independent per-block extraction
+ * ({@link PiDigits#getDigits}) with the incremental range engine behind
+ * {@link BbpAlgorithm} for growing counts.
+ */
+public class RangeBenchmark {
+
+    public static void main(String[] args) {
+        long start = 10_000;
+        int[] counts = {8, 256, 2_048, 8_192};
+        BbpAlgorithm bbp = new BbpAlgorithm();
+
+        for (int count : counts) {
+            double perBlock = time(() -> PiDigits.getDigits(start, count));
+            double incremental = time(() -> bbp.getDigits(start, count));
+            System.out.printf("start %,d count %,6d  per-block: %10.3f ms  incremental: %10.3f ms%n",
+                    start, count, perBlock, incremental);
+        }
+    }
+}
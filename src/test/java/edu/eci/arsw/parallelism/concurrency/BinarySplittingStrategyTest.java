@@ -0,0 +1,34 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySplittingStrategyTest {
+
+    private BinarySplittingStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new BinarySplittingStrategy();
+    }
+
+    @Test
+    void testName() {
+        assertEquals("prefix", strategy.name());
+    }
+
+    @Test
+    void testCalculateKnownSequence() {
+        assertEquals("243F6A8885", strategy.calculate(0, 10, 4));
+    }
+
+    @Test
+    void testCalculateConsistencyWithSequential() {
+        assertEquals(PiDigits.getDigitsHex(0, 500), strategy.calculate(0, 500, 1, new BbpAlgorithm()));
+        assertEquals(PiDigits.getDigitsHex(250, 40), strategy.calculate(250, 40, 1));
+    }
+}
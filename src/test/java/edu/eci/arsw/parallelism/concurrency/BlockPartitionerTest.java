@@ -0,0 +1,56 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockPartitionerTest {
+
+    @Test
+    void testSegmentsAreBlockAlignedAndContiguous() {
+        List<BlockPartitioner.Segment> segments = BlockPartitioner.partition(1000, 1003, 7);
+
+        assertEquals(7, segments.size());
+        long next = 1000;
+        int total = 0;
+        for (BlockPartitioner.Segment segment : segments) {
+            assertEquals(next, segment.start());
+            assertEquals(0, (segment.start() - 1000) % 8);
+            assertTrue(segment.count() > 0);
+            next += segment.count();
+            total += segment.count();
+        }
+        assertEquals(1003, total);
+    }
+
+    @Test
+    void testLaterSegmentsGetFewerDigits() {
+        List<BlockPartitioner.Segment> segments = BlockPartitioner.partition(0, 80_000, 4);
+
+        assertTrue(segments.get(0).count() > segments.get(3).count());
+        assertTrue(BlockPartitioner.skew(segments) < 1.01);
+    }
+
+    @Test
+    void testUniformCostSplitsEvenly() {
+        List<BlockPartitioner.Segment> segments = BlockPartitioner.partition(0, 64, 4, 8, n -> 1.0);
+
+        assertEquals(List.of(16, 16, 16, 16), segments.stream().map(BlockPartitioner.Segment::count).toList());
+        assertEquals(1.0, BlockPartitioner.skew(segments), 1e-12);
+    }
+
+    @Test
+    void testNeverMorePartsThanBlocks() {
+        assertEquals(2, BlockPartitioner.partition(0, 13, 5).size());
+        assertEquals(1, BlockPartitioner.partition(0, 1, 8).size());
+        assertTrue(BlockPartitioner.partition(0, 0, 4).isEmpty());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BlockPartitioner.partition(0, -1, 4));
+        assertThrows(IllegalArgumentException.class, () -> BlockPartitioner.partition(0, 10, 0));
+    }
+}
@@ -0,0 +1,102 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.BellardAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.ComputeCancelledException;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockSplitStrategyTest {
+
+    private BlockSplitStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new BlockSplitStrategy(new PoolStrategy(2));
+    }
+
+    @Test
+    void testName() {
+        assertEquals("block", strategy.name());
+    }
+
+    @Test
+    void testCalculateKnownSequence() {
+        assertEquals("243F6A8885", strategy.calculate(0, 10, 4));
+    }
+
+    @Test
+    void testCalculateConsistencyWithSequential() {
+        // Blocks are summed in a different order; compare the first 6 digits of each.
+        String expected = PiDigits.getDigitsHex(5000, 48);
+        String actual = strategy.calculate(5000, 48, 3);
+
+        assertEquals(expected.length(), actual.length());
+        for (int b = 0; b < expected.length(); b += 8) {
+            assertEquals(expected.substring(b, b + 6), actual.substring(b, b + 6), "block at " + b);
+        }
+    }
+
+    @Test
+    void testMoreThreadsThanTerms() {
+        assertEquals(PiDigits.getDigitsHex(2, 5), strategy.calculate(2, 5, 16));
+    }
+
+    @Test
+    void testOtherAlgorithmsAreComputedDirectly() {
+        assertEquals("243F6A8885", strategy.calculate(0, 10, 4, new BellardAlgorithm()));
+    }
+
+    @Test
+    void testOnlyBbpResultsAreInexact() {
+        assertFalse(strategy.exact(new BbpAlgorithm()));
+        assertTrue(strategy.exact(new BellardAlgorithm()));
+    }
+
+    @Test
+    void testSliceStartCoversAllTerms() {
+        assertEquals(0, BlockSplitStrategy.sliceStart(10, 0, 3));
+        assertEquals(4, BlockSplitStrategy.sliceStart(10, 1, 3));
+        assertEquals(7, BlockSplitStrategy.sliceStart(10, 2, 3));
+        assertEquals(10, BlockSplitStrategy.sliceStart(10, 3, 3));
+    }
+
+    @Test
+    void testCancelledTokenStopsBetweenBlocks() {
+        CancellationToken token = CancellationToken.none();
+        token.cancel("test");
+
+        assertThrows(ComputeCancelledException.class,
+                () -> strategy.calculate(1000, 64, 2, new BbpAlgorithm(), token));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testCallFromThePoolItselfDoesNotDeadlock() {
+        PoolStrategy single = new PoolStrategy(1);
+        BlockSplitStrategy split = new BlockSplitStrategy(single);
+        CompletableFuture<String> result = new CompletableFuture<>();
+        try {
+            // The only worker waits for slices queued behind it unless it runs them itself.
+            single.execute(() -> {
+                try {
+                    result.complete(split.calculate(2, 5, 4));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+
+            assertEquals(PiDigits.getDigitsHex(2, 5), result.join());
+        } finally {
+            single.shutdown();
+        }
+    }
+}
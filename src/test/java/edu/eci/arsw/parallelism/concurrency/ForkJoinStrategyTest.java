@@ -0,0 +1,84 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.BellardAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForkJoinStrategyTest {
+
+    private ForkJoinStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new ForkJoinStrategy(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        strategy.shutdown();
+    }
+
+    @Test
+    void testName() {
+        assertEquals("forkjoin", strategy.name());
+    }
+
+    @Test
+    void testCalculateKnownSequence() {
+        assertEquals("243F6A8885", strategy.calculate(0, 10, 4));
+        assertEquals("", strategy.calculate(0, 0, 4));
+    }
+
+    @Test
+    void testCalculateConsistencyWithSequential() {
+        assertEquals(new BbpAlgorithm().getDigitsHex(1000, 203), strategy.calculate(1000, 203, 3));
+        assertEquals(new BellardAlgorithm().getDigitsHex(0, 99),
+                strategy.calculate(0, 99, 2, new BellardAlgorithm()));
+    }
+
+    @Test
+    void testWriteHexFillsOnlyItsPartOfTheBuffer() {
+        byte[] out = new byte[207];
+
+        strategy.writeHex(1000, 203, 3, new BbpAlgorithm(), out, 2, CancellationToken.none());
+
+        assertEquals("\0\0" + new BbpAlgorithm().getDigitsHex(1000, 203) + "\0\0", PiDigits.asciiToString(out));
+    }
+
+    @Test
+    void testReportsStealsAndWorkerBusyTime() {
+        DigitAlgorithm slow = new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new BbpAlgorithm().getDigits(start, count);
+            }
+
+            @Override
+            public String name() {
+                return "slow";
+            }
+        };
+
+        var result = new PerformanceMonitor()
+                .measurePiCalculation(() -> strategy.calculate(0, 256, 4, slow), "forkjoin", 4);
+
+        assertEquals(new BbpAlgorithm().getDigitsHex(0, 256), result.digits());
+        assertEquals(16, result.segmentMillis().length);
+        assertTrue(result.steals() > 0);
+        assertTrue(result.workerBusyMillis().size() > 1);
+        assertTrue(result.workerBusyMillis().values().stream().allMatch(ms -> ms > 0));
+    }
+}
@@ -0,0 +1,143 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolStrategyTest {
+
+    private PoolStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new PoolStrategy(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        strategy.shutdown();
+    }
+
+    @Test
+    void testName() {
+        assertEquals("pool", strategy.name());
+    }
+
+    @Test
+    void testCalculateKnownSequence() {
+        assertEquals("243F6A8885", strategy.calculate(0, 10, 4));
+    }
+
+    @Test
+    void testCalculateConsistencyWithSequential() {
+        String sequential = new BbpAlgorithm().getDigitsHex(1000, 203);
+        assertEquals(sequential, strategy.calculate(1000, 203, 8));
+    }
+
+    @Test
+    void testThreadsAreReusedAcrossRequests() throws Exception {
+        List<Thread> callers = new ArrayList<>();
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 8; i++) {
+            Thread caller = new Thread(() -> results.add(strategy.calculate(0, 64, 8)));
+            callers.add(caller);
+            caller.start();
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertEquals(8, results.size());
+        results.forEach(r -> assertEquals(results.get(0), r));
+        PoolStats stats = strategy.stats();
+        assertEquals(2, stats.poolSize());
+        // The executor counts a task as completed slightly after its result is available.
+        assertTrue(stats.completedTasks() > 0 && stats.completedTasks() <= 64);
+    }
+
+    @Test
+    void testStatsShowQueuedSegments() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(2);
+        DigitAlgorithm blocking = new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new byte[count];
+            }
+
+            @Override
+            public String name() {
+                return "blocking";
+            }
+        };
+
+        Thread caller = new Thread(() -> strategy.calculate(0, 32, 4, blocking));
+        caller.start();
+        running.await();
+
+        PoolStats stats = strategy.stats();
+        assertEquals(2, stats.activeWorkers());
+        assertEquals(2, stats.queueDepth());
+
+        release.countDown();
+        caller.join();
+    }
+
+    @Test
+    void testSegmentFailureIsRethrown() {
+        DigitAlgorithm failing = new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                throw new IllegalStateException("boom");
+            }
+
+            @Override
+            public String name() {
+                return "failing";
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> strategy.calculate(0, 16, 2, failing));
+    }
+
+    @Test
+    void testSegmentErrorIsRethrownInsteadOfZeros() {
+        DigitAlgorithm failing = new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                throw new StackOverflowError("boom");
+            }
+
+            @Override
+            public String name() {
+                return "failing";
+            }
+        };
+
+        assertThrows(StackOverflowError.class, () -> strategy.calculate(0, 16, 2, failing));
+    }
+
+    @Test
+    void testRecordsSegmentTimings() {
+        var result = new PerformanceMonitor()
+                .measurePiCalculation(() -> strategy.calculate(0, 100, 4), "pool", 4);
+
+        assertEquals(4, result.segmentMillis().length);
+    }
+}
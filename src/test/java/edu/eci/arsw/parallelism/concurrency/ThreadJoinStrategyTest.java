@@ -1,7 +1,15 @@
 package edu.eci.arsw.parallelism.concurrency;
 
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.ComputeCancelledException;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import edu.eci.arsw.parallelism.core.PiDigits;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +50,15 @@ class ThreadJoinStrategyTest {
         assertEquals(sequential, parallel);
     }
 
+    @Test
+    void testWriteHexFillsOnlyItsPartOfTheBuffer() {
+        byte[] out = new byte[44];
+
+        strategy.writeHex(1000, 40, 3, new BbpAlgorithm(), out, 2, CancellationToken.none());
+
+        assertEquals("\0\0" + PiDigits.getDigitsHex(1000, 40) + "\0\0", PiDigits.asciiToString(out));
+    }
+
     @Test
     void testCalculateWithMoreThreadsThanDigits() {
         String result = strategy.calculate(0, 5, 10);
@@ -130,4 +147,71 @@ class ThreadJoinStrategyTest {
         assertNotNull(result);
         assertEquals(10, result.length());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAlignedSegmentsMatchSequentialExactly() {
+        // Block-aligned segments evaluate the same blocks as one sequential pass.
+        String sequential = new edu.eci.arsw.parallelism.core.BbpAlgorithm().getDigitsHex(5000, 203);
+        assertEquals(sequential, strategy.calculate(5000, 203, 6));
+    }
+
+    @Test
+    void testRecordsSegmentTimings() {
+        var result = new edu.eci.arsw.parallelism.monitoring.PerformanceMonitor()
+                .measurePiCalculation(() -> strategy.calculate(0, 100, 4), "threads", 4);
+
+        assertEquals(4, result.segmentMillis().length);
+        assertTrue(result.skew() >= 1.0);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testDeadlineStopsEverySegment() {
+        CancellationToken token = CancellationToken.withTimeout(50);
+
+        assertThrows(ComputeCancelledException.class,
+                () -> strategy.calculate(200_000_000L, 64, 4, new BbpAlgorithm(), token));
+    }
+
+    @Test
+    void testSegmentFailureWinsOverTheCancellationItCauses() {
+        DigitAlgorithm failing = new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                if (start == 0) {
+                    throw new IllegalStateException("boom");
+                }
+                return PiDigits.getDigits(start, count);
+            }
+
+            @Override
+            public String name() {
+                return "failing";
+            }
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> strategy.calculate(0, 64, 4, failing, CancellationToken.none()));
+    }
+
+    @Test
+    void testSegmentErrorIsRethrownInsteadOfZeros() {
+        DigitAlgorithm failing = new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                if (start != 0) {
+                    throw new StackOverflowError("boom");
+                }
+                return PiDigits.getDigits(start, count);
+            }
+
+            @Override
+            public String name() {
+                return "failing";
+            }
+        };
+
+        assertThrows(StackOverflowError.class,
+                () -> strategy.calculate(0, 64, 4, failing, CancellationToken.none()));
+    }
+}
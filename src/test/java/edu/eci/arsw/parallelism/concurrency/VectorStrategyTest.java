@@ -0,0 +1,62 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.BellardAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.ComputeCancelledException;
+import edu.eci.arsw.parallelism.core.PiDigits;
+import edu.eci.arsw.parallelism.core.VectorizedPiDigits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorStrategyTest {
+
+    private VectorStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new VectorStrategy();
+    }
+
+    @Test
+    void testName() {
+        assertEquals("vector", strategy.name());
+    }
+
+    @Test
+    void testCalculateKnownSequence() {
+        assertEquals("243F6A8885", strategy.calculate(0, 10, 1));
+    }
+
+    @Test
+    void testCalculateConsistencyWithSequential() {
+        // Lane sums are added in a different order, so only digits well inside
+        // double precision (the first 6 of a block) are compared.
+        for (long start : new long[]{0, 3, 8, 1000, 5000, 20_000}) {
+            assertEquals(PiDigits.getDigitsHex(start, 6), strategy.calculate(start, 6, 4), "start = " + start);
+        }
+    }
+
+    @Test
+    void testCalculateZeroCount() {
+        assertEquals("", strategy.calculate(0, 0, 4));
+    }
+
+    @Test
+    void testSimdBbpResultsAreInexact() {
+        assertEquals(!VectorizedPiDigits.isAvailable(), strategy.exact(new BbpAlgorithm()));
+        assertTrue(strategy.exact(new BellardAlgorithm()));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testDeadlineStopsBetweenBlocks() {
+        assertThrows(ComputeCancelledException.class,
+                () -> strategy.calculate(100_000, 32_000, 1, new BbpAlgorithm(), CancellationToken.withTimeout(50)));
+    }
+}
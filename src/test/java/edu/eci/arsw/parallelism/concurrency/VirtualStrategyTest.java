@@ -0,0 +1,150 @@
+package edu.eci.arsw.parallelism.concurrency;
+
+import edu.eci.arsw.parallelism.core.BbpAlgorithm;
+import edu.eci.arsw.parallelism.core.CancellationToken;
+import edu.eci.arsw.parallelism.core.DigitAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualStrategyTest {
+
+    private VirtualStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new VirtualStrategy(2);
+    }
+
+    @Test
+    void testName() {
+        assertEquals("virtual", strategy.name());
+    }
+
+    @Test
+    void testCalculateKnownSequence() {
+        assertEquals("243F6A8885", strategy.calculate(0, 10, 4));
+    }
+
+    @Test
+    void testCalculateConsistencyWithSequential() {
+        assertEquals(new BbpAlgorithm().getDigitsHex(1000, 203), strategy.calculate(1000, 203, 8));
+        assertEquals(2, strategy.availablePermits());
+    }
+
+    @Test
+    void testPermitsBoundConcurrentSegments() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        DigitAlgorithm tracking = algorithm((start, count) -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return new byte[count];
+        });
+
+        strategy.calculate(0, 64, 8, tracking);
+
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testFailureCancelsSiblings() {
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        VirtualStrategy wide = new VirtualStrategy(8);
+        DigitAlgorithm failing = algorithm((start, count) -> {
+            if (start == 0) {
+                throw new IllegalStateException("boom");
+            }
+            try {
+                never.await();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                Thread.currentThread().interrupt();
+            }
+            return new byte[count];
+        });
+
+        // Siblings never finish on their own: returning at all means they were cancelled.
+        assertThrows(IllegalStateException.class, () -> wide.calculate(0, 64, 8, failing));
+        assertTrue(interrupted.get() <= 7);
+        assertEquals(8, wide.availablePermits());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testInterruptCancelsComputingSegments() throws Exception {
+        CountDownLatch computing = new CountDownLatch(1);
+        CancellationToken token = CancellationToken.none();
+        // Computes until its token is cancelled, ignoring interrupts.
+        DigitAlgorithm endless = new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public byte[] getDigits(long start, int count, CancellationToken token) {
+                computing.countDown();
+                while (true) {
+                    token.throwIfCancelled();
+                    LockSupport.parkNanos(1_000_000);
+                }
+            }
+
+            @Override
+            public String name() {
+                return "endless";
+            }
+        };
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                strategy.calculate(0, 16, 2, endless, token);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+
+        // A regression would leave it spinning; do not keep the JVM alive for it.
+        caller.setDaemon(true);
+        caller.start();
+        computing.await();
+        caller.interrupt();
+        caller.join(3_000);
+
+        assertFalse(caller.isAlive(), "interrupt did not stop the computing segments");
+        assertTrue(token.isCancelled());
+        assertInstanceOf(RuntimeException.class, failure.get());
+        assertEquals(2, strategy.availablePermits());
+    }
+
+    private static DigitAlgorithm algorithm(BiFunction<Long, Integer, byte[]> digits) {
+        return new DigitAlgorithm() {
+            @Override
+            public byte[] getDigits(long start, int count) {
+                return digits.apply(start, count);
+            }
+
+            @Override
+            public String name() {
+                return "test";
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BbpAlgorithmTest {
+
+    private final BbpAlgorithm bbp = new BbpAlgorithm();
+
+    @Test
+    void testName() {
+        assertEquals("bbp", bbp.name());
+    }
+
+    @Test
+    void testGetDigitsDelegatesToPiDigits() {
+        assertArrayEquals(PiDigits.getDigits(10, 20), bbp.getDigits(10, 20));
+    }
+
+    @Test
+    void testGetDigitsHex() {
+        assertEquals("243F6A8885", bbp.getDigitsHex(0, 10));
+    }
+
+    @Test
+    void testWriteHexFillsTheBufferAtTheOffset() {
+        byte[] out = "..........____".getBytes(java.nio.charset.StandardCharsets.ISO_8859_1);
+        bbp.writeHex(1000, 10, out, 2, CancellationToken.none());
+
+        assertEquals(".." + bbp.getDigitsHex(1000, 10) + "__", PiDigits.asciiToString(out));
+    }
+
+    @Test
+    void testDefaultWriteHexMatchesGetDigits() {
+        DigitAlgorithm bellard = new BellardAlgorithm();
+        byte[] out = new byte[20];
+        bellard.writeHex(50, 12, out, 8, CancellationToken.none());
+
+        assertEquals(PiDigits.toHex(bellard.getDigits(50, 12)), PiDigits.asciiToString(out).substring(8));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testCancelledTokenStopsTheTermLoop() {
+        CancellationToken token = CancellationToken.withTimeout(50);
+
+        // Takes tens of seconds when not stopped.
+        assertThrows(ComputeCancelledException.class, () -> bbp.getDigits(200_000_000L, 64, token));
+    }
+
+    @Test
+    void testTokenIsCheckedBeforeStarting() {
+        CancellationToken token = CancellationToken.none();
+        token.cancel("test");
+
+        assertThrows(ComputeCancelledException.class, () -> bbp.getDigitsHex(0, 8, token));
+        assertThrows(ComputeCancelledException.class, () -> new BellardAlgorithm().getDigits(0, 8, token));
+        assertEquals(bbp.getDigitsHex(0, 16), bbp.getDigitsHex(0, 16, CancellationToken.none()));
+    }
+}
@@ -0,0 +1,57 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BellardAlgorithmTest {
+
+    private final BellardAlgorithm bellard = new BellardAlgorithm();
+    private final BbpAlgorithm bbp = new BbpAlgorithm();
+
+    @Test
+    void testName() {
+        assertEquals("bellard", bellard.name());
+    }
+
+    @Test
+    void testGetDigitsKnownSequence() {
+        assertEquals("243F6A8885A308D313198A2E", bellard.getDigitsHex(0, 24));
+    }
+
+    @Test
+    void testGetDigitsMatchesBbp() {
+        // The first 6 digits of each block are well inside double precision for both formulas.
+        for (long start : new long[]{1, 2, 3, 7, 100, 1000, 5000, 12_345, 100_000}) {
+            assertEquals(bbp.getDigitsHex(start, 6), bellard.getDigitsHex(start, 6), "start = " + start);
+        }
+    }
+
+    @Test
+    void testGetDigitsBeyondIntModulusRange() {
+        assertEquals("26C65E", bellard.getDigitsHex(999_999L, 6));
+    }
+
+    @Test
+    void testGetDigitsZeroCount() {
+        assertEquals(0, bellard.getDigits(0, 0).length);
+    }
+
+    @Test
+    void testGetDigitsNegativeStart() {
+        assertThrows(IllegalArgumentException.class, () -> bellard.getDigits(-1, 5));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testDeadlineStopsBetweenBlocks() {
+        // Thousands of blocks at this position take minutes when not stopped.
+        assertThrows(ComputeCancelledException.class,
+                () -> bellard.getDigits(100_000, 32_000, CancellationToken.withTimeout(50)));
+        assertThrows(ComputeCancelledException.class,
+                () -> bellard.writeHex(100_000, 32_000, new byte[32_000], 0, CancellationToken.withTimeout(50)));
+    }
+}
@@ -0,0 +1,56 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySplittingPiTest {
+
+    private static final String PI_HEX_128 =
+            "243F6A8885A308D313198A2E03707344A4093822299F31D0082EFA98EC4E6C89"
+            + "452821E638D01377BE5466CF34E90C6CC0AC29B7C97C50DD3F84D5B5B5470917";
+
+    @Test
+    void testGetDigitsKnownPrefix() {
+        assertEquals(PI_HEX_128, PiDigits.toHex(BinarySplittingPi.getDigits(0, 128)));
+    }
+
+    @Test
+    void testGetDigitsSlice() {
+        assertEquals(PI_HEX_128.substring(37, 100), PiDigits.toHex(BinarySplittingPi.getDigits(37, 63)));
+    }
+
+    @Test
+    void testGetDigitsMatchesFixedPointBbp() {
+        String expected = new FixedPointBbpAlgorithm().getDigitsHex(4000, 96);
+        assertEquals(expected, PiDigits.toHex(BinarySplittingPi.getDigits(4000, 96)));
+    }
+
+    @Test
+    void testGetDigitsZeroCount() {
+        assertEquals(0, BinarySplittingPi.getDigits(5, 0).length);
+    }
+
+    @Test
+    void testGetDigitsInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> BinarySplittingPi.getDigits(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> BinarySplittingPi.getDigits(0, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinarySplittingPi.getDigits(BinarySplittingPi.MAX_DIGITS, 1));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testDeadlineStopsTheSplitting() {
+        CancellationToken cancelled = CancellationToken.none();
+        cancelled.cancel("test");
+
+        assertThrows(ComputeCancelledException.class, () -> BinarySplittingPi.getDigits(0, 128, cancelled));
+        // The whole prefix takes far longer than the deadline.
+        assertThrows(ComputeCancelledException.class,
+                () -> BinarySplittingPi.getDigits(0, BinarySplittingPi.MAX_DIGITS, CancellationToken.withTimeout(50)));
+    }
+}
@@ -0,0 +1,155 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockCacheTest {
+
+    @Test
+    void testStoresAndReturnsPackedBlocks() {
+        BlockCache cache = new BlockCache(1 << 20);
+        String block = PiDigits.getDigitsHex(8, 8);
+
+        assertNull(get(cache, "bbp", 1));
+        put(cache, "bbp", 1, block);
+
+        assertEquals(block, get(cache, "bbp", 1));
+        assertNull(get(cache, "bellard", 1));
+        assertEquals("0123ABEF", roundTrip(cache, "0123ABEF"));
+        assertEquals("0123ABEF", roundTrip(cache, "0123abef"));
+    }
+
+    @Test
+    void testRunsSpanPagesAndReportMissingBlocks() {
+        BlockCache cache = new BlockCache(1 << 20, true);
+        long first = BlockCache.PAGE_BLOCKS - 2;
+        String digits = PiDigits.getDigitsHex(first * 8, 32);
+        put(cache, "bbp", first, digits.substring(0, 16));
+        put(cache, "bbp", first + 3, digits.substring(24));
+
+        byte[] hex = new byte[32];
+        boolean[] present = new boolean[4];
+        assertEquals(3, cache.readHex("bbp", first, 4, hex, 0, present));
+        assertArrayEquals(new boolean[] {true, true, false, true}, present);
+        assertEquals(digits.substring(0, 16), new String(hex, 0, 16, StandardCharsets.ISO_8859_1));
+        assertEquals(digits.substring(24), new String(hex, 24, 8, StandardCharsets.ISO_8859_1));
+        assertEquals(3, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+
+        assertFalse(cache.getHex("bbp", first, 4, new byte[32], 0));
+        put(cache, "bbp", first, digits);
+        assertTrue(cache.getHex("bbp", first, 4, hex, 0));
+        assertEquals(digits, new String(hex, StandardCharsets.ISO_8859_1));
+        assertEquals(4, cache.stats().blocks());
+    }
+
+    @Test
+    void testGetPackedCopiesThePackedBlocks() {
+        BlockCache cache = new BlockCache(1 << 20, true);
+        byte[] out = new byte[10];
+
+        assertFalse(cache.getPacked("bbp", 0, 2, out, 1));
+        put(cache, "bbp", 0, "243F6A8885A308D3");
+
+        assertTrue(cache.getPacked("bbp", 0, 2, out, 1));
+        assertArrayEquals(new byte[] {0, 0x24, 0x3F, 0x6A, (byte) 0x88, (byte) 0x85, (byte) 0xA3, 0x08,
+                (byte) 0xD3, 0}, out);
+        assertEquals(2, cache.stats().hits());
+        assertEquals(0, cache.stats().misses());
+    }
+
+    @Test
+    void testStatsCountHitsMissesAndResidentBytes() {
+        BlockCache cache = new BlockCache(1 << 20);
+        put(cache, "bbp", 0, "243F6A88");
+        put(cache, "bbp", 1, "85A308D3");
+        get(cache, "bbp", 0);
+        get(cache, "bbp", 2);
+
+        CacheStats stats = cache.stats();
+
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRatio());
+        assertEquals(2, stats.blocks());
+        assertEquals(BlockCache.PAGE_FOOTPRINT, stats.bytesResident());
+        assertEquals(0, stats.evictions());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedPageOverBudget() {
+        BlockCache cache = new BlockCache(2L * BlockCache.PAGE_FOOTPRINT);
+        long page = BlockCache.PAGE_BLOCKS;
+        put(cache, "bbp", 0, "243F6A88");
+        put(cache, "bbp", page, "85A308D3");
+        get(cache, "bbp", 0);
+        put(cache, "bbp", 2 * page, "13198A2E");
+
+        assertNotNull(get(cache, "bbp", 0));
+        assertNull(get(cache, "bbp", page));
+        assertNotNull(get(cache, "bbp", 2 * page));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2L * BlockCache.PAGE_FOOTPRINT, cache.stats().bytesResident());
+    }
+
+    @Test
+    void testContainsAllDoesNotCountLookups() {
+        BlockCache cache = new BlockCache(1 << 20);
+        put(cache, "bbp", 3, "243F6A88");
+        put(cache, "bbp", 4, "85A308D3");
+
+        assertTrue(cache.containsAll("bbp", 3, 5));
+        assertFalse(cache.containsAll("bbp", 3, 6));
+        assertFalse(cache.containsAll("bbp", 3, 3));
+        assertEquals(0, cache.stats().hits() + cache.stats().misses());
+    }
+
+    @Test
+    void testBudgetBelowOnePageDisablesTheCache() {
+        BlockCache cache = new BlockCache(BlockCache.PAGE_FOOTPRINT - 1);
+        put(cache, "bbp", 0, "243F6A88");
+
+        assertFalse(cache.isEnabled());
+        assertFalse(BlockCache.disabled().isEnabled());
+        assertNull(get(cache, "bbp", 0));
+        assertEquals(0, cache.stats().bytesResident());
+    }
+
+    @Test
+    void testOffHeapPagesBehaveLikeHeapPages() {
+        BlockCache cache = new BlockCache(2L * BlockCache.PAGE_FOOTPRINT, true);
+        long page = BlockCache.PAGE_BLOCKS;
+        put(cache, "bbp", 0, "243F6A88");
+        put(cache, "bbp", page, "85A308D3");
+        put(cache, "bbp", 2 * page + 1, "13198A2E");
+
+        assertNull(get(cache, "bbp", 0));
+        assertEquals("85A308D3", get(cache, "bbp", page));
+        assertEquals("13198A2E", get(cache, "bbp", 2 * page + 1));
+        assertNull(get(cache, "bbp", 2 * page));
+
+        CacheStats stats = cache.stats();
+        assertTrue(stats.offHeap());
+        assertEquals(OffHeapPageStore.SLAB_BYTES, stats.offHeapBytes());
+        assertEquals(1, stats.evictions());
+    }
+
+    private static String roundTrip(BlockCache cache, String digits) {
+        put(cache, "test", 7, digits);
+        return get(cache, "test", 7);
+    }
+
+    private static void put(BlockCache cache, String algorithm, long first, String digits) {
+        cache.putHex(algorithm, first, digits.length() / 8, digits.getBytes(StandardCharsets.ISO_8859_1), 0);
+    }
+
+    private static String get(BlockCache cache, String algorithm, long block) {
+        byte[] hex = new byte[8];
+        return cache.readHex(algorithm, block, 1, hex, 0, new boolean[1]) == 1
+                ? new String(hex, StandardCharsets.ISO_8859_1)
+                : null;
+    }
+}
@@ -0,0 +1,320 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockCoalescerTest {
+
+    private final BlockCoalescer coalescer = new BlockCoalescer(true);
+
+    @Test
+    void testComputesWholeBlocksAndSlicesTheRange() {
+        List<String> calls = new ArrayList<>();
+
+        String digits = compute(coalescer, "bbp", 5, 10, (start, count) -> {
+            calls.add(start + "+" + count);
+            return PiDigits.getDigitsHex(start, count);
+        });
+
+        assertEquals(PiDigits.getDigitsHex(0, 16).substring(5, 15), digits);
+        assertEquals(List.of("0+16"), calls);
+        assertEquals(new CoalescingStats(2, 0, 0), coalescer.stats());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testOverlappingRequestSubscribesAndComputesOnlyMissingBlocks() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<String> firstResult = new AtomicReference<>();
+
+        Thread first = new Thread(() -> firstResult.set(compute(coalescer, "bbp", 0, 32, (start, count) -> {
+            calls.add(start + "+" + count);
+            firstStarted.countDown();
+            try {
+                releaseFirst.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return PiDigits.getDigitsHex(start, count);
+        })));
+        first.start();
+        firstStarted.await();
+        assertEquals(4, coalescer.stats().inFlightBlocks());
+
+        AtomicReference<String> secondResult = new AtomicReference<>();
+        Thread second = new Thread(() -> secondResult.set(compute(coalescer, "bbp", 16, 32, (start, count) -> {
+            calls.add(start + "+" + count);
+            return PiDigits.getDigitsHex(start, count);
+        })));
+        second.start();
+        while (!calls.contains("32+16")) {
+            Thread.onSpinWait();
+        }
+        assertTrue(second.isAlive(), "second request must wait for the shared blocks");
+
+        releaseFirst.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(PiDigits.getDigitsHex(0, 32), firstResult.get());
+        assertEquals(PiDigits.getDigitsHex(0, 48).substring(16), secondResult.get());
+        assertEquals(List.of("0+32", "32+16"), calls);
+        assertEquals(new CoalescingStats(6, 2, 0), coalescer.stats());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testRequestInsideARunTakesItsPartAndComputesTheGapsAround() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        Thread first = new Thread(() -> compute(coalescer, "bbp", 16, 16, (start, count) -> {
+            firstStarted.countDown();
+            try {
+                releaseFirst.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return PiDigits.getDigitsHex(start, count);
+        }));
+        first.start();
+        firstStarted.await();
+
+        AtomicReference<String> result = new AtomicReference<>();
+        Thread second = new Thread(() -> result.set(compute(coalescer, "bbp", 4, 40, (start, count) -> {
+            calls.add(start + "+" + count);
+            return PiDigits.getDigitsHex(start, count);
+        })));
+        second.start();
+        while (calls.size() < 2) {
+            Thread.onSpinWait();
+        }
+        releaseFirst.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(PiDigits.getDigitsHex(4, 40), result.get());
+        assertEquals(List.of("0+16", "32+16"), calls);
+        assertEquals(new CoalescingStats(6, 2, 0), coalescer.stats());
+    }
+
+    @Test
+    void testAlignedRangeIsAssembledInTheCallersBuffer() {
+        BlockCoalescer cached = new BlockCoalescer(true, new BlockCache(1 << 20));
+        compute(cached, "bbp", 8, 8, PiDigits::getDigitsHex);
+        byte[] out = new byte[28];
+
+        cached.compute("bbp", 0, 24, out, 2, (start, count, hex, offset) -> {
+            assertSame(out, hex);
+            PiDigits.getDigitsHex(start, count, hex, offset);
+        });
+
+        assertEquals("\0\0" + PiDigits.getDigitsHex(0, 24) + "\0\0", PiDigits.asciiToString(out));
+        assertEquals(3, cached.stats().computedBlocks());
+    }
+
+    @Test
+    void testAlgorithmsDoNotShareBlocks() {
+        compute(coalescer, "bbp", 0, 8, PiDigits::getDigitsHex);
+        compute(coalescer, "bellard", 0, 8, PiDigits::getDigitsHex);
+
+        assertEquals(2, coalescer.stats().computedBlocks());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testFailureIsPropagatedToSubscribers() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch failFirst = new CountDownLatch(1);
+        AtomicReference<Throwable> secondError = new AtomicReference<>();
+
+        Thread first = new Thread(() -> assertThrows(IllegalStateException.class,
+                () -> compute(coalescer, "bbp", 0, 16, (start, count) -> {
+                    firstStarted.countDown();
+                    try {
+                        failFirst.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IllegalStateException("boom");
+                })));
+        first.start();
+        firstStarted.await();
+
+        Thread second = new Thread(() -> {
+            try {
+                compute(coalescer, "bbp", 0, 8, PiDigits::getDigitsHex);
+            } catch (RuntimeException e) {
+                secondError.set(e);
+            }
+        });
+        second.start();
+        while (coalescer.stats().coalescedBlocks() == 0) {
+            Thread.onSpinWait();
+        }
+
+        failFirst.countDown();
+        first.join();
+        second.join();
+
+        assertInstanceOf(IllegalStateException.class, secondError.get());
+        assertEquals(0, coalescer.stats().inFlightBlocks());
+        assertEquals("243F6A88", compute(coalescer, "bbp", 0, 8, PiDigits::getDigitsHex));
+    }
+
+    @Test
+    void testDisabledPassesRangeThrough() {
+        List<String> calls = new ArrayList<>();
+
+        compute(BlockCoalescer.disabled(), "bbp", 5, 10, (start, count) -> {
+            calls.add(start + "+" + count);
+            return PiDigits.getDigitsHex(start, count);
+        });
+
+        assertEquals(List.of("5+10"), calls);
+    }
+
+    @Test
+    void testCachedBlocksAreServedAndOnlyGapsComputed() {
+        BlockCoalescer cached = new BlockCoalescer(true, new BlockCache(1 << 20));
+        List<String> calls = new ArrayList<>();
+        Digits computer = (start, count) -> {
+            calls.add(start + "+" + count);
+            return PiDigits.getDigitsHex(start, count);
+        };
+        compute(cached, "bbp", 8, 8, computer);
+        compute(cached, "bbp", 32, 8, computer);
+        calls.clear();
+
+        assertEquals(PiDigits.getDigitsHex(4, 36), compute(cached, "bbp", 4, 36, computer));
+        assertEquals(List.of("0+8", "16+16"), calls);
+        assertEquals(PiDigits.getDigitsHex(10, 28), cached(cached, "bbp", 10, 28));
+        assertNull(cached(cached, "bbp", 10, 40));
+
+        byte[] packed = new byte[14];
+        byte[] expected = new byte[14];
+        PiDigits.getDigitsPacked(11, 27, expected, 0);
+        assertTrue(cached.cachedPacked("bbp", 11, 27, packed, 0));
+        assertArrayEquals(expected, packed);
+        assertFalse(cached.cachedPacked("bbp", 10, 40, new byte[20], 0));
+        assertEquals(5, cached.stats().computedBlocks());
+        assertEquals(0, cached.stats().coalescedBlocks());
+    }
+
+    @Test
+    void testCacheWorksWithCoalescingDisabled() {
+        BlockCoalescer cacheOnly = new BlockCoalescer(false, new BlockCache(1 << 20));
+        List<String> calls = new ArrayList<>();
+        Digits computer = (start, count) -> {
+            calls.add(start + "+" + count);
+            return PiDigits.getDigitsHex(start, count);
+        };
+
+        compute(cacheOnly, "bbp", 0, 16, computer);
+        compute(cacheOnly, "bbp", 0, 16, computer);
+
+        assertEquals(List.of("0+16"), calls);
+        assertNull(cached(BlockCoalescer.disabled(), "bbp", 0, 16));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testSubscriberRecomputesBlocksOfACancelledOwner() throws Exception {
+        CountDownLatch ownerStarted = new CountDownLatch(1);
+        CountDownLatch cancelOwner = new CountDownLatch(1);
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        Thread owner = new Thread(() -> assertThrows(ComputeCancelledException.class,
+                () -> compute(coalescer, "bbp", 0, 8, (start, count) -> {
+                    ownerStarted.countDown();
+                    try {
+                        cancelOwner.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new ComputeCancelledException("client disconnected");
+                })));
+        owner.start();
+        ownerStarted.await();
+
+        AtomicReference<String> result = new AtomicReference<>();
+        Thread subscriber = new Thread(() -> result.set(compute(coalescer, "bbp", 0, 8, (start, count) -> {
+            calls.add(start + "+" + count);
+            return PiDigits.getDigitsHex(start, count);
+        })));
+        subscriber.start();
+        while (coalescer.stats().coalescedBlocks() == 0) {
+            Thread.onSpinWait();
+        }
+        cancelOwner.countDown();
+        owner.join();
+        subscriber.join();
+
+        assertEquals(PiDigits.getDigitsHex(0, 8), result.get());
+        assertEquals(List.of("0+8"), calls);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testSubscriberStopsWaitingAtItsOwnDeadline() throws Exception {
+        CountDownLatch ownerStarted = new CountDownLatch(1);
+        CountDownLatch releaseOwner = new CountDownLatch(1);
+
+        Thread owner = new Thread(() -> compute(coalescer, "bbp", 0, 8, (start, count) -> {
+            ownerStarted.countDown();
+            try {
+                releaseOwner.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return PiDigits.getDigitsHex(start, count);
+        }));
+        owner.start();
+        ownerStarted.await();
+
+        CancellationToken token = CancellationToken.withTimeout(100);
+        assertThrows(ComputeCancelledException.class, () -> coalescer.compute("bbp", 0, 8, new byte[8], 0, token,
+                (start, count, out, offset) -> fail("the subscriber must not compute the run")));
+        assertEquals(1, coalescer.stats().coalescedBlocks());
+
+        releaseOwner.countDown();
+        owner.join();
+        assertEquals(0, coalescer.stats().inFlightBlocks());
+    }
+
+    /**
+     * Digits of a range as a string, for computers written as lambdas.
+     */
+    @FunctionalInterface
+    private interface Digits {
+        String of(long start, int count);
+    }
+
+    private static String compute(BlockCoalescer coalescer, String algorithm, long start, int count,
+                                  Digits computer) {
+        byte[] hex = new byte[count];
+        coalescer.compute(algorithm, start, count, hex, 0, (runStart, runCount, out, offset) -> {
+            byte[] digits = computer.of(runStart, runCount).getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(digits, 0, out, offset, runCount);
+        });
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String cached(BlockCoalescer coalescer, String algorithm, long start, int count) {
+        byte[] hex = new byte[count];
+        return coalescer.cached(algorithm, start, count, hex, 0) ? new String(hex, StandardCharsets.ISO_8859_1) : null;
+    }
+}
@@ -0,0 +1,38 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    @Test
+    void testNoneIsOnlyCancelledExplicitly() {
+        CancellationToken token = CancellationToken.none();
+
+        assertFalse(token.isCancelled());
+        assertEquals(-1, token.remainingMillis());
+        assertEquals(-1, CancellationToken.withTimeout(0).remainingMillis());
+
+        token.cancel("client disconnected");
+        token.cancel("request completed");
+
+        ComputeCancelledException e = assertThrows(ComputeCancelledException.class, token::throwIfCancelled);
+        assertEquals("client disconnected", e.getReason());
+        assertEquals("", e.getPartialDigits());
+    }
+
+    @Test
+    void testDeadlineCancelsTheToken() throws InterruptedException {
+        CancellationToken token = CancellationToken.withTimeout(20);
+
+        assertFalse(token.isCancelled());
+        assertTrue(token.remainingMillis() <= 20);
+        Thread.sleep(40);
+
+        assertTrue(token.isCancelled());
+        assertEquals(0, token.remainingMillis());
+        assertEquals("deadline exceeded",
+                assertThrows(ComputeCancelledException.class, token::throwIfCancelled).getReason());
+    }
+}
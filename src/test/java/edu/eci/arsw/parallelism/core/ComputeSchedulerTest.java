@@ -0,0 +1,223 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComputeSchedulerTest {
+
+    @Test
+    void testGrantIsClampedToBudget() {
+        ComputeScheduler scheduler = new ComputeScheduler(4, 8);
+
+        try (ComputeScheduler.Grant grant = scheduler.admit(512, 10)) {
+            assertEquals(4, grant.threads());
+            assertEquals(0, scheduler.stats().freeCores());
+        }
+        assertEquals(4, scheduler.stats().freeCores());
+    }
+
+    @Test
+    void testPartialGrantWhenBudgetIsPartlyUsed() {
+        ComputeScheduler scheduler = new ComputeScheduler(4, 8);
+
+        try (ComputeScheduler.Grant first = scheduler.admit(3, 10);
+             ComputeScheduler.Grant second = scheduler.admit(3, 10)) {
+            assertEquals(3, first.threads());
+            assertEquals(1, second.threads());
+        }
+    }
+
+    @Test
+    void testCloseIsIdempotent() {
+        ComputeScheduler scheduler = new ComputeScheduler(2, 8);
+        ComputeScheduler.Grant grant = scheduler.admit(2, 10);
+
+        grant.close();
+        grant.close();
+
+        assertEquals(2, scheduler.stats().freeCores());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testWaitsInQueueUntilThreadsAreReleased() throws Exception {
+        ComputeScheduler scheduler = new ComputeScheduler(1, 8);
+        ComputeScheduler.Grant held = scheduler.admit(1, 10);
+        AtomicInteger granted = new AtomicInteger();
+
+        Thread waiter = new Thread(() -> {
+            try (ComputeScheduler.Grant grant = scheduler.admit(4, 2000)) {
+                granted.set(grant.threads());
+            }
+        });
+        waiter.start();
+        while (scheduler.stats().queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(2000.0, scheduler.stats().queuedWorkMillis(), 1e-9);
+        held.close();
+        waiter.join();
+
+        assertEquals(1, granted.get());
+        assertEquals(0, scheduler.stats().queued());
+        assertEquals(0.0, scheduler.stats().queuedWorkMillis(), 1e-9);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testRejectsWhenQueueIsFullWithRetryAfterFromQueuedWork() throws Exception {
+        ComputeScheduler scheduler = new ComputeScheduler(2, 1);
+        ComputeScheduler.Grant held = scheduler.admit(2, 10);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // Queued: 2 threads x 5 s = 10 s of CPU over a budget of 2 -> 5 s.
+        Thread waiter = new Thread(() -> {
+            scheduler.admit(2, 5000).close();
+            done.countDown();
+        });
+        waiter.start();
+        while (scheduler.stats().queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        ComputeSaturatedException rejected = assertThrows(ComputeSaturatedException.class,
+                () -> scheduler.admit(1, 10));
+        assertEquals(5, rejected.getRetryAfterSeconds());
+        assertEquals(1, scheduler.stats().rejected());
+
+        held.close();
+        done.await();
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testInterruptedWaiterLeavesQueue() throws Exception {
+        ComputeScheduler scheduler = new ComputeScheduler(1, 8);
+        ComputeScheduler.Grant held = scheduler.admit(1, 10);
+        AtomicInteger failures = new AtomicInteger();
+
+        Thread waiter = new Thread(() -> {
+            try {
+                scheduler.admit(1, 10);
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+            }
+        });
+        waiter.start();
+        while (scheduler.stats().queued() == 0) {
+            Thread.onSpinWait();
+        }
+        waiter.interrupt();
+        waiter.join();
+
+        assertEquals(1, failures.get());
+        assertEquals(0, scheduler.stats().queued());
+        held.close();
+        assertEquals(1, scheduler.stats().freeCores());
+    }
+
+    @Test
+    void testUnboundedGrantsEverything() {
+        ComputeScheduler scheduler = ComputeScheduler.unbounded();
+
+        try (ComputeScheduler.Grant grant = scheduler.admit(512, 10)) {
+            assertEquals(512, grant.threads());
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testShortestJobIsServedFirst() throws Exception {
+        ComputeScheduler scheduler = new ComputeScheduler(1, 8, 0.0, 200);
+        ComputeScheduler.Grant held = scheduler.admit(1, 10);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        Thread large = queue(scheduler, 60_000, () -> order.add("large"));
+        Thread small = queue(scheduler, 5, () -> order.add("small"));
+
+        held.close();
+        large.join();
+        small.join();
+
+        assertEquals(List.of("small", "large"), order);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testAgingLetsLongWaitersGoFirst() throws Exception {
+        // One waited millisecond outweighs a million estimated ones.
+        ComputeScheduler scheduler = new ComputeScheduler(1, 8, 1_000_000.0, 200);
+        ComputeScheduler.Grant held = scheduler.admit(1, 10);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        Thread large = queue(scheduler, 60_000, () -> order.add("large"));
+        Thread.sleep(20);
+        Thread small = queue(scheduler, 5, () -> order.add("small"));
+
+        held.close();
+        large.join();
+        small.join();
+
+        assertEquals(List.of("large", "small"), order);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testStatsReportQueueWaitPercentiles() throws Exception {
+        ComputeScheduler scheduler = new ComputeScheduler(1, 8);
+        ComputeScheduler.Grant held = scheduler.admit(1, 10);
+        AtomicInteger done = new AtomicInteger();
+
+        Thread waiter = queue(scheduler, 10, done::incrementAndGet);
+        Thread.sleep(30);
+        held.close();
+        waiter.join();
+
+        SchedulerStats stats = scheduler.stats();
+        assertEquals(2, stats.admitted());
+        assertEquals(0.0, stats.waitP50Millis(), 1e-9);
+        assertTrue(stats.waitP99Millis() >= 20);
+        assertEquals(200, scheduler.sliceMillis(), 1e-9);
+    }
+
+    /**
+     * Starts a thread that queues a job and runs action once admitted;
+     * returns after the job is in the queue.
+     */
+    private static Thread queue(ComputeScheduler scheduler, double estimatedMillis, Runnable action) {
+        int queued = scheduler.stats().queued();
+        Thread thread = new Thread(() -> {
+            try (ComputeScheduler.Grant grant = scheduler.admit(1, estimatedMillis)) {
+                action.run();
+            }
+        });
+        thread.start();
+        while (scheduler.stats().queued() == queued) {
+            Thread.onSpinWait();
+        }
+        return thread;
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testCancelledWaiterLeavesTheQueue() {
+        ComputeScheduler scheduler = new ComputeScheduler(1, 4);
+        CancellationToken token = CancellationToken.withTimeout(100);
+
+        try (ComputeScheduler.Grant busy = scheduler.admit(1, 10)) {
+            assertThrows(ComputeCancelledException.class, () -> scheduler.admit(1, 10, token));
+            assertEquals(0, scheduler.stats().queued());
+        }
+        assertEquals(1, scheduler.stats().freeCores());
+    }
+}
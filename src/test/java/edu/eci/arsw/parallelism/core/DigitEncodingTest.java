@@ -0,0 +1,62 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigitEncodingTest {
+
+    @Test
+    void testHexAsciiOfEveryNibble() {
+        assertEquals(0x3031323334353637L, DigitEncoding.hexAscii(0x01234567));
+        assertEquals(0x3839414243444546L, DigitEncoding.hexAscii(0x89ABCDEF));
+    }
+
+    @Test
+    void testHexAsciiMatchesTheTable() {
+        Random random = new Random(7);
+        for (int round = 0; round < 1000; round++) {
+            int nibbles = random.nextInt();
+            long ascii = DigitEncoding.hexAscii(nibbles);
+            for (int j = 0; j < 8; j++) {
+                int digit = nibbles >>> (28 - 4 * j) & 0xF;
+                assertEquals(PiDigits.HEX_ASCII[digit], (byte) (ascii >>> (56 - 8 * j)));
+            }
+        }
+    }
+
+    @Test
+    void testParseHexInvertsHexAscii() {
+        Random random = new Random(11);
+        byte[] ascii = new byte[9];
+        for (int round = 0; round < 1000; round++) {
+            int nibbles = random.nextInt();
+            DigitEncoding.HEX.put(nibbles, 8, ascii, 1, 0);
+            assertEquals(nibbles, DigitEncoding.parseHex(ascii, 1));
+        }
+        assertEquals(0x0123ABEF, DigitEncoding.parseHex("0123abef".getBytes(), 0));
+    }
+
+    @Test
+    void testPartialBlocks() {
+        byte[] hex = new byte[5];
+        DigitEncoding.HEX.put(0x243F6A88, 3, hex, 1, 0);
+        assertArrayEquals(new byte[] {0, '2', '4', '3', 0}, hex);
+
+        byte[] values = new byte[3];
+        DigitEncoding.VALUES.put(0x243F6A88, 3, values, 0, 0);
+        assertArrayEquals(new byte[] {2, 4, 3}, values);
+
+        byte[] packed = new byte[3];
+        DigitEncoding.PACKED.put(0x243F6A88, 5, packed, 0, 0);
+        assertArrayEquals(new byte[] {0x24, 0x3F, 0x60}, packed);
+    }
+
+    @Test
+    void testNibblesOfAFraction() {
+        // 0.1 = 0x0.1999...
+        assertEquals(0x19999999, DigitEncoding.nibbles(0.1));
+    }
+}
@@ -0,0 +1,123 @@
+package edu.eci.arsw.parallelism.core;
+
+import edu.eci.arsw.parallelism.concurrency.ThreadJoinStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigitStoreTest {
+
+    private static final long START = 101;
+    private static final int COUNT = DigitStore.CHUNK_DIGITS + 1001;
+
+    @TempDir
+    Path dir;
+
+    private Path generate() throws IOException {
+        Path file = dir.resolve("pi.hex");
+        DigitStoreGenerator.generate(file, START, COUNT, new ThreadJoinStrategy(), 4, new BbpAlgorithm());
+        return file;
+    }
+
+    @Test
+    void testServesGeneratedDigits() throws IOException {
+        DigitStore store = new DigitStore(generate());
+        String expected = PiDigits.getDigitsHex(START, COUNT);
+
+        assertEquals(expected, store.digits(START, COUNT));
+        assertEquals(expected.substring(8000, 8500), store.digits(START + 8000, 500));
+        assertEquals(expected.substring(COUNT - 1), store.digits(START + COUNT - 1, 1));
+        assertEquals(3, store.stats().servedRequests());
+        assertEquals(COUNT, store.stats().count());
+    }
+
+    @Test
+    void testServesPackedDigitsAtAnyAlignment() throws IOException {
+        DigitStore store = new DigitStore(generate());
+        String digits = PiDigits.getDigitsHex(START, COUNT);
+
+        for (int offset : new int[] {0, 1, 8000, 8191}) {
+            for (int count : new int[] {1, 2, 500, 1001}) {
+                byte[] expected = new byte[PackedDigits.payloadBytes(count) + 3];
+                PackedDigits.pack(digits.substring(offset, offset + count), expected, 3);
+                byte[] actual = new byte[expected.length];
+
+                assertTrue(store.packed(START + offset, count, actual, 3));
+                assertArrayEquals(expected, actual, offset + "+" + count);
+            }
+        }
+        assertFalse(store.packed(START - 1, 10, new byte[5], 0));
+    }
+
+    @Test
+    void testRangesOutsideTheStoreAreNotServed() throws IOException {
+        DigitStore store = new DigitStore(generate());
+
+        assertFalse(store.covers(START - 1, 10));
+        assertFalse(store.covers(START + COUNT - 5, 10));
+        assertFalse(store.covers(START, 0));
+        assertNull(store.digits(START - 1, 10));
+        assertNull(DigitStore.empty().digits(0, 10));
+        assertNull(DigitStore.empty().stats().path());
+    }
+
+    @Test
+    void testCorruptChunkIsNotServed() throws IOException {
+        Path file = generate();
+        long dataOffset;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(DigitStore.HEADER_BYTES);
+            channel.read(header, 0);
+            dataOffset = header.getLong(32);
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF, 0x00}), dataOffset + 10);
+        }
+        DigitStore store = new DigitStore(file);
+
+        assertNull(store.digits(START, 100));
+        assertEquals(PiDigits.getDigitsHex(START + DigitStore.CHUNK_DIGITS, 100),
+                store.digits(START + DigitStore.CHUNK_DIGITS, 100));
+        assertEquals(1, store.stats().corruptChunks());
+    }
+
+    @Test
+    void testRejectsHeadersThatDoNotMatchTheFile() throws IOException {
+        Path file = generate();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Chunk count at offset 28: one more than the digits need.
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 3), 28);
+        }
+        assertThrows(UncheckedIOException.class, () -> new DigitStore(file));
+
+        Path truncated = dir.resolve("truncated.hex");
+        Files.write(truncated, Arrays.copyOf(Files.readAllBytes(generate()), DigitStore.HEADER_BYTES / 2));
+        assertThrows(UncheckedIOException.class, () -> new DigitStore(truncated));
+    }
+
+    @Test
+    void testRejectsFilesThatAreNotStores() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, new byte[128]);
+
+        assertThrows(IllegalStateException.class, () -> new DigitStore(file));
+        assertThrows(UncheckedIOException.class, () -> new DigitStore(dir.resolve("missing").toString()));
+        assertThrows(IllegalArgumentException.class, () -> DigitStoreGenerator.generate(file, 0, 0,
+                new ThreadJoinStrategy(), 1, new BbpAlgorithm()));
+    }
+
+    @Test
+    void testBlankPathDisablesTheStore() {
+        DigitStore store = new DigitStore("");
+
+        assertFalse(store.covers(0, 1));
+    }
+}
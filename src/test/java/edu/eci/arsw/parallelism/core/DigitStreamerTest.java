@@ -0,0 +1,114 @@
+package edu.eci.arsw.parallelism.core;
+
+import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigitStreamerTest {
+
+    /**
+     * BBP that records how many ranges run at once; the first range is the
+     * slowest, so later chunks finish before it.
+     */
+    private static final class TrackingAlgorithm extends BbpAlgorithm {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        volatile long failAt = -1;
+
+        @Override
+        public byte[] getDigits(long start, int count, CancellationToken token) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                if (start == failAt) {
+                    throw new IllegalStateException("boom");
+                }
+                Thread.sleep(start == 0 ? 200 : 20);
+                return super.getDigits(start, count, token);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void writeHex(long start, int count, byte[] out, int offset, CancellationToken token) {
+            PiDigits.toHexAscii(getDigits(start, count, token), out, offset);
+        }
+    }
+
+    private final TrackingAlgorithm algorithm = new TrackingAlgorithm();
+    private final PiDigitsService service = new PiDigitsServiceBuilder()
+            .strategies(List.of())
+            .algorithms(List.of(algorithm))
+            .build();
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testChunksArriveInOrderWithinTheWindow() throws IOException {
+        DigitStreamer streamer = new DigitStreamer(service, 16, 3);
+        List<Long> starts = new ArrayList<>();
+        StringBuilder digits = new StringBuilder();
+
+        streamer.stream(0, 100, null, null, null, CancellationToken.none(), (start, chunk) -> {
+            starts.add(start);
+            digits.append(chunk);
+        });
+
+        assertEquals(PiDigits.getDigitsHex(0, 100), digits.toString());
+        assertEquals(List.of(0L, 16L, 32L, 48L, 64L, 80L, 96L), starts);
+        assertTrue(algorithm.maxRunning.get() <= 3, "at most window chunks run at once");
+        assertTrue(algorithm.maxRunning.get() > 1, "chunks run in parallel");
+    }
+
+    @Test
+    void testChunkSizeIsRoundedToWholeBlocks() {
+        DigitStreamer streamer = new DigitStreamer(service, 20, 0);
+
+        assertEquals(16, streamer.chunkDigits());
+        assertEquals(1, streamer.window());
+        assertEquals(8, new DigitStreamer(service, 3, 1).chunkDigits());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testFailedChunkStopsTheStream() {
+        algorithm.failAt = 32;
+        DigitStreamer streamer = new DigitStreamer(service, 16, 2);
+        CancellationToken token = CancellationToken.none();
+        List<Long> starts = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class,
+                () -> streamer.stream(0, 100, null, null, null, token, (start, chunk) -> starts.add(start)));
+        assertEquals(List.of(0L, 16L), starts);
+        assertTrue(token.isCancelled());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testFailingSinkCancelsTheChunksInFlight() {
+        DigitStreamer streamer = new DigitStreamer(service, 16, 4);
+        CancellationToken token = CancellationToken.none();
+
+        assertThrows(IOException.class, () -> streamer.stream(0, 200, null, null, null, token, (start, chunk) -> {
+            throw new IOException("client gone");
+        }));
+        assertTrue(token.isCancelled());
+    }
+
+    @Test
+    void testValidateRejectsUnknownAlgorithm() {
+        DigitStreamer streamer = new DigitStreamer(service, 16, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> streamer.validate(0, 100, null, null, "nope"));
+    }
+}
@@ -0,0 +1,65 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Fixed128Test {
+
+    private static final BigInteger TWO_128 = BigInteger.ONE.shiftLeft(128);
+
+    private static BigInteger value(Fixed128 f) {
+        BigInteger hi = new BigInteger(Long.toUnsignedString(f.hi()));
+        BigInteger lo = new BigInteger(Long.toUnsignedString(f.lo()));
+        return hi.shiftLeft(64).or(lo);
+    }
+
+    @Test
+    void testAddQuotientOneThird() {
+        Fixed128 f = new Fixed128();
+        f.addQuotient(1, 3, 0, false);
+        assertEquals(0x5555555555555555L, f.hi());
+        assertEquals(0x5555555555555555L, f.lo());
+    }
+
+    @Test
+    void testAddQuotientMatchesBigInteger() {
+        long[][] cases = {{1, 7}, {5, 9}, {123456789, 4000000007L}, {(1L << 61) - 5, (1L << 61) + 1}, {0, 11}};
+        for (long[] c : cases) {
+            Fixed128 f = new Fixed128();
+            f.addQuotient(c[0], c[1], 0, false);
+            BigInteger expected = BigInteger.valueOf(c[0]).shiftLeft(128).divide(BigInteger.valueOf(c[1]));
+            assertEquals(expected, value(f), c[0] + "/" + c[1]);
+        }
+    }
+
+    @Test
+    void testAddQuotientWithShift() {
+        for (int shift : new int[]{1, 4, 63, 64, 65, 100, 127}) {
+            Fixed128 f = new Fixed128();
+            f.addQuotient(2, 7, shift, false);
+            BigInteger expected = BigInteger.TWO.shiftLeft(128).divide(BigInteger.valueOf(7)).shiftRight(shift);
+            assertEquals(expected, value(f), "shift = " + shift);
+        }
+    }
+
+    @Test
+    void testSubtractWrapsModuloOne() {
+        Fixed128 f = new Fixed128();
+        f.addQuotient(1, 4, 0, true);
+        // 0 - 1/4 = 3/4 (mod 1)
+        assertEquals(TWO_128.multiply(BigInteger.valueOf(3)).divide(BigInteger.valueOf(4)), value(f));
+    }
+
+    @Test
+    void testNextDigit() {
+        Fixed128 f = new Fixed128();
+        f.addQuotient(1, 3, 0, false);
+        for (int i = 0; i < 32; i++) {
+            assertEquals(5, f.nextDigit());
+        }
+        assertEquals(0, f.nextDigit());
+    }
+}
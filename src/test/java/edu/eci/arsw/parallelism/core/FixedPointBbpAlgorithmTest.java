@@ -0,0 +1,83 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointBbpAlgorithmTest {
+
+    private static final String PI_HEX_128 =
+            "243F6A8885A308D313198A2E03707344A4093822299F31D0082EFA98EC4E6C89"
+            + "452821E638D01377BE5466CF34E90C6CC0AC29B7C97C50DD3F84D5B5B5470917";
+
+    private final FixedPointBbpAlgorithm algorithm = new FixedPointBbpAlgorithm();
+
+    @Test
+    void testName() {
+        assertEquals("bbp128", algorithm.name());
+    }
+
+    @Test
+    void testGetDigitsKnownPrefix() {
+        assertEquals(PI_HEX_128, algorithm.getDigitsHex(0, 128));
+    }
+
+    @Test
+    void testGetDigitsUnalignedWindows() {
+        for (int start : new int[]{1, 5, 23, 24, 25, 77}) {
+            assertEquals(PI_HEX_128.substring(start, start + 40), algorithm.getDigitsHex(start, 40), "start = " + start);
+        }
+    }
+
+    @Test
+    void testGetDigitsFullBlockAtDepth() {
+        // BBP paper reference value at 1-based position 10^6: all 14 published digits.
+        assertEquals("26C65E52CB4593", algorithm.getDigitsHex(999_999L, 14));
+    }
+
+    @Test
+    void testGetDigitsMatchesDoublePath() {
+        for (long start : new long[]{1000, 5000, 12_345}) {
+            assertEquals(PiDigits.getDigitsHex(start, 6), algorithm.getDigitsHex(start, 6), "start = " + start);
+        }
+    }
+
+    @Test
+    void testGenericPathMatchesSmallPath() {
+        for (long n : new long[]{0, 1, 2, 9, 100, 4321}) {
+            Fixed128 small = FixedPointBbpAlgorithm.series(n);
+            Fixed128 generic = FixedPointBbpAlgorithm.series(n, 0);
+            assertEquals(small.hi(), generic.hi(), "n = " + n);
+            assertEquals(small.lo(), generic.lo(), "n = " + n);
+        }
+    }
+
+    @Test
+    void testDigitsPerSum() {
+        assertEquals(FixedPointBbpAlgorithm.MAX_DIGITS_PER_SUM, FixedPointBbpAlgorithm.digitsPerSum(0));
+        assertEquals(FixedPointBbpAlgorithm.MAX_DIGITS_PER_SUM, FixedPointBbpAlgorithm.digitsPerSum(1_000_000));
+        assertTrue(FixedPointBbpAlgorithm.digitsPerSum(PiDigits.MAX_START) > 8);
+    }
+
+    @Test
+    void testGetDigitsZeroCount() {
+        assertEquals(0, algorithm.getDigits(0, 0).length);
+    }
+
+    @Test
+    void testGetDigitsInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> algorithm.getDigits(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> algorithm.getDigits(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> algorithm.getDigits(PiDigits.MAX_START + 1, 1));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testDeadlineStopsBetweenEvaluations() {
+        assertThrows(ComputeCancelledException.class,
+                () -> algorithm.getDigits(100_000, 64_000, CancellationToken.withTimeout(50)));
+    }
+}
@@ -0,0 +1,43 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalBbpTest {
+
+    @Test
+    void testGetDigitsIdenticalToPerBlockExtraction() {
+        for (long start : new long[]{0, 1, 7, 8, 13, 1000, 5003}) {
+            for (int count : new int[]{1, 8, 9, 63, 200}) {
+                assertArrayEquals(PiDigits.getDigits(start, count), IncrementalBbp.getDigits(start, count),
+                        "start = " + start + ", count = " + count);
+            }
+        }
+    }
+
+    @Test
+    void testMontgomeryPathIdenticalToSmallPath() {
+        for (long start : new long[]{0, 3, 100, 2048}) {
+            assertArrayEquals(IncrementalBbp.getDigits(start, 100), IncrementalBbp.getDigits(start, 100, 0),
+                    "start = " + start);
+        }
+    }
+
+    @Test
+    void testGetDigitsKnownSequence() {
+        assertEquals("243F6A8885A308D313198A2E03707344", PiDigits.toHex(IncrementalBbp.getDigits(0, 32)));
+    }
+
+    @Test
+    void testGetDigitsZeroCount() {
+        assertEquals(0, IncrementalBbp.getDigits(10, 0).length);
+    }
+
+    @Test
+    void testGetDigitsInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> IncrementalBbp.getDigits(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> IncrementalBbp.getDigits(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> IncrementalBbp.getDigits(PiDigits.MAX_START + 1, 1));
+    }
+}
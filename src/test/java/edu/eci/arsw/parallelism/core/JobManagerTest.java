@@ -0,0 +1,175 @@
+package edu.eci.arsw.parallelism.core;
+
+import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobManagerTest {
+
+    /**
+     * BBP that holds every range until released.
+     */
+    private static final class GatedAlgorithm extends BbpAlgorithm {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public byte[] getDigits(long start, int count, CancellationToken token) {
+            try {
+                while (!release.await(10, TimeUnit.MILLISECONDS)) {
+                    token.throwIfCancelled();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return super.getDigits(start, count, token);
+        }
+
+        @Override
+        public void writeHex(long start, int count, byte[] out, int offset, CancellationToken token) {
+            PiDigits.toHexAscii(getDigits(start, count, token), out, offset);
+        }
+    }
+
+    @TempDir
+    Path dir;
+
+    private final GatedAlgorithm gated = new GatedAlgorithm();
+    private JobManager manager;
+
+    private JobManager manager(DigitAlgorithm algorithm, int workers, int queue, long ttlMillis, int spillThreshold) {
+        PiDigitsService service = new PiDigitsServiceBuilder()
+                .strategies(List.of())
+                .algorithms(List.of(algorithm))
+                .build();
+        manager = new JobManager(service, new DigitStreamer(service, 16, 2), workers, queue, ttlMillis,
+                spillThreshold, dir.toString());
+        return manager;
+    }
+
+    @AfterEach
+    void tearDown() {
+        gated.release.countDown();
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    private static void awaitFinished(PiJob job) throws InterruptedException {
+        while (job.state() == PiJob.State.QUEUED || job.state() == PiJob.State.RUNNING) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static String content(PiJob job) throws IOException {
+        return new String(job.result().orElseThrow().getContentAsByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testSmallResultIsKeptInMemory() throws Exception {
+        JobManager jobs = manager(new BbpAlgorithm(), 1, 4, 60_000, 1_000);
+
+        PiJob job = jobs.submit(3, 50, null, null, null, 0);
+        awaitFinished(job);
+
+        JobStatus status = jobs.status(job);
+        assertEquals(PiJob.State.DONE, status.state());
+        assertEquals(50, status.digitsDone());
+        assertEquals(7, status.totalBlocks());
+        assertEquals(0, status.etaMillis());
+        assertFalse(status.spilled());
+        assertEquals(PiDigits.getDigitsHex(3, 50), content(job));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testLargeResultIsSpilledAndDeletedAfterTheTtl() throws Exception {
+        JobManager jobs = manager(new BbpAlgorithm(), 1, 4, 1, 16);
+
+        PiJob job = jobs.submit(0, 40, null, null, null, 0);
+        awaitFinished(job);
+
+        assertTrue(jobs.status(job).spilled());
+        assertEquals(PiDigits.getDigitsHex(0, 40), content(job));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+
+        Thread.sleep(5);
+        assertEquals(1, jobs.purgeExpired());
+        assertTrue(jobs.find(job.id()).isEmpty());
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testQueueIsBoundedAndQueuedJobsCanBeCancelled() {
+        JobManager jobs = manager(gated, 1, 1, 60_000, 1_000);
+
+        PiJob running = jobs.submit(0, 8, null, null, null, 0);
+        PiJob queued = jobs.submit(8, 8, null, null, null, 0);
+        assertThrows(ComputeSaturatedException.class, () -> jobs.submit(16, 8, null, null, null, 0));
+
+        assertTrue(jobs.cancel(queued.id()));
+        assertEquals(PiJob.State.CANCELLED, queued.state());
+        assertTrue(jobs.find(queued.id()).isEmpty());
+        assertFalse(jobs.cancel(queued.id()));
+
+        PiJob next = jobs.submit(16, 8, null, null, null, 0);
+        assertEquals(PiJob.State.QUEUED, next.state());
+        assertNotEquals(PiJob.State.CANCELLED, running.state());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testCancellingARunningJobStopsItAndDeletesItsFile() throws Exception {
+        JobManager jobs = manager(gated, 1, 1, 60_000, 4);
+
+        PiJob job = jobs.submit(0, 40, null, null, null, 0);
+        while (job.state() != PiJob.State.RUNNING) {
+            Thread.sleep(5);
+        }
+
+        assertTrue(jobs.cancel(job.id()));
+        assertTrue(job.token().isCancelled());
+        assertTrue(job.result().isEmpty());
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testDeadlineFailsTheJob() throws Exception {
+        JobManager jobs = manager(gated, 1, 1, 60_000, 1_000);
+
+        PiJob job = jobs.submit(0, 8, null, null, null, 20);
+        awaitFinished(job);
+
+        assertEquals(PiJob.State.FAILED, job.state());
+        assertTrue(jobs.status(job).error().contains("deadline exceeded"));
+    }
+
+    @Test
+    void testInvalidJobsAreRejectedAtSubmission() {
+        JobManager jobs = manager(new BbpAlgorithm(), 1, 1, 60_000, 1_000);
+
+        assertThrows(IllegalArgumentException.class, () -> jobs.submit(0, 8, null, null, "nope", 0));
+        assertThrows(IllegalArgumentException.class, () -> jobs.submit(0, 0, null, null, null, 0));
+    }
+}
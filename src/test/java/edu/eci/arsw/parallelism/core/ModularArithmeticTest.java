@@ -0,0 +1,58 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModularArithmeticTest {
+
+    private static final BigInteger TWO = BigInteger.TWO;
+
+    private static long expected(long e, long m) {
+        return TWO.modPow(BigInteger.valueOf(e), BigInteger.valueOf(m)).longValue();
+    }
+
+    @Test
+    void testPowerOfTwoModSmallModuli() {
+        for (long m = 1; m < 200; m++) {
+            for (long e = 0; e < 70; e++) {
+                assertEquals(expected(e, m), ModularArithmetic.powerOfTwoMod(e, m), "2^" + e + " mod " + m);
+            }
+        }
+    }
+
+    @Test
+    void testPowerOfTwoModBeyondIntRange() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            long m = 1 + (random.nextLong() >>> 2) % (ModularArithmetic.MAX_MODULUS - 1);
+            long e = random.nextLong() >>> 1;
+            assertEquals(expected(e, m), ModularArithmetic.powerOfTwoMod(e, m), "2^" + e + " mod " + m);
+        }
+    }
+
+    @Test
+    void testPowerOfTwoModBbpModuli() {
+        long k = 1_000_000_000_000L;
+        long p = 4 * 1_000_000_000_017L;
+        for (long m : new long[]{8 * k + 1, 8 * k + 4, 8 * k + 5, 8 * k + 6}) {
+            assertEquals(expected(p, m), ModularArithmetic.powerOfTwoMod(p, m));
+        }
+    }
+
+    @Test
+    void testPowerOfTwoModLargestModulus() {
+        long m = ModularArithmetic.MAX_MODULUS - 1;
+        assertEquals(expected(12345678901L, m), ModularArithmetic.powerOfTwoMod(12345678901L, m));
+    }
+
+    @Test
+    void testInverse() {
+        for (long m : new long[]{1, 3, 46341, 8_000_000_000_005L, Long.MAX_VALUE}) {
+            assertEquals(1L, m * ModularArithmetic.inverse(m));
+        }
+    }
+}
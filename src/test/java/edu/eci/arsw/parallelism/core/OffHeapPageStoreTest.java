@@ -0,0 +1,36 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapPageStoreTest {
+
+    @Test
+    void testPagesSpanSeveralSlabs() {
+        OffHeapPageStore store = new OffHeapPageStore(256);
+        int pagesPerSlab = OffHeapPageStore.SLAB_BYTES / 256;
+
+        for (int i = 0; i <= pagesPerSlab; i++) {
+            int slot = store.allocate();
+            store.set(slot, 255, (byte) i);
+        }
+
+        assertEquals((byte) 0, store.get(0, 255));
+        assertEquals((byte) pagesPerSlab, store.get(pagesPerSlab, 255));
+        assertEquals(2L * OffHeapPageStore.SLAB_BYTES, store.offHeapBytes());
+        assertTrue(store.isOffHeap());
+    }
+
+    @Test
+    void testReleasedSlotsAreReused() {
+        OffHeapPageStore store = new OffHeapPageStore(256);
+        int first = store.allocate();
+        int second = store.allocate();
+
+        store.release(first);
+
+        assertEquals(first, store.allocate());
+        assertEquals(second + 1, store.allocate());
+    }
+}
@@ -0,0 +1,52 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedDigitsTest {
+
+    @Test
+    void testHeaderLayout() {
+        byte[] out = PackedDigits.allocate(1L << 40, 7, "bellard");
+        ByteBuffer header = ByteBuffer.wrap(out);
+
+        assertEquals(PackedDigits.headerBytes("bellard") + 4, out.length);
+        assertEquals(PackedDigits.MAGIC, header.getInt());
+        assertEquals(PackedDigits.VERSION, header.get());
+        assertEquals(1L << 40, header.getLong());
+        assertEquals(7, header.getInt());
+        assertEquals(7, header.get());
+        assertEquals(PackedDigits.headerBytes("bellard") - 7, header.position());
+        assertArrayEquals(PackedDigits.header(1L << 40, 7, "bellard"),
+                Arrays.copyOf(out, PackedDigits.headerBytes("bellard")));
+    }
+
+    @Test
+    void testPackMatchesTheDigitEngine() {
+        String hex = PiDigits.getDigitsHex(100, 37);
+        byte[] packed = new byte[PackedDigits.payloadBytes(37) + 2];
+        byte[] expected = new byte[packed.length];
+        PiDigits.getDigitsPacked(100, 37, expected, 2);
+
+        PackedDigits.pack(hex, packed, 2);
+
+        assertArrayEquals(expected, packed);
+    }
+
+    @Test
+    void testCopyRealignsOddStarts() {
+        byte[] source = {0x24, 0x3F, 0x6A, (byte) 0x88};
+        byte[] even = new byte[2];
+        byte[] odd = new byte[2];
+
+        PackedDigits.copy(source, 2, 3, even, 0);
+        PackedDigits.copy(source, 3, 4, odd, 0);
+
+        assertArrayEquals(new byte[] {0x3F, 0x60}, even);
+        assertArrayEquals(new byte[] {(byte) 0xF6, (byte) 0xA8}, odd);
+    }
+}
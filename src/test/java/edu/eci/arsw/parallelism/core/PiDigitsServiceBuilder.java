@@ -0,0 +1,63 @@
+package edu.eci.arsw.parallelism.core;
+
+import edu.eci.arsw.parallelism.concurrency.ParallelStrategy;
+import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
+
+import java.util.List;
+
+/**
+ * Assembles a {@link PiDigitsService} by hand for tests: the three digit
+ * algorithms, the default cost model, no compute budget, no coalescing or
+ * cache and no store, unless set.
+ */
+final class PiDigitsServiceBuilder {
+
+    private List<ParallelStrategy> strategies = List.of();
+    private List<DigitAlgorithm> algorithms =
+            List.of(new BbpAlgorithm(), new BellardAlgorithm(), new FixedPointBbpAlgorithm());
+    private QueryPlanner planner = new QueryPlanner(CostModel.defaults());
+    private ComputeScheduler scheduler = ComputeScheduler.unbounded();
+    private BlockCoalescer coalescer = BlockCoalescer.disabled();
+    private DigitStore store = DigitStore.empty();
+    private PerformanceMonitor performanceMonitor = new PerformanceMonitor();
+
+    PiDigitsServiceBuilder strategies(List<ParallelStrategy> strategies) {
+        this.strategies = strategies;
+        return this;
+    }
+
+    PiDigitsServiceBuilder algorithms(List<DigitAlgorithm> algorithms) {
+        this.algorithms = algorithms;
+        return this;
+    }
+
+    PiDigitsServiceBuilder planner(QueryPlanner planner) {
+        this.planner = planner;
+        return this;
+    }
+
+    PiDigitsServiceBuilder scheduler(ComputeScheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    PiDigitsServiceBuilder coalescer(BlockCoalescer coalescer) {
+        this.coalescer = coalescer;
+        return this;
+    }
+
+    PiDigitsServiceBuilder store(DigitStore store) {
+        this.store = store;
+        return this;
+    }
+
+    PiDigitsServiceBuilder performanceMonitor(PerformanceMonitor performanceMonitor) {
+        this.performanceMonitor = performanceMonitor;
+        return this;
+    }
+
+    PiDigitsService build() {
+        return new PiDigitsService(strategies, algorithms, planner, scheduler, coalescer, store,
+                performanceMonitor);
+    }
+}
@@ -1,11 +1,16 @@
 package edu.eci.arsw.parallelism.core;
 
 import edu.eci.arsw.parallelism.concurrency.ParallelStrategy;
+import edu.eci.arsw.parallelism.concurrency.ThreadJoinStrategy;
 import edu.eci.arsw.parallelism.monitoring.PerformanceMonitor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -20,10 +25,13 @@ class PiDigitsServiceTest {
 
     @BeforeEach
     void setUp() {
-        mockStrategy = mock(ParallelStrategy.class);
+        mockStrategy = mock(ParallelStrategy.class, CALLS_REAL_METHODS);
         when(mockStrategy.name()).thenReturn("threads");
         performanceMonitor = new PerformanceMonitor();
-        service = new PiDigitsService(List.of(mockStrategy), performanceMonitor);
+        service = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .performanceMonitor(performanceMonitor)
+                .build();
     }
 
     @Test
@@ -79,12 +87,12 @@ class PiDigitsServiceTest {
     @Test
     @Timeout(value = 5, unit = TimeUnit.SECONDS)
     void testCalculateWithThreadsStrategyNoDeadlock() {
-        when(mockStrategy.calculate(0, 5, 4)).thenReturn("243F6");
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(4), any(DigitAlgorithm.class))).thenReturn("243F6");
 
         String result = service.calculate(0, 5, 4, "threads");
 
         assertEquals("243F6", result);
-        verify(mockStrategy).calculate(0, 5, 4);
+        verify(mockStrategy).calculate(eq(0L), eq(5), eq(4), any(DigitAlgorithm.class));
     }
 
     @Test
@@ -98,40 +106,40 @@ class PiDigitsServiceTest {
     @Timeout(value = 5, unit = TimeUnit.SECONDS)
     void testCalculateThreadsWithNullThreadsNoDeadlock() {
         int expectedThreads = Runtime.getRuntime().availableProcessors();
-        when(mockStrategy.calculate(eq(0), eq(5), anyInt())).thenReturn("243F6");
+        when(mockStrategy.calculate(eq(0L), eq(5), anyInt(), any(DigitAlgorithm.class))).thenReturn("243F6");
 
         String result = service.calculateThreads(0, 5, null, mockStrategy);
 
         assertNotNull(result);
-        verify(mockStrategy).calculate(eq(0), eq(5), eq(expectedThreads));
+        verify(mockStrategy).calculate(eq(0L), eq(5), eq(expectedThreads), any(DigitAlgorithm.class));
     }
 
     @Test
     @Timeout(value = 5, unit = TimeUnit.SECONDS)
     void testCalculateThreadsWithZeroThreadsNoDeadlock() {
         int expectedThreads = Runtime.getRuntime().availableProcessors();
-        when(mockStrategy.calculate(eq(0), eq(5), anyInt())).thenReturn("243F6");
+        when(mockStrategy.calculate(eq(0L), eq(5), anyInt(), any(DigitAlgorithm.class))).thenReturn("243F6");
 
         String result = service.calculateThreads(0, 5, 0, mockStrategy);
 
         assertNotNull(result);
-        verify(mockStrategy).calculate(eq(0), eq(5), eq(expectedThreads));
+        verify(mockStrategy).calculate(eq(0L), eq(5), eq(expectedThreads), any(DigitAlgorithm.class));
     }
 
     @Test
     @Timeout(value = 5, unit = TimeUnit.SECONDS)
     void testCalculateThreadsWithSpecificThreadsNoDeadlock() {
-        when(mockStrategy.calculate(0, 5, 8)).thenReturn("243F6");
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(8), any(DigitAlgorithm.class))).thenReturn("243F6");
 
         String result = service.calculateThreads(0, 5, 8, mockStrategy);
 
         assertEquals("243F6", result);
-        verify(mockStrategy).calculate(0, 5, 8);
+        verify(mockStrategy).calculate(eq(0L), eq(5), eq(8), any(DigitAlgorithm.class));
     }
 
     @Test
     void testCalculateWithCaseInsensitiveStrategyName() {
-        when(mockStrategy.calculate(0, 5, 4)).thenReturn("243F6");
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(4), any(DigitAlgorithm.class))).thenReturn("243F6");
 
         String result = service.calculate(0, 5, 4, "THREADS");
 
@@ -148,10 +156,9 @@ class PiDigitsServiceTest {
     @Test
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void testSequentialVsParallelEquivalence() {
-        PiDigitsService realService = new PiDigitsService(
-                List.of(new edu.eci.arsw.parallelism.concurrency.ThreadJoinStrategy()),
-                new PerformanceMonitor()
-        );
+        PiDigitsService realService = new PiDigitsServiceBuilder()
+                .strategies(List.of(new ThreadJoinStrategy()))
+                .build();
 
         String sequential = realService.calculate(0, 20, null, "sequential");
         String parallel = realService.calculate(0, 20, 4, "threads");
@@ -162,10 +169,9 @@ class PiDigitsServiceTest {
     @Test
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void testDeterminismMultipleRuns() {
-        PiDigitsService realService = new PiDigitsService(
-                List.of(new edu.eci.arsw.parallelism.concurrency.ThreadJoinStrategy()),
-                new PerformanceMonitor()
-        );
+        PiDigitsService realService = new PiDigitsServiceBuilder()
+                .strategies(List.of(new ThreadJoinStrategy()))
+                .build();
 
         String result1 = realService.calculate(0, 30, 4, "threads");
         String result2 = realService.calculate(0, 30, 4, "threads");
@@ -199,7 +205,7 @@ class PiDigitsServiceTest {
 
     @Test
     void testCalculateWithTimingParallel() {
-        when(mockStrategy.calculate(0, 5, 4)).thenReturn("243F6");
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(4), any(DigitAlgorithm.class))).thenReturn("243F6");
         
         var result = service.calculateWithTiming(0, 5, 4, "threads");
         
@@ -213,7 +219,7 @@ class PiDigitsServiceTest {
     @Test
     void testCalculateWithTimingParallelDefaultThreads() {
         int expectedThreads = Runtime.getRuntime().availableProcessors();
-        when(mockStrategy.calculate(eq(0), eq(5), eq(expectedThreads))).thenReturn("243F6");
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(expectedThreads), any(DigitAlgorithm.class))).thenReturn("243F6");
         
         var result = service.calculateWithTiming(0, 5, null, "threads");
         
@@ -222,4 +228,425 @@ class PiDigitsServiceTest {
         assertEquals(expectedThreads, result.threads());
         assertTrue(result.timeMillis() >= 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCalculateWithBellardAlgorithm() {
+        String result = service.calculate(0, 16, null, "sequential", "bellard");
+        assertEquals("243F6A8885A308D3", result);
+    }
+
+    @Test
+    void testCalculateWithUnknownAlgorithm() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            service.calculate(0, 5, null, null, "unknown");
+        });
+    }
+
+    @Test
+    void testCalculatePassesAlgorithmToStrategy() {
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(4), any(BellardAlgorithm.class))).thenReturn("243F6");
+
+        String result = service.calculate(0, 5, 4, "threads", "BELLARD");
+
+        assertEquals("243F6", result);
+        verify(mockStrategy).calculate(eq(0L), eq(5), eq(4), any(BellardAlgorithm.class));
+    }
+
+    @Test
+    void testResolveAlgorithmDefaultsToBbp() {
+        assertEquals("bbp", service.resolveAlgorithm(null).name());
+    }
+
+    @Test
+    void testLongPrefixRoutesToPrefixStrategy() {
+        String prefixDigits = "A".repeat(PiDigitsService.PREFIX_THRESHOLD);
+        ParallelStrategy prefix = mock(ParallelStrategy.class, CALLS_REAL_METHODS);
+        when(prefix.name()).thenReturn("prefix");
+        when(prefix.calculate(eq(0L), eq(PiDigitsService.PREFIX_THRESHOLD), anyInt(), any(DigitAlgorithm.class)))
+                .thenReturn(prefixDigits);
+        PiDigitsService routed = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy, prefix))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals(prefixDigits, routed.calculate(0, PiDigitsService.PREFIX_THRESHOLD, null, null));
+    }
+
+    @Test
+    void testExplicitStrategyIsNotRerouted() {
+        String threadsDigits = "B".repeat(PiDigitsService.PREFIX_THRESHOLD);
+        ParallelStrategy prefix = mock(ParallelStrategy.class, CALLS_REAL_METHODS);
+        when(prefix.name()).thenReturn("prefix");
+        when(mockStrategy.calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class))).thenReturn(threadsDigits);
+        PiDigitsService routed = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy, prefix))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals(threadsDigits, routed.calculate(0, PiDigitsService.PREFIX_THRESHOLD, 2, "threads"));
+        verify(prefix, never()).calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class));
+    }
+
+    @Test
+    void testIsLongPrefix() {
+        assertTrue(PiDigitsService.isLongPrefix(0, PiDigitsService.PREFIX_THRESHOLD));
+        assertTrue(PiDigitsService.isLongPrefix(100, PiDigitsService.PREFIX_THRESHOLD));
+        assertFalse(PiDigitsService.isLongPrefix(0, PiDigitsService.PREFIX_THRESHOLD - 1));
+        assertFalse(PiDigitsService.isLongPrefix(1_000_000, PiDigitsService.PREFIX_THRESHOLD));
+    }
+
+    @Test
+    void testCalculateWithTimingReportsPrefixRoute() {
+        ParallelStrategy prefix = mock(ParallelStrategy.class, CALLS_REAL_METHODS);
+        when(prefix.name()).thenReturn("prefix");
+        when(prefix.calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class)))
+                .thenReturn("A".repeat(PiDigitsService.PREFIX_THRESHOLD));
+        PiDigitsService routed = new PiDigitsServiceBuilder()
+                .strategies(List.of(prefix))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        var result = routed.calculateWithTiming(0, PiDigitsService.PREFIX_THRESHOLD, 8, null);
+
+        assertEquals("prefix", result.strategy());
+        assertEquals(1, result.threads());
+    }
+
+    @Test
+    void testAutoStrategyComputesWithChosenPlan() {
+        PiDigitsService auto = new PiDigitsServiceBuilder()
+                .strategies(List.of(new ThreadJoinStrategy()))
+                .build();
+
+        assertEquals(PiDigits.getDigitsHex(100, 40), auto.calculate(100, 40, 4, "auto"));
+        assertEquals("243F6A8885", auto.calculate(0, 10, null, "AUTO", "bellard"));
+    }
+
+    @Test
+    void testAutoStrategyUsesPlannedStrategy() {
+        QueryPlanner planner = mock(QueryPlanner.class);
+        when(planner.plan(anyLong(), anyInt(), anyInt(), anyCollection(), any()))
+                .thenReturn(new QueryPlan("threads", "bbp", 3, "digits", 1.0));
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(3), any(BbpAlgorithm.class))).thenReturn("243F6");
+        PiDigitsService auto = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .planner(planner)
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals("243F6", auto.calculate(0, 5, null, "auto"));
+
+        var timed = auto.calculateWithTiming(0, 5, null, "auto");
+        assertEquals("threads", timed.strategy());
+        assertEquals(3, timed.threads());
+    }
+
+    @Test
+    void testExplainDoesNotCompute() {
+        QueryPlan plan = service.explain(0, 64, 4, "threads", null);
+
+        assertEquals("threads", plan.strategy());
+        assertEquals(4, plan.threads());
+        assertEquals(1, service.explain(0, 5, 4, "threads", null).threads());
+        assertEquals("digits", plan.split());
+        verify(mockStrategy, never()).calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class));
+    }
+
+    @Test
+    void testExplainDefaultsAndAuto() {
+        assertEquals("sequential", service.explain(0, 5, null, null, null).strategy());
+        assertEquals("bellard", service.explain(0, 5, null, "sequential", "bellard").algorithm());
+        assertNotNull(service.explain(1_000_000, 100, 4, "auto", null));
+        assertThrows(IllegalArgumentException.class, () -> service.explain(0, 5, null, "unknown", null));
+        assertThrows(IllegalArgumentException.class, () -> service.explain(0, 5, null, "auto", "unknown"));
+    }
+
+    @Test
+    void testExplainReportsPrefixRoute() {
+        ParallelStrategy prefix = mock(ParallelStrategy.class, CALLS_REAL_METHODS);
+        when(prefix.name()).thenReturn("prefix");
+        PiDigitsService routed = new PiDigitsServiceBuilder()
+                .strategies(List.of(prefix))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals("prefix", routed.explain(0, PiDigitsService.PREFIX_THRESHOLD, null, null, null).strategy());
+    }
+
+    @Test
+    void testThreadsAreClampedToComputeBudget() {
+        ComputeScheduler scheduler = new ComputeScheduler(2, 4);
+        when(mockStrategy.calculate(eq(0L), eq(5), eq(2), any(DigitAlgorithm.class))).thenReturn("243F6");
+        PiDigitsService budgeted = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .scheduler(scheduler)
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals("243F6", budgeted.calculate(0, 5, 512, "threads"));
+        assertEquals(2, budgeted.calculateWithTiming(0, 5, 512, "threads").threads());
+        assertEquals(2, scheduler.stats().freeCores());
+    }
+
+    @Test
+    void testSaturatedBudgetRejects() {
+        ComputeScheduler scheduler = new ComputeScheduler(1, 0);
+        PiDigitsService budgeted = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .scheduler(scheduler)
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        try (ComputeScheduler.Grant held = scheduler.admit(1, 1.0)) {
+            assertThrows(ComputeSaturatedException.class, () -> budgeted.calculate(0, 5, null, null));
+        }
+        assertEquals("243F6", budgeted.calculate(0, 5, null, null));
+    }
+
+    @Test
+    void testLargeJobsAreSlicedOnBlockBoundaries() {
+        // A 1 ms slice splits this range into one slice per block.
+        ComputeScheduler scheduler = new ComputeScheduler(1, 4, 1.0, 1e-6);
+        PiDigitsService sliced = new PiDigitsServiceBuilder()
+                .strategies(List.of(new ThreadJoinStrategy()))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .scheduler(scheduler)
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals(new BbpAlgorithm().getDigitsHex(1000, 45), sliced.calculate(1000, 45, 2, "threads"));
+        assertEquals(6, scheduler.stats().admitted());
+
+        var timed = sliced.calculateWithTiming(1000, 45, 2, null);
+        assertEquals(0.0, timed.queueWaitMillis(), 1e-9);
+        assertEquals(1, timed.threads());
+    }
+
+    @Test
+    void testNegativeRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.calculate(-1, 5, null, "threads"));
+        assertThrows(IllegalArgumentException.class, () -> service.calculate(0, -5, null, null));
+    }
+
+    @Test
+    void testThreadsOutsideZeroToMaxAreRejectedEverywhere() {
+        for (int threads : new int[]{-1, PiDigitsService.MAX_THREADS + 1, Integer.MAX_VALUE}) {
+            assertThrows(IllegalArgumentException.class, () -> service.validate(threads, "threads", null));
+            assertThrows(IllegalArgumentException.class, () -> service.calculate(0, 5, threads, "threads"));
+            assertThrows(IllegalArgumentException.class, () -> service.explain(0, 5, threads, "auto", null));
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testAutoPlanStaysWithinTheComputeBudget() {
+        PiDigitsService budgeted = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .scheduler(new ComputeScheduler(2, 4))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertTrue(budgeted.explain(10_000_000, 100_000, PiDigitsService.MAX_THREADS, "auto", "bbp").threads() <= 2);
+    }
+
+    @Test
+    void testCoalescerWidensRangesToBlocks() {
+        when(mockStrategy.calculate(eq(0L), eq(16), eq(4), any(DigitAlgorithm.class)))
+                .thenReturn(PiDigits.getDigitsHex(0, 16));
+        BlockCoalescer coalescer = new BlockCoalescer(true);
+        PiDigitsService coalescing = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .coalescer(coalescer)
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals(PiDigits.getDigitsHex(3, 10), coalescing.calculate(3, 10, 4, "threads"));
+        assertEquals(2, coalescer.stats().computedBlocks());
+    }
+
+    @Test
+    void testInexactResultsBypassTheCoalescer() {
+        when(mockStrategy.exact(any(DigitAlgorithm.class))).thenReturn(false);
+        when(mockStrategy.calculate(eq(3L), eq(10), eq(4), any(DigitAlgorithm.class)))
+                .thenReturn(PiDigits.getDigitsHex(3, 10));
+        BlockCoalescer coalescer = new BlockCoalescer(true, new BlockCache(1 << 20));
+        PiDigitsService inexact = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .coalescer(coalescer)
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals(PiDigits.getDigitsHex(3, 10), inexact.calculate(3, 10, 4, "threads"));
+        assertEquals(0, coalescer.stats().computedBlocks());
+        assertFalse(coalescer.cached("bbp", 3, 10, new byte[10], 0));
+    }
+
+    @Test
+    void testFullyCachedRangeSkipsTheStrategyAndTheScheduler() {
+        when(mockStrategy.calculate(eq(0L), eq(16), eq(4), any(DigitAlgorithm.class)))
+                .thenReturn(PiDigits.getDigitsHex(0, 16));
+        ComputeScheduler scheduler = new ComputeScheduler(4, 0);
+        PiDigitsService cached = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .scheduler(scheduler)
+                .coalescer(new BlockCoalescer(true, new BlockCache(1 << 20)))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals(PiDigits.getDigitsHex(0, 16), cached.calculate(0, 16, 4, "threads"));
+        assertEquals(PiDigits.getDigitsHex(2, 12), cached.calculate(2, 12, 4, "threads"));
+
+        verify(mockStrategy, times(1)).calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class));
+        assertEquals(1, scheduler.stats().admitted());
+    }
+
+    @Test
+    void testRangesInsideTheStoreAreServedWithoutComputing(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pi.hex");
+        DigitStoreGenerator.generate(file, 0, 64, new ThreadJoinStrategy(),
+                2, new BbpAlgorithm());
+        PiDigitsService stored = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .store(new DigitStore(file))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        assertEquals(PiDigits.getDigitsHex(5, 40), stored.calculate(5, 40, 4, "threads"));
+        verify(mockStrategy, never()).calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class));
+    }
+
+    @Test
+    void testPackedRangesFromStoreAndComputationMatch(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pi.hex");
+        DigitStoreGenerator.generate(file, 0, 64, new ThreadJoinStrategy(), 2, new BbpAlgorithm());
+        DigitStore store = new DigitStore(file);
+        PiDigitsService stored = new PiDigitsServiceBuilder()
+                .strategies(List.of(new ThreadJoinStrategy()))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .store(store)
+                .performanceMonitor(performanceMonitor)
+                .build();
+        PiDigitsService computed = new PiDigitsServiceBuilder()
+                .strategies(List.of(new ThreadJoinStrategy()))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        byte[] expected = PackedDigits.allocate(5, 45, "bbp");
+        PackedDigits.pack(PiDigits.getDigitsHex(5, 45), expected, PackedDigits.headerBytes("bbp"));
+
+        assertArrayEquals(expected, stored.calculatePacked(5, 45, 2, "threads", null, CancellationToken.none()));
+        assertEquals(1, store.stats().servedRequests());
+        assertArrayEquals(expected, computed.calculatePacked(5, 45, 2, "threads", null, CancellationToken.none()));
+    }
+
+    @Test
+    void testCancellationCarriesTheDigitsOfCompletedSlices() {
+        CancellationToken token = CancellationToken.none();
+        when(mockStrategy.calculate(eq(0L), eq(8), anyInt(), any(DigitAlgorithm.class)))
+                .thenReturn(PiDigits.getDigitsHex(0, 8));
+        when(mockStrategy.calculate(eq(8L), eq(8), anyInt(), any(DigitAlgorithm.class)))
+                .thenAnswer(invocation -> {
+                    token.cancel("deadline exceeded");
+                    throw new ComputeCancelledException("deadline exceeded");
+                });
+        PiDigitsService sliced = new PiDigitsServiceBuilder()
+                .strategies(List.of(mockStrategy))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .scheduler(new ComputeScheduler(4, 0, 1.0, 1e-9))
+                .performanceMonitor(performanceMonitor)
+                .build();
+
+        ComputeCancelledException e = assertThrows(ComputeCancelledException.class,
+                () -> sliced.calculate(0, 32, 1, "threads", null, token));
+
+        assertEquals(PiDigits.getDigitsHex(0, 8), e.getPartialDigits());
+        assertEquals("deadline exceeded", e.getReason());
+        verify(mockStrategy, never()).calculate(eq(16L), anyInt(), anyInt(), any(DigitAlgorithm.class));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testBatchReturnsRangesInRequestOrderFromOneAdmission() {
+        ComputeScheduler scheduler = new ComputeScheduler(4, 0);
+        PiDigitsService batching = new PiDigitsServiceBuilder()
+                .strategies(List.of(new ThreadJoinStrategy()))
+                .algorithms(List.of(new BbpAlgorithm()))
+                .scheduler(scheduler)
+                .performanceMonitor(performanceMonitor)
+                .build();
+        List<DigitRange> ranges = List.of(
+                new DigitRange(100, 5),
+                new DigitRange(3, 10),
+                new DigitRange(10, 4),
+                new DigitRange(40, 2),
+                new DigitRange(7, 0));
+
+        List<String> digits = batching.calculateBatch(ranges, 4, "threads", null, CancellationToken.none());
+
+        assertEquals(List.of(
+                PiDigits.getDigitsHex(100, 5),
+                PiDigits.getDigitsHex(3, 10),
+                PiDigits.getDigitsHex(10, 4),
+                PiDigits.getDigitsHex(40, 2),
+                ""), digits);
+        assertEquals(1, scheduler.stats().admitted());
+        assertEquals(4, scheduler.stats().freeCores());
+    }
+
+    @Test
+    void testBatchComputesMergedRunsOnce() {
+        when(mockStrategy.calculate(eq(0L), eq(24), anyInt(), any(DigitAlgorithm.class)))
+                .thenReturn(PiDigits.getDigitsHex(0, 24));
+        List<Integer> completed = new ArrayList<>();
+
+        List<String> digits = service.calculateBatch(
+                List.of(new DigitRange(16, 8), new DigitRange(2, 4), new DigitRange(5, 12)),
+                4, "threads", null, CancellationToken.none(), (index, range) -> completed.add(index));
+
+        assertEquals(List.of(PiDigits.getDigitsHex(16, 8), PiDigits.getDigitsHex(2, 4), PiDigits.getDigitsHex(5, 12)),
+                digits);
+        assertEquals(List.of(0, 1, 2), completed.stream().sorted().toList());
+        verify(mockStrategy, times(1)).calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testFailedRunCancelsTheBatch() {
+        when(mockStrategy.calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class)))
+                .thenAnswer(invocation -> PiDigits.getDigitsHex(invocation.getArgument(0), invocation.getArgument(1)));
+        when(mockStrategy.calculate(eq(800L), anyInt(), anyInt(), any(DigitAlgorithm.class)))
+                .thenThrow(new IllegalStateException("boom"));
+        CancellationToken token = CancellationToken.none();
+
+        assertThrows(IllegalStateException.class, () -> service.calculateBatch(
+                List.of(new DigitRange(0, 8), new DigitRange(800, 8), new DigitRange(1600, 8)),
+                4, "threads", null, token));
+        assertTrue(token.isCancelled());
+    }
+
+    @Test
+    void testBatchRejectsNegativeRanges() {
+        assertThrows(IllegalArgumentException.class, () -> service.calculateBatch(
+                List.of(new DigitRange(0, 8), new DigitRange(-1, 8)), null, null, null, CancellationToken.none()));
+    }
+
+    @Test
+    void testValidateChecksNamesWithoutComputing() {
+        service.validate(4, "threads", "bbp");
+        service.validate(null, null, null);
+        service.validate(null, "auto", null);
+        service.validate(null, "sequential", null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.validate(null, "nope", null));
+        assertThrows(IllegalArgumentException.class, () -> service.validate(null, null, "nope"));
+        assertThrows(IllegalArgumentException.class, () -> service.validate(-1, null, null));
+        verify(mockStrategy, never()).calculate(anyLong(), anyInt(), anyInt(), any(DigitAlgorithm.class));
+    }
+}
@@ -147,4 +147,141 @@ class PiDigitsTest {
         assertNotNull(hex);
         assertEquals(5, hex.length());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetDigitsBeyondIntModulusRange() {
+        // Digits from 1-based position 10^6 (BBP paper reference 26C65E52CB...);
+        // 8k+m exceeds the old int-safe range here.
+        assertEquals("26C65E", PiDigits.getDigitsHex(999_999L, 6));
+    }
+
+    @Test
+    void testGetDigitsLongStart() {
+        String hex = PiDigits.getDigitsHex(3_000_000_000L, 0);
+        assertEquals("", hex);
+    }
+
+    @Test
+    void testGetDigitsStartAboveMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> PiDigits.getDigits(PiDigits.MAX_START + 1, 1));
+    }
+
+    @Test
+    void testFusedSeriesMatchesSeparateSeries() {
+        for (long n : new long[]{0, 1, 2, 7, 8, 100, 1000, 4096, 12345}) {
+            double separate = 4 * referenceSum(1, n) - 2 * referenceSum(4, n) - referenceSum(5, n) - referenceSum(6, n);
+            assertEquals(separate, PiDigits.series(n), "n = " + n);
+        }
+    }
+
+    @Test
+    void testFusedSeriesMontgomeryPathMatchesSmallPath() {
+        for (long n : new long[]{0, 1, 9, 100, 5000}) {
+            assertEquals(PiDigits.series(n), PiDigits.series(n, 0), "n = " + n);
+        }
+    }
+
+    @Test
+    void testOddResiduesMatchModPow() {
+        long[] residues = new long[4];
+        for (long k : new long[]{0, 1, 5, 1000, PiDigits.SMALL_TERMS - 1}) {
+            for (long q : new long[]{0, 1, 7, 123_456}) {
+                PiDigits.oddResidues(k, q, residues);
+                long e = 4 * (q + 1);
+                long d = 8 * k;
+                assertEquals(ModularArithmetic.powerOfTwoMod(e, d + 1), residues[0], "k = " + k + ", q = " + q);
+                assertEquals(ModularArithmetic.powerOfTwoMod(e, d + 4), residues[1] << 2, "k = " + k + ", q = " + q);
+                assertEquals(ModularArithmetic.powerOfTwoMod(e, d + 5), residues[2], "k = " + k + ", q = " + q);
+                assertEquals(ModularArithmetic.powerOfTwoMod(e, d + 6), residues[3] << 1, "k = " + k + ", q = " + q);
+            }
+        }
+    }
+
+    @Test
+    void testPartialSumsAddUpToBlockDigits() {
+        long n = 3000;
+        double[] low = PiDigits.partialSums(n, 0, 1234);
+        double[] high = PiDigits.partialSums(n, 1234, n);
+        double[] sums = new double[4];
+        for (int s = 0; s < sums.length; s++) {
+            sums[s] = low[s] + high[s];
+        }
+
+        String expected = PiDigits.getDigitsHex(n, 6);
+        assertEquals(expected, PiDigits.toHex(PiDigits.blockDigits(n, sums, 6)));
+        assertEquals(expected, PiDigits.toHex(PiDigits.blockDigits(n, PiDigits.partialSums(n, 0, n), 6)));
+    }
+
+    @Test
+    void testPartialSumsRejectsInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> PiDigits.partialSums(10, 5, 4));
+        assertThrows(IllegalArgumentException.class, () -> PiDigits.partialSums(10, 0, 11));
+        assertThrows(IllegalArgumentException.class, () -> PiDigits.blockDigits(10, new double[4], 9));
+    }
+
+    @Test
+    void testGetDigitsHexIntoBufferMatchesString() {
+        byte[] out = new byte[30];
+        PiDigits.getDigitsHex(0, 21, out, 5);
+
+        assertEquals("243F6A8885A308D313198", PiDigits.asciiToString(out).substring(5, 26));
+        assertEquals(0, out[4]);
+        assertEquals(0, out[26]);
+    }
+
+    @Test
+    void testGetDigitsPackedHighNibbleFirst() {
+        byte[] out = new byte[6];
+        PiDigits.getDigitsPacked(0, 9, out, 1);
+
+        // 243F6A88 85, the odd last digit leaves the low nibble 0.
+        assertArrayEquals(new byte[] {0, 0x24, 0x3F, 0x6A, (byte) 0x88, (byte) 0x80}, out);
+    }
+
+    @Test
+    void testGetDigitsPackedIntoDirectBuffer() {
+        byte[] expected = new byte[13];
+        PiDigits.getDigitsPacked(1000, 25, expected, 0);
+
+        for (java.nio.ByteOrder order : new java.nio.ByteOrder[] {java.nio.ByteOrder.BIG_ENDIAN, java.nio.ByteOrder.LITTLE_ENDIAN}) {
+            java.nio.ByteBuffer direct = java.nio.ByteBuffer.allocateDirect(16).order(order);
+            PiDigits.getDigitsPacked(1000, 25, direct, 3);
+
+            byte[] actual = new byte[13];
+            direct.get(3, actual);
+            assertArrayEquals(expected, actual);
+            assertEquals(0, direct.position());
+        }
+    }
+
+    @Test
+    void testBufferApisRejectShortBuffers() {
+        assertThrows(IndexOutOfBoundsException.class, () -> PiDigits.getDigitsHex(0, 10, new byte[10], 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> PiDigits.getDigitsPacked(0, 9, new byte[4], 0));
+        assertThrows(IllegalArgumentException.class, () -> PiDigits.getDigitsPacked(-1, 9, new byte[8], 0));
+    }
+
+    /**
+     * The unfused per-series sum, one modpow per term.
+     */
+    private static double referenceSum(int m, long n) {
+        double sum = 0.0;
+        long d = m;
+        long power = n;
+        while (true) {
+            double term;
+            if (power > 0) {
+                term = (double) ModularArithmetic.powerOfTwoMod(4 * power, d) / d;
+            } else {
+                term = Math.pow(16, power) / d;
+                if (term < 1e-17) {
+                    break;
+                }
+            }
+            sum += term;
+            power--;
+            d += 8;
+        }
+        return sum;
+    }
+}
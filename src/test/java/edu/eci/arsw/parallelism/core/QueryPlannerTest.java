@@ -0,0 +1,110 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlannerTest {
+
+    private static final List<String> ALL = List.of("threads", "block", "vector", "prefix");
+
+    private QueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        planner = new QueryPlanner(CostModel.defaults());
+    }
+
+    @Test
+    void testShortRangeRunsSequentially() {
+        QueryPlan plan = planner.plan(0, 10, 8, ALL, null);
+
+        assertEquals("sequential", plan.strategy());
+        assertEquals(1, plan.threads());
+        assertEquals("none", plan.split());
+    }
+
+    @Test
+    void testLongPrefixUsesBinarySplitting() {
+        assertEquals("prefix", planner.plan(0, 100_000, 8, ALL, null).strategy());
+    }
+
+    @Test
+    void testSingleBlockAtHighPositionSplitsWithinBlock() {
+        QueryPlan plan = planner.plan(100_000_000, 8, 8, ALL, "bbp");
+
+        assertEquals("block", plan.strategy());
+        assertEquals("block", plan.split());
+        assertEquals(8, plan.threads());
+    }
+
+    @Test
+    void testManyBlocksAtHighPositionSplitAcrossDigits() {
+        QueryPlan plan = planner.plan(10_000_000, 100_000, 8, List.of("threads", "block"), "bbp");
+
+        assertEquals("threads", plan.strategy());
+        assertEquals("digits", plan.split());
+        assertTrue(plan.threads() > 1);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void testHugeThreadLimitIsClamped() {
+        QueryPlan plan = planner.plan(0, 16, Integer.MAX_VALUE, List.of("threads"), "bbp");
+
+        assertTrue(plan.threads() <= PiDigitsService.MAX_THREADS);
+    }
+
+    @Test
+    void testOnlyAvailableStrategiesAreChosen() {
+        QueryPlan plan = planner.plan(100_000_000, 8, 8, List.of(), null);
+
+        assertEquals("sequential", plan.strategy());
+    }
+
+    @Test
+    void testRequestedAlgorithmIsKept() {
+        QueryPlan plan = planner.plan(0, 100_000, 8, ALL, "bbp128");
+
+        assertEquals("bbp128", plan.algorithm());
+        assertNotEquals("prefix", plan.strategy());
+    }
+
+    @Test
+    void testPredictionGrowsWithPositionAndCount() {
+        double near = planner.estimate("sequential", "bbp", 1, 1000, 64).predictedMillis();
+        double far = planner.estimate("sequential", "bbp", 1, 1_000_000, 64).predictedMillis();
+        double longer = planner.estimate("sequential", "bellard", 1, 1000, 640).predictedMillis();
+
+        assertTrue(far > near);
+        assertTrue(longer > planner.estimate("sequential", "bellard", 1, 1000, 64).predictedMillis());
+    }
+
+    @Test
+    void testEstimateReportsRequestedConfiguration() {
+        QueryPlan plan = planner.estimate("threads", "bellard", 4, 0, 100);
+
+        assertEquals("threads", plan.strategy());
+        assertEquals("bellard", plan.algorithm());
+        assertEquals(4, plan.threads());
+        assertEquals("vector", planner.estimate("vector", "bbp", 4, 0, 100).strategy());
+    }
+
+    @Test
+    void testCalibrationProducesPositiveConstants() {
+        CostModel model = CostModel.calibrate();
+
+        assertTrue(model.series() > 0);
+        assertTrue(model.bbpCarry() >= 0);
+        assertTrue(model.bellard() > 0);
+        assertTrue(model.bbp128() > 0);
+        assertTrue(model.vector() > 0);
+        assertTrue(model.prefix() > 0);
+        assertTrue(model.threadStart() > 0);
+    }
+}
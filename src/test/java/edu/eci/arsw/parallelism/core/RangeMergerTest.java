@@ -0,0 +1,59 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeMergerTest {
+
+    @Test
+    void testOverlappingAndTouchingRangesMergeIntoBlockRuns() {
+        List<DigitRange> runs = RangeMerger.merge(List.of(
+                new DigitRange(100, 5),
+                new DigitRange(3, 10),
+                new DigitRange(10, 4),
+                new DigitRange(16, 8),
+                new DigitRange(40, 2)));
+
+        assertEquals(List.of(
+                new DigitRange(0, 24),
+                new DigitRange(40, 8),
+                new DigitRange(96, 16)), runs);
+    }
+
+    @Test
+    void testDuplicatesAndEmptyRangesAddNothing() {
+        List<DigitRange> runs = RangeMerger.merge(List.of(
+                new DigitRange(8, 8),
+                new DigitRange(8, 8),
+                new DigitRange(500, 0)));
+
+        assertEquals(List.of(new DigitRange(8, 8)), runs);
+        assertTrue(RangeMerger.merge(List.of()).isEmpty());
+    }
+
+    @Test
+    void testRunsNeverExceedMaxRun() {
+        List<DigitRange> runs = RangeMerger.merge(List.of(
+                new DigitRange(0, RangeMerger.MAX_RUN),
+                new DigitRange(RangeMerger.MAX_RUN - 8, 16)));
+
+        assertEquals(2, runs.size());
+        assertEquals(RangeMerger.MAX_RUN, runs.get(0).count());
+        assertEquals(0, RangeMerger.runOf(runs, new DigitRange(10, 5)));
+        assertEquals(1, RangeMerger.runOf(runs, new DigitRange(RangeMerger.MAX_RUN - 8, 16)));
+    }
+
+    @Test
+    void testRunOfFindsTheRunHoldingARange() {
+        List<DigitRange> runs = List.of(new DigitRange(0, 24), new DigitRange(40, 8), new DigitRange(96, 16));
+
+        assertEquals(0, RangeMerger.runOf(runs, new DigitRange(3, 10)));
+        assertEquals(1, RangeMerger.runOf(runs, new DigitRange(40, 8)));
+        assertEquals(2, RangeMerger.runOf(runs, new DigitRange(100, 5)));
+        assertEquals(-1, RangeMerger.runOf(runs, new DigitRange(30, 2)));
+        assertEquals(-1, RangeMerger.runOf(runs, new DigitRange(20, 10)));
+    }
+}
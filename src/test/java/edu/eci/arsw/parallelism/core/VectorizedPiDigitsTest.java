@@ -0,0 +1,35 @@
+package edu.eci.arsw.parallelism.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorizedPiDigitsTest {
+
+    @Test
+    void testAvailabilityFollowsVectorModule() {
+        boolean modulePresent = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        if (!modulePresent) {
+            assertFalse(VectorizedPiDigits.isAvailable());
+        }
+    }
+
+    @Test
+    void testGetDigitsMatchesScalar() {
+        // Lane sums are added in a different order, so only digits well inside
+        // double precision (the first 6 of a block) are compared.
+        for (long start : new long[]{0, 1, 7, 100, 999, 4096, 5000}) {
+            assertArrayEquals(PiDigits.getDigits(start, 6), VectorizedPiDigits.getDigits(start, 6), "start = " + start);
+        }
+    }
+
+    @Test
+    void testGetDigitsHexKnownSequence() {
+        assertEquals("243F6A8885A308D3", VectorizedPiDigits.getDigitsHex(0, 16));
+    }
+
+    @Test
+    void testGetDigitsNegativeStart() {
+        assertThrows(IllegalArgumentException.class, () -> VectorizedPiDigits.getDigits(-1, 5));
+    }
+}
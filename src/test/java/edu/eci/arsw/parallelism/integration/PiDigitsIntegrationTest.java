@@ -5,7 +5,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -16,9 +20,18 @@ class PiDigitsIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    /**
+     * Performs a request, following the async dispatch of {@code /digits}.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
     @Test
     void testSequentialAndParallelProduceSameResults() throws Exception {
-        String sequentialResponse = mockMvc.perform(get("/api/v1/pi/digits")
+        String sequentialResponse = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "20")
                         .param("strategy", "sequential"))
@@ -27,7 +40,7 @@ class PiDigitsIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        String parallelResponse = mockMvc.perform(get("/api/v1/pi/digits")
+        String parallelResponse = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "20")
                         .param("strategy", "threads")
@@ -42,7 +55,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testEndToEndCalculationWithDefaultStrategy() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "10"))
                 .andExpect(status().isOk())
@@ -54,7 +67,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testEndToEndCalculationWithThreadsStrategy() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "10")
                         .param("strategy", "threads")
@@ -67,7 +80,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testDifferentThreadCountsProduceSameResults() throws Exception {
-        String twoThreads = mockMvc.perform(get("/api/v1/pi/digits")
+        String twoThreads = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "50")
                         .param("strategy", "threads")
@@ -77,7 +90,7 @@ class PiDigitsIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        String fourThreads = mockMvc.perform(get("/api/v1/pi/digits")
+        String fourThreads = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "50")
                         .param("strategy", "threads")
@@ -87,7 +100,7 @@ class PiDigitsIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        String eightThreads = mockMvc.perform(get("/api/v1/pi/digits")
+        String eightThreads = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "50")
                         .param("strategy", "threads")
@@ -103,17 +116,17 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testValidationIntegration() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "-1")
                         .param("count", "10"))
                 .andExpect(status().isBadRequest());
 
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "-5"))
                 .andExpect(status().isBadRequest());
 
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "10")
                         .param("threads", "-1"))
@@ -122,7 +135,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testLargeCalculationIntegration() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "100")
                         .param("strategy", "threads")
@@ -134,19 +147,19 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testDifferentStartPositions() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.digits").value("243F6"));
 
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "5")
                         .param("count", "5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.digits").value("A8885"));
 
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "10")
                         .param("count", "5"))
                 .andExpect(status().isOk())
@@ -155,7 +168,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testConsecutiveRequestsProduceSameResults() throws Exception {
-        String firstRequest = mockMvc.perform(get("/api/v1/pi/digits")
+        String firstRequest = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "30")
                         .param("strategy", "threads")
@@ -165,7 +178,7 @@ class PiDigitsIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        String secondRequest = mockMvc.perform(get("/api/v1/pi/digits")
+        String secondRequest = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "30")
                         .param("strategy", "threads")
@@ -180,7 +193,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testThreadsStrategyWithOneThread() throws Exception {
-        String sequential = mockMvc.perform(get("/api/v1/pi/digits")
+        String sequential = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "15")
                         .param("strategy", "sequential"))
@@ -189,7 +202,7 @@ class PiDigitsIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        String oneThread = mockMvc.perform(get("/api/v1/pi/digits")
+        String oneThread = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "15")
                         .param("strategy", "threads")
@@ -204,7 +217,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testMoreThreadsThanDigits() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "5")
                         .param("strategy", "threads")
@@ -216,7 +229,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testOddNumberOfDigitsWithMultipleThreads() throws Exception {
-        String sequential = mockMvc.perform(get("/api/v1/pi/digits")
+        String sequential = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "13")
                         .param("strategy", "sequential"))
@@ -225,7 +238,7 @@ class PiDigitsIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        String parallel = mockMvc.perform(get("/api/v1/pi/digits")
+        String parallel = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "13")
                         .param("strategy", "threads")
@@ -240,7 +253,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testNullThreadsDefaultsToAvailableProcessors() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "20")
                         .param("strategy", "threads"))
@@ -251,7 +264,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testCaseInsensitiveStrategyName() throws Exception {
-        String lowercase = mockMvc.perform(get("/api/v1/pi/digits")
+        String lowercase = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "10")
                         .param("strategy", "threads")
@@ -261,7 +274,7 @@ class PiDigitsIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        String uppercase = mockMvc.perform(get("/api/v1/pi/digits")
+        String uppercase = perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "10")
                         .param("strategy", "THREADS")
@@ -276,7 +289,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testLargeStartPosition() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "1000")
                         .param("count", "10")
                         .param("strategy", "threads")
@@ -289,7 +302,7 @@ class PiDigitsIntegrationTest {
 
     @Test
     void testResponseFormat() throws Exception {
-        mockMvc.perform(get("/api/v1/pi/digits")
+        perform(get("/api/v1/pi/digits")
                         .param("start", "0")
                         .param("count", "10"))
                 .andExpect(status().isOk())
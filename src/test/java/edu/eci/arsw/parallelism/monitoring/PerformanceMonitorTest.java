@@ -0,0 +1,63 @@
+package edu.eci.arsw.parallelism.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceMonitorTest {
+
+    private final PerformanceMonitor monitor = new PerformanceMonitor();
+
+    @Test
+    void testReportsSegmentSkewWhenRecorded() {
+        PiExecutionResult result = monitor.measurePiCalculation(() -> {
+            SegmentTimings.record(new long[]{1_000_000, 3_000_000});
+            return "243F6";
+        }, "threads", 2);
+
+        assertArrayEquals(new double[]{1.0, 3.0}, result.segmentMillis(), 1e-12);
+        assertEquals(1.5, result.skew(), 1e-12);
+    }
+
+    @Test
+    void testNoSegmentsWhenNotSplit() {
+        SegmentTimings.record(new long[]{5});
+        PiExecutionResult result = monitor.measurePiCalculation(() -> "243F6", "sequential", 1);
+
+        assertNull(result.segmentMillis());
+        assertNull(result.skew());
+        assertEquals("243F6", result.digits());
+    }
+
+    @Test
+    void testSkew() {
+        assertEquals(1.0, SegmentTimings.skew(new double[]{2, 2, 2}), 1e-12);
+        assertEquals(1.0, SegmentTimings.skew(new double[0]), 1e-12);
+        assertEquals(2.0, SegmentTimings.skew(new double[]{0, 2}), 1e-12);
+    }
+
+    @Test
+    void testReportsWorkerStatsWhenRecorded() {
+        PiExecutionResult result = monitor.measurePiCalculation(() -> {
+            SegmentTimings.record(new long[]{1_000_000});
+            SegmentTimings.recordWorkers(3, Map.of("w1", 2_000_000L, "w2", 500_000L));
+            return "243F6";
+        }, "forkjoin", 2);
+
+        assertEquals(3L, result.steals());
+        assertEquals(Map.of("w1", 2.0, "w2", 0.5), result.workerBusyMillis());
+    }
+
+    @Test
+    void testNoWorkerStatsForOtherStrategies() {
+        PiExecutionResult result = monitor.measurePiCalculation(() -> {
+            SegmentTimings.record(new long[]{1_000_000});
+            return "243F6";
+        }, "threads", 1);
+
+        assertNull(result.steals());
+        assertNull(result.workerBusyMillis());
+    }
+}